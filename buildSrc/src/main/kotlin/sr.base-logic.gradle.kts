@@ -25,7 +25,30 @@ dependencies {
 
 tasks {
     test {
-        useJUnitPlatform()
+        useJUnitPlatform {
+            excludeTags("load", "benchmark")
+        }
+    }
+    register<Test>("loadTest") {
+        group = "verification"
+        description = "Runs the tests tagged as load tests, sizes can be set with -Dsr.load.* properties."
+        useJUnitPlatform {
+            includeTags("load")
+        }
+        testClassesDirs = sourceSets.test.get().output.classesDirs
+        classpath = sourceSets.test.get().runtimeClasspath
+        System.getProperties().stringPropertyNames()
+            .filter { it.startsWith("sr.load.") }
+            .forEach { systemProperty(it, System.getProperty(it)) }
+    }
+    register<Test>("benchmarkTest") {
+        group = "verification"
+        description = "Runs the tests tagged as benchmarks, results are published as test report entries."
+        useJUnitPlatform {
+            includeTags("benchmark")
+        }
+        testClassesDirs = sourceSets.test.get().output.classesDirs
+        classpath = sourceSets.test.get().runtimeClasspath
     }
     // Variable replacements
     processResources {
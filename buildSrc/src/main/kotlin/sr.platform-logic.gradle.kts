@@ -29,7 +29,9 @@ val downgradePlatformShadow = tasks.register<ShadeJar>("downgradePlatformShadow"
 tasks {
     val downgradedTest by tasks.registering(Test::class) {
         group = "verification"
-        useJUnitPlatform()
+        useJUnitPlatform {
+            excludeTags("load", "benchmark")
+        }
         dependsOn(downgradePlatformShadow)
         classpath = downgradePlatformShadow.get().outputs.files + sourceSets.test.get().output + sourceSets.test.get().runtimeClasspath - sourceSets.main.get().output
     }
@@ -85,6 +85,7 @@ public class SRBukkitAdapter implements SRServerAdapter {
                 .addDefault(injector.getSingleton(BukkitSchedulerProvider.class))
                 .get();
         injector.register(SchedulerProvider.class, schedulerProvider);
+        injector.register(SkinApplyStrategy.class, SkinApplyStrategy.probe(pluginInstance));
     }
 
     @Override
@@ -40,6 +40,7 @@ import net.skinsrestorer.shared.info.PluginInfo;
 import net.skinsrestorer.shared.log.SRChatColor;
 import net.skinsrestorer.shared.log.SRLogLevel;
 import net.skinsrestorer.shared.log.SRLogger;
+import net.skinsrestorer.shared.placeholders.PlaceholderCache;
 import net.skinsrestorer.shared.plugin.SRPlugin;
 import net.skinsrestorer.shared.plugin.SRServerPlatformInit;
 import net.skinsrestorer.shared.subjects.messages.ComponentHelper;
@@ -305,12 +306,16 @@ public class SRBukkitInit implements SRServerPlatformInit {
 
     @Override
     public void placeholderSetupHook() {
+        PlaceholderCache placeholderCache = injector.getSingleton(PlaceholderCache.class);
+        placeholderCache.listenForChanges(adapter.getPluginInstance(), Player.class, Player::getUniqueId);
+        server.getPluginManager().registerEvents(injector.newInstance(PlayerQuitListener.class), adapter.getPluginInstance());
+
         if (adapter.getPluginInfo("PlaceholderAPI").isPresent()) {
             try {
                 new SRPlaceholderAPIExpansion(
-                        logger,
                         adapter.getPluginInstance().getDescription(),
-                        injector
+                        injector,
+                        placeholderCache
                 ).register();
                 logger.info("PlaceholderAPI expansion registered!");
             } catch (Throwable t) {
@@ -322,6 +327,7 @@ public class SRBukkitInit implements SRServerPlatformInit {
             try {
                 new SRMiniPlaceholdersAPIExpansion<>(
                         adapter,
+                        placeholderCache,
                         Player.class,
                         wrapper::player
                 ).register();
@@ -17,26 +17,26 @@
  */
 package net.skinsrestorer.bukkit;
 
-import ch.jalu.configme.SettingsManager;
 import lombok.RequiredArgsConstructor;
 import net.skinsrestorer.api.property.SkinProperty;
 import net.skinsrestorer.bukkit.paper.PaperSkinApplier;
 import net.skinsrestorer.bukkit.refresher.SkinRefresher;
 import net.skinsrestorer.bukkit.spigot.SpigotPassengerUtil;
+import net.skinsrestorer.bukkit.utils.BukkitSchedulerProvider;
 import net.skinsrestorer.bukkit.utils.MultiPaperUtil;
+import net.skinsrestorer.bukkit.utils.SchedulerProvider;
 import net.skinsrestorer.bukkit.utils.SkinApplyBukkitAdapter;
+import net.skinsrestorer.bukkit.utils.SkinApplyStrategy;
 import net.skinsrestorer.shared.api.SkinApplierAccess;
 import net.skinsrestorer.shared.api.event.EventBusImpl;
 import net.skinsrestorer.shared.api.event.SkinApplyEventImpl;
-import net.skinsrestorer.shared.config.AdvancedConfig;
-import net.skinsrestorer.shared.utils.ReflectionUtil;
+import net.skinsrestorer.shared.config.ConfigSnapshotProvider;
 import org.bukkit.Location;
 import org.bukkit.Server;
 import org.bukkit.entity.Player;
 
 import javax.inject.Inject;
-import java.util.Collection;
-import java.util.List;
+import java.util.*;
 
 @RequiredArgsConstructor(onConstructor_ = @Inject)
 public class SkinApplierBukkit implements SkinApplierAccess<Player> {
@@ -46,7 +46,11 @@ public class SkinApplierBukkit implements SkinApplierAccess<Player> {
     private final EventBusImpl eventBus;
     private final SkinRefresher refresh;
     private final SpigotPassengerUtil passengerUtil;
-    private final SettingsManager settingsManager;
+    private final ConfigSnapshotProvider configProvider;
+    private final SchedulerProvider schedulerProvider;
+    private final SkinApplyStrategy strategy;
+    private final Map<UUID, PendingSkin> pendingSkins = new LinkedHashMap<>();
+    private boolean flushScheduled;
 
     @Override
     public void applySkin(Player player, SkinProperty property) {
@@ -62,44 +66,118 @@ public class SkinApplierBukkit implements SkinApplierAccess<Player> {
                 return;
             }
 
-            // delay 1 server tick so we override online-mode
-            adapter.runSyncToPlayer(player, () -> applySkinSync(player, applyEvent.getProperty()));
+            if (!strategy.paperProfileApplier() && schedulerProvider instanceof BukkitSchedulerProvider) {
+                queueSkinSync(player, applyEvent.getProperty());
+            } else {
+                // Paper refreshes every player itself when its profile changes, so there is no refresh to share.
+                // Players may also be owned by different region threads, so they can't share one batch
+                // delay 1 server tick so we override online-mode
+                adapter.runSyncToPlayer(player, () -> applySkinSync(player, applyEvent.getProperty()));
+            }
         });
     }
 
-    public void applySkinSync(Player player, SkinProperty property) {
-        if (!player.isOnline()) {
-            return;
+    private void queueSkinSync(Player player, SkinProperty property) {
+        synchronized (pendingSkins) {
+            // A newer skin for the same player replaces the pending one
+            pendingSkins.put(player.getUniqueId(), new PendingSkin(player, property));
+            if (flushScheduled) {
+                return;
+            }
+
+            flushScheduled = true;
         }
 
-        // We do things with passengers to avoid desync issues with riding entities
-        if (SpigotPassengerUtil.isAvailable()) {
-            passengerUtil.ejectPassengers(player);
+        // delay 1 server tick so we override online-mode, everything queued until then is applied together
+        schedulerProvider.runSync(this::flushPendingSkins);
+    }
+
+    private void flushPendingSkins() {
+        List<PendingSkin> batch;
+        synchronized (pendingSkins) {
+            batch = List.copyOf(pendingSkins.values());
+            pendingSkins.clear();
+            flushScheduled = false;
         }
 
-        // If the Paper API is available, we use it to apply the skin
-        if (ReflectionUtil.classExists("com.destroystokyo.paper.profile.PlayerProfile")
-                && PaperSkinApplier.hasProfileMethod()) {
-            PaperSkinApplier.applySkin(player, property);
+        applySkinsSync(batch);
+    }
+
+    public void applySkinSync(Player player, SkinProperty property) {
+        applySkinsSync(List.of(new PendingSkin(player, property)));
+    }
+
+    /**
+     * Applies all skins first and then refreshes every viewer once for all changed players it can see.
+     * With the Paper profile API every player is refreshed by Paper on its own instead.
+     */
+    public void applySkinsSync(Collection<PendingSkin> skins) {
+        List<Player> changed = new ArrayList<>(skins.size());
+        for (PendingSkin skin : skins) {
+            Player player = skin.player();
+            if (!player.isOnline()) {
+                continue;
+            }
+
+            // We do things with passengers to avoid desync issues with riding entities
+            if (strategy.passengerApi()) {
+                passengerUtil.ejectPassengers(player);
+            }
+
+            // If the Paper API is available, we use it to apply the skin, it also refreshes the player
+            if (strategy.paperProfileApplier()) {
+                PaperSkinApplier.applySkin(player, skin.property(), strategy.paperHealthUpdate());
+                continue;
+            }
+
+            // Otherwise we use the SkinsRestorer adapter to apply the skin
+            applyAdapter.applyProperty(player, skin.property());
+            changed.add(player);
+        }
+
+        if (changed.isEmpty()) {
             return;
         }
-        // Otherwise we use the SkinsRestorer adapter to apply the skin
-        applyAdapter.applyProperty(player, property);
 
-        if (settingsManager.getProperty(AdvancedConfig.TELEPORT_REFRESH)) {
-            teleportOtherRefresh(player);
+        if (configProvider.get().teleportRefresh()) {
+            changed.forEach(this::teleportOtherRefresh);
         } else {
-            normalOtherRefresh(player);
+            normalOtherRefresh(changed);
         }
 
         // Refresh the players own skin
-        refresh.refresh(player);
+        changed.forEach(refresh::refresh);
     }
 
-    private void normalOtherRefresh(Player player) {
-        for (Player otherPlayer : getSeenByPlayers(player)) {
-            // Force player to be re-added to the player-list of every player on the server
-            hideAndShow(otherPlayer, player);
+    private void normalOtherRefresh(List<Player> changed) {
+        // Only players tracking a changed player need it despawned and spawned again,
+        // everyone else just gets its player list entry resent
+        Map<UUID, Set<UUID>> trackers = new HashMap<>();
+        for (Player player : changed) {
+            refresh.getTrackingPlayers(player).ifPresent(tracking -> trackers.put(player.getUniqueId(), tracking));
+        }
+
+        List<Player> respawn = new ArrayList<>(changed.size());
+        for (Player viewer : getOnlinePlayers()) {
+            respawn.clear();
+            for (Player player : changed) {
+                // Do not hide the player from itself or do anything if the viewer cannot see the player
+                if (viewer.getUniqueId().equals(player.getUniqueId()) || !viewer.canSee(player)) {
+                    continue;
+                }
+
+                Set<UUID> tracking = trackers.get(player.getUniqueId());
+                if (tracking == null || tracking.contains(viewer.getUniqueId())) {
+                    respawn.add(player);
+                } else {
+                    refresh.resendInfoPackets(player, viewer);
+                }
+            }
+
+            // Force the players to be re-added to the player-list of the viewer,
+            // all of them are hidden first so the viewer never sees a mix of old and new skins
+            respawn.forEach(player -> strategy.hidePlayer().accept(viewer, player));
+            respawn.forEach(player -> strategy.showPlayer().accept(viewer, player));
         }
     }
 
@@ -112,23 +190,6 @@ public class SkinApplierBukkit implements SkinApplierAccess<Player> {
                 .toList();
     }
 
-    @SuppressWarnings("deprecation")
-    private void hideAndShow(Player player, Player other) {
-        try {
-            player.hidePlayer(adapter.getPluginInstance(), other);
-        } catch (NoSuchMethodError ignored) {
-            // Backwards compatibility
-            player.hidePlayer(other);
-        }
-
-        try {
-            player.showPlayer(adapter.getPluginInstance(), other);
-        } catch (NoSuchMethodError ignored) {
-            // Backwards compatibility
-            player.showPlayer(other);
-        }
-    }
-
     private void teleportOtherRefresh(Player player) {
         for (Player otherPlayer : getSeenByPlayers(player)) {
             // Force player to be re-added to the player-list of every player on the server
@@ -156,4 +217,7 @@ public class SkinApplierBukkit implements SkinApplierAccess<Player> {
             return server.getOnlinePlayers();
         }
     }
+
+    public record PendingSkin(Player player, SkinProperty property) {
+    }
 }
@@ -20,13 +20,8 @@ package net.skinsrestorer.bukkit.hooks;
 import ch.jalu.injector.Injector;
 import lombok.RequiredArgsConstructor;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
-import net.skinsrestorer.api.PropertyUtils;
-import net.skinsrestorer.api.SkinsRestorerProvider;
-import net.skinsrestorer.api.exception.DataRequestException;
-import net.skinsrestorer.api.property.SkinIdentifier;
-import net.skinsrestorer.api.property.SkinProperty;
 import net.skinsrestorer.bukkit.utils.SkinApplyBukkitAdapter;
-import net.skinsrestorer.shared.log.SRLogger;
+import net.skinsrestorer.shared.placeholders.PlaceholderCache;
 import net.skinsrestorer.shared.storage.HardcodedSkins;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
@@ -35,13 +30,16 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.Locale;
 import java.util.Optional;
+import java.util.function.Function;
 
 @RequiredArgsConstructor
 public class SRPlaceholderAPIExpansion extends PlaceholderExpansion {
     private static final String ERROR_MESSAGE = "Error";
-    private final SRLogger logger;
+    // Shown while the data of a player is loaded, so the placeholder does not flash an error
+    private static final String LOADING_MESSAGE = "";
     private final PluginDescriptionFile description;
     private final Injector injector;
+    private final PlaceholderCache placeholderCache;
 
     @Override
     public @NotNull String getIdentifier() {
@@ -72,12 +70,11 @@ public class SRPlaceholderAPIExpansion extends PlaceholderExpansion {
                 return ERROR_MESSAGE;
             }
 
-            Optional<SkinIdentifier> skin = SkinsRestorerProvider.get()
-                    .getPlayerStorage()
-                    .getSkinIdOfPlayer(offlinePlayer.getUniqueId());
+            Optional<PlaceholderCache.PlayerData> data = placeholderCache.getPlayerData(offlinePlayer.getUniqueId());
+            Optional<String> skin = data.flatMap(PlaceholderCache.PlayerData::skinName);
 
             if (skin.isPresent()) {
-                return skin.get().getIdentifier();
+                return skin.get();
             }
 
             if (params.startsWith("skin_name_")) {
@@ -90,83 +87,54 @@ public class SRPlaceholderAPIExpansion extends PlaceholderExpansion {
                 }
             }
 
-            return ERROR_MESSAGE;
+            return data.isPresent() ? ERROR_MESSAGE : LOADING_MESSAGE;
         } else if (params.startsWith("texture_url")) {
             if (offlinePlayer == null) {
                 return ERROR_MESSAGE;
             }
 
-            try {
-                Optional<SkinProperty> skin = getCurrentProperties(offlinePlayer);
-
-                if (skin.isPresent()) {
-                    return extractTextureUrl(skin.get());
-                }
-
-                if (params.startsWith("texture_url_")) {
-                    String subString = params.substring("texture_url_".length());
-
-                    if (subString.equalsIgnoreCase("or_empty")) {
-                        return "";
-                    } else if (subString.equalsIgnoreCase("or_steve")) {
-                        return extractTextureUrl(HardcodedSkins.STEVE.getProperty());
-                    } else if (subString.equalsIgnoreCase("or_alex")) {
-                        return extractTextureUrl(HardcodedSkins.ALEX.getProperty());
-                    }
-                }
-            } catch (DataRequestException e) {
-                logger.severe("Failed to get skin data of player %s".formatted(offlinePlayer.getUniqueId()), e);
-            }
-
-            return ERROR_MESSAGE;
+            return resolveTexture(offlinePlayer, params, "texture_url", PlaceholderCache.TextureInfo::url);
         } else if (params.startsWith("texture_id")) {
             if (offlinePlayer == null) {
                 return ERROR_MESSAGE;
             }
 
-            try {
-                Optional<SkinProperty> skin = getCurrentProperties(offlinePlayer);
-
-                if (skin.isPresent()) {
-                    return extractTextureHash(skin.get());
-                }
-
-                if (params.startsWith("texture_id_")) {
-                    String subString = params.substring("texture_id_".length());
-
-                    if (subString.equalsIgnoreCase("or_empty")) {
-                        return "";
-                    } else if (subString.equalsIgnoreCase("or_steve")) {
-                        return extractTextureHash(HardcodedSkins.STEVE.getProperty());
-                    } else if (subString.equalsIgnoreCase("or_alex")) {
-                        return extractTextureHash(HardcodedSkins.ALEX.getProperty());
-                    }
-                }
-            } catch (DataRequestException e) {
-                logger.severe("Failed to get skin data of player %s".formatted(offlinePlayer.getUniqueId()), e);
-            }
-
-            return ERROR_MESSAGE;
+            return resolveTexture(offlinePlayer, params, "texture_id", PlaceholderCache.TextureInfo::hash);
         }
 
         return null;
     }
 
-    private String extractTextureUrl(SkinProperty property) {
-        return PropertyUtils.getSkinTextureUrl(property);
-    }
-
-    private String extractTextureHash(SkinProperty property) {
-        return PropertyUtils.getSkinTextureHash(property);
-    }
-
-    private Optional<SkinProperty> getCurrentProperties(OfflinePlayer offlinePlayer) throws DataRequestException {
+    private String resolveTexture(OfflinePlayer offlinePlayer, String params, String placeholder,
+                                  Function<PlaceholderCache.TextureInfo, String> extractor) {
+        boolean loaded;
+        Optional<PlaceholderCache.TextureInfo> texture;
         if (offlinePlayer instanceof Player player) {
-            return injector.getSingleton(SkinApplyBukkitAdapter.class).getSkinProperty(player);
+            // Online players carry their skin in memory, no need to wait for storage
+            loaded = true;
+            texture = injector.getSingleton(SkinApplyBukkitAdapter.class).getSkinProperty(player).map(placeholderCache::getTexture);
         } else {
-            return SkinsRestorerProvider.get()
-                    .getPlayerStorage()
-                    .getSkinForPlayer(offlinePlayer.getUniqueId(), offlinePlayer.getName());
+            Optional<PlaceholderCache.PlayerData> data = placeholderCache.getOfflinePlayerData(offlinePlayer.getUniqueId(), offlinePlayer.getName());
+            loaded = data.isPresent();
+            texture = data.flatMap(PlaceholderCache.PlayerData::storedTexture);
+        }
+
+        if (texture.isPresent()) {
+            return extractor.apply(texture.get());
+        }
+
+        if (params.startsWith(placeholder + "_")) {
+            String subString = params.substring(placeholder.length() + 1);
+
+            if (subString.equalsIgnoreCase("or_empty")) {
+                return "";
+            } else if (subString.equalsIgnoreCase("or_steve")) {
+                return extractor.apply(placeholderCache.getTexture(HardcodedSkins.STEVE.getProperty()));
+            } else if (subString.equalsIgnoreCase("or_alex")) {
+                return extractor.apply(placeholderCache.getTexture(HardcodedSkins.ALEX.getProperty()));
+            }
         }
+
+        return loaded ? ERROR_MESSAGE : LOADING_MESSAGE;
     }
 }
@@ -33,6 +33,7 @@ import org.bukkit.entity.Player;
 import javax.inject.Inject;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 import java.util.function.Predicate;
 
 public class MappingSpigotSkinRefresher implements SkinRefresher {
@@ -74,6 +75,15 @@ public class MappingSpigotSkinRefresher implements SkinRefresher {
         mapping.resendInfoPackets(toResend, toSendTo);
     }
 
+    @Override
+    public Optional<Set<UUID>> getTrackingPlayers(Player player) {
+        if (mapping instanceof UnsupportedMapping) {
+            return Optional.empty();
+        }
+
+        return Optional.of(mapping.getTrackingPlayers(player));
+    }
+
     private record UnsupportedMapping(WrapperBukkit wrapper) implements IMapping {
         @Inject
         private UnsupportedMapping {
@@ -89,6 +99,11 @@ public class MappingSpigotSkinRefresher implements SkinRefresher {
             // No-op
         }
 
+        @Override
+        public Set<UUID> getTrackingPlayers(Player player) {
+            return Set.of(); // This is fine, it's not used
+        }
+
         @Override
         public Set<String> getPaperMinecraftVersionIds() {
             return Set.of(); // This is fine, it's not used
@@ -19,6 +19,10 @@ package net.skinsrestorer.bukkit.refresher;
 
 import org.bukkit.entity.Player;
 
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
 public interface SkinRefresher {
     SkinRefresher NO_OP = new SkinRefresher() {
         @Override
@@ -35,4 +39,13 @@ public interface SkinRefresher {
     void refresh(Player player);
 
     void resendInfoPackets(Player toResend, Player toSendTo);
+
+    /**
+     * Players that are not tracking the player only need their player list entry refreshed.
+     *
+     * @return UUIDs of the players tracking the player, or empty if this refresher can't tell
+     */
+    default Optional<Set<UUID>> getTrackingPlayers(Player player) {
+        return Optional.empty();
+    }
 }
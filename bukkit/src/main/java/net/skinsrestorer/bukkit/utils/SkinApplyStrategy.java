@@ -0,0 +1,67 @@
+/*
+ * SkinsRestorer
+ * Copyright (C) 2024  SkinsRestorer Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.skinsrestorer.bukkit.utils;
+
+import net.skinsrestorer.bukkit.paper.PaperSkinApplier;
+import net.skinsrestorer.bukkit.spigot.SpigotPassengerUtil;
+import net.skinsrestorer.shared.utils.ReflectionUtil;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Platform capabilities used when applying skins, probed once at startup so the apply path does not need to.
+ *
+ * @param paperProfileApplier Whether the Paper profile API can apply skins
+ * @param paperHealthUpdate   Whether Paper can resend health and food after a profile change
+ * @param passengerApi        Whether entities can have multiple passengers
+ * @param hidePlayer          Hides the second player from the first one
+ * @param showPlayer          Shows the second player to the first one
+ */
+public record SkinApplyStrategy(boolean paperProfileApplier, boolean paperHealthUpdate, boolean passengerApi,
+                                BiConsumer<Player, Player> hidePlayer, BiConsumer<Player, Player> showPlayer) {
+    @SuppressWarnings("deprecation")
+    public static SkinApplyStrategy probe(Plugin plugin) {
+        boolean paperProfileApplier = ReflectionUtil.classExists("com.destroystokyo.paper.profile.PlayerProfile")
+                && PaperSkinApplier.hasProfileMethod();
+        boolean paperHealthUpdate = paperProfileApplier && PaperSkinApplier.hasHealthUpdateMethod();
+        boolean passengerApi = SpigotPassengerUtil.isAvailable();
+
+        if (hasPluginVisibilityApi()) {
+            return new SkinApplyStrategy(paperProfileApplier, paperHealthUpdate, passengerApi,
+                    (player, other) -> player.hidePlayer(plugin, other),
+                    (player, other) -> player.showPlayer(plugin, other));
+        } else {
+            // Backwards compatibility
+            return new SkinApplyStrategy(paperProfileApplier, paperHealthUpdate, passengerApi,
+                    Player::hidePlayer,
+                    Player::showPlayer);
+        }
+    }
+
+    private static boolean hasPluginVisibilityApi() {
+        try {
+            Player.class.getMethod("hidePlayer", Plugin.class, Player.class);
+            Player.class.getMethod("showPlayer", Plugin.class, Player.class);
+            return true;
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+}
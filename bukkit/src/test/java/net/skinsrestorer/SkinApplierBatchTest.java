@@ -0,0 +1,185 @@
+/*
+ * SkinsRestorer
+ * Copyright (C) 2024  SkinsRestorer Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.skinsrestorer;
+
+import ch.jalu.configme.SettingsManager;
+import net.skinsrestorer.api.property.SkinProperty;
+import net.skinsrestorer.bukkit.SRBukkitAdapter;
+import net.skinsrestorer.bukkit.SkinApplierBukkit;
+import net.skinsrestorer.bukkit.refresher.SkinRefresher;
+import net.skinsrestorer.bukkit.spigot.SpigotPassengerUtil;
+import net.skinsrestorer.bukkit.utils.BukkitSchedulerProvider;
+import net.skinsrestorer.bukkit.utils.SkinApplyBukkitAdapter;
+import net.skinsrestorer.bukkit.utils.SkinApplyStrategy;
+import net.skinsrestorer.shared.api.event.EventBusImpl;
+import net.skinsrestorer.shared.config.ConfigSnapshot;
+import net.skinsrestorer.shared.config.ConfigSnapshotProvider;
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith({MockitoExtension.class, SRExtension.class, SRBukkitExtension.class})
+public class SkinApplierBatchTest {
+    private static final int PLAYERS = 200;
+    private static final SkinProperty PROPERTY = SkinProperty.of("value", "signature");
+    private final List<Player> players = new ArrayList<>();
+    private final List<Runnable> syncTasks = new ArrayList<>();
+    private final AtomicInteger packets = new AtomicInteger();
+    @Mock
+    private SkinApplyBukkitAdapter applyAdapter;
+    @Mock
+    private SRBukkitAdapter adapter;
+    @Mock
+    private Server server;
+    @Mock
+    private EventBusImpl eventBus;
+    @Mock
+    private SkinRefresher refresher;
+    @Mock
+    private SpigotPassengerUtil passengerUtil;
+    @Mock
+    private SettingsManager settings;
+    @Mock
+    private ConfigSnapshotProvider configProvider;
+    @Mock
+    private BukkitSchedulerProvider schedulerProvider;
+    @Mock
+    private Plugin plugin;
+
+    @BeforeEach
+    public void setup() {
+        SettingsHelper.returnDefaultsForAllProperties(settings);
+        lenient().when(configProvider.get()).thenReturn(ConfigSnapshot.from(settings));
+
+        lenient().doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(adapter).runAsync(any());
+        lenient().doAnswer(invocation -> {
+            syncTasks.add(invocation.getArgument(0));
+            return null;
+        }).when(schedulerProvider).runSync(any());
+
+        for (int i = 0; i < PLAYERS; i++) {
+            Player player = mock(Player.class);
+            lenient().when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+            lenient().when(player.isOnline()).thenReturn(true);
+            lenient().when(player.canSee(any())).thenReturn(true);
+            // Every hide and show sends one player info and one entity packet to the viewer
+            lenient().doAnswer(invocation -> {
+                packets.addAndGet(2);
+                return null;
+            }).when(player).hidePlayer(any(), any());
+            lenient().doAnswer(invocation -> {
+                packets.addAndGet(2);
+                return null;
+            }).when(player).showPlayer(any(), any());
+            players.add(player);
+        }
+
+        lenient().doReturn(players).when(server).getOnlinePlayers();
+    }
+
+    @Test
+    public void testApplyAllInOneTick() {
+        SkinApplierBukkit applier = new SkinApplierBukkit(applyAdapter, adapter, server, eventBus, refresher,
+                passengerUtil, configProvider, schedulerProvider, SkinApplyStrategy.probe(plugin));
+
+        // A proxy-wide reapply often reaches the server twice, e.g. from the command and the join
+        for (int round = 0; round < 2; round++) {
+            for (Player player : players) {
+                applier.applySkin(player, PROPERTY);
+            }
+        }
+
+        assertEquals(1, syncTasks.size());
+        syncTasks.forEach(Runnable::run);
+
+        verify(applyAdapter, times(PLAYERS)).applyProperty(any(), any());
+        verify(refresher, times(PLAYERS)).refresh(any());
+        assertEquals(PLAYERS * (PLAYERS - 1) * 4, packets.get());
+    }
+
+    @Test
+    public void testSeparateTasksPerPlayer() {
+        SkinApplierBukkit applier = new SkinApplierBukkit(applyAdapter, adapter, server, eventBus, refresher,
+                passengerUtil, configProvider, schedulerProvider, SkinApplyStrategy.probe(plugin));
+
+        for (int round = 0; round < 2; round++) {
+            for (Player player : players) {
+                applier.applySkinSync(player, PROPERTY);
+            }
+        }
+
+        verify(applyAdapter, times(PLAYERS * 2)).applyProperty(any(), any());
+        assertEquals(PLAYERS * (PLAYERS - 1) * 4 * 2, packets.get());
+    }
+
+    @Test
+    public void testPaperProfileApplierIsNotBatched() {
+        BiConsumer<Player, Player> noVisibilityChange = (viewer, other) -> {
+        };
+        SkinApplyStrategy paperStrategy = new SkinApplyStrategy(true, true, false, noVisibilityChange, noVisibilityChange);
+        SkinApplierBukkit applier = new SkinApplierBukkit(applyAdapter, adapter, server, eventBus, refresher,
+                passengerUtil, configProvider, schedulerProvider, paperStrategy);
+
+        for (Player player : players) {
+            applier.applySkin(player, PROPERTY);
+        }
+
+        // Paper refreshes each player itself, so every apply gets its own task
+        assertEquals(0, syncTasks.size());
+        verify(adapter, times(PLAYERS)).runSyncToPlayer(any(Player.class), any());
+    }
+
+    @Test
+    public void testOnlyTrackersRespawn() {
+        int trackerCount = 20;
+        Set<UUID> trackers = players.stream()
+                .limit(trackerCount)
+                .map(Player::getUniqueId)
+                .collect(Collectors.toSet());
+        Player target = players.get(PLAYERS - 1);
+        when(refresher.getTrackingPlayers(target)).thenReturn(Optional.of(trackers));
+
+        SkinApplierBukkit applier = new SkinApplierBukkit(applyAdapter, adapter, server, eventBus, refresher,
+                passengerUtil, configProvider, schedulerProvider, SkinApplyStrategy.probe(plugin));
+        applier.applySkinSync(target, PROPERTY);
+
+        assertEquals(trackerCount * 4, packets.get());
+        verify(refresher, times(PLAYERS - 1 - trackerCount)).resendInfoPackets(eq(target), any());
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * SkinsRestorer
+ * Copyright (C) 2024  SkinsRestorer Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.skinsrestorer;
+
+import ch.jalu.configme.SettingsManager;
+import net.skinsrestorer.api.property.SkinProperty;
+import net.skinsrestorer.bukkit.SRBukkitAdapter;
+import net.skinsrestorer.bukkit.SkinApplierBukkit;
+import net.skinsrestorer.bukkit.refresher.SkinRefresher;
+import net.skinsrestorer.bukkit.spigot.SpigotPassengerUtil;
+import net.skinsrestorer.bukkit.utils.BukkitSchedulerProvider;
+import net.skinsrestorer.bukkit.utils.SkinApplyBukkitAdapter;
+import net.skinsrestorer.bukkit.utils.SkinApplyStrategy;
+import net.skinsrestorer.shared.api.event.EventBusImpl;
+import net.skinsrestorer.shared.config.ConfigSnapshot;
+import net.skinsrestorer.shared.config.ConfigSnapshotProvider;
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith({MockitoExtension.class, SRExtension.class, SRBukkitExtension.class})
+public class SkinApplyStrategyTest {
+    private static final SkinProperty PROPERTY = SkinProperty.of("value", "signature");
+    @Mock
+    private SkinApplyBukkitAdapter applyAdapter;
+    @Mock
+    private SRBukkitAdapter adapter;
+    @Mock
+    private Server server;
+    @Mock
+    private EventBusImpl eventBus;
+    @Mock
+    private SkinRefresher refresher;
+    @Mock
+    private SpigotPassengerUtil passengerUtil;
+    @Mock
+    private SettingsManager settings;
+    @Mock
+    private ConfigSnapshotProvider configProvider;
+    @Mock
+    private BukkitSchedulerProvider schedulerProvider;
+
+    @Test
+    public void testApplyUsesProbedStrategy() {
+        SettingsHelper.returnDefaultsForAllProperties(settings);
+        when(configProvider.get()).thenReturn(ConfigSnapshot.from(settings));
+
+        Player target = mockPlayer();
+        Player viewer = mockPlayer();
+        doReturn(List.of(target, viewer)).when(server).getOnlinePlayers();
+
+        List<String> visibilityChanges = new ArrayList<>();
+        SkinApplyStrategy strategy = new SkinApplyStrategy(false, false, false,
+                (player, other) -> visibilityChanges.add("hide"),
+                (player, other) -> visibilityChanges.add("show"));
+        SkinApplierBukkit applier = new SkinApplierBukkit(applyAdapter, adapter, server, eventBus, refresher,
+                passengerUtil, configProvider, schedulerProvider, strategy);
+
+        applier.applySkinSync(target, PROPERTY);
+
+        // The visibility functions resolved at startup are used, and passengers are left alone without the API
+        assertEquals(List.of("hide", "show"), visibilityChanges);
+        verify(applyAdapter).applyProperty(target, PROPERTY);
+        verify(refresher).refresh(target);
+        verifyNoInteractions(passengerUtil);
+    }
+
+    private static Player mockPlayer() {
+        Player player = mock(Player.class);
+        lenient().when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+        lenient().when(player.isOnline()).thenReturn(true);
+        lenient().when(player.canSee(any())).thenReturn(true);
+        return player;
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * SkinsRestorer
+ * Copyright (C) 2024  SkinsRestorer Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.skinsrestorer.bungee;
+
+import net.skinsrestorer.api.property.SkinProperty;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.util.Optional;
+
+/**
+ * Cached accessors for the login profile of BungeeCord's InitialHandler.
+ * Fields and constructors are resolved once per handler class instead of on every login and apply.
+ */
+public class LoginProfileAccessor {
+    private static final String INITIAL_HANDLER_CLASS = "net.md_5.bungee.connection.InitialHandler";
+    private static final ClassValue<Optional<LoginProfileAccessor>> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected Optional<LoginProfileAccessor> computeValue(Class<?> type) {
+            try {
+                return Optional.of(new LoginProfileAccessor(type));
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // Unknown handler layout, callers fall back to plain reflection
+                return Optional.empty();
+            }
+        }
+    };
+
+    private final Class<?> propertyClass;
+    private final MethodHandle loginProfileGetter;
+    private final MethodHandle loginProfileSetter;
+    private final MethodHandle propertiesGetter;
+    private final MethodHandle propertiesSetter;
+    private final MethodHandle loginResultConstructor;
+    private final MethodHandle propertyConstructor;
+    private final MethodHandle propertyNameGetter;
+    private final MethodHandle propertyValueGetter;
+    private final MethodHandle propertySignatureGetter;
+
+    private LoginProfileAccessor(Class<?> handlerClass) throws ReflectiveOperationException {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        // Include custom implementations that extend InitialHandler
+        Field loginProfileField = findField(handlerClass, "loginProfile");
+        Class<?> loginResultClass = loginProfileField.getType();
+        Field propertiesField = findField(loginResultClass, "properties");
+        Class<?> propertyArrayClass = propertiesField.getType();
+        this.propertyClass = propertyArrayClass.getComponentType();
+
+        this.loginProfileGetter = lookup.unreflectGetter(loginProfileField)
+                .asType(MethodType.methodType(Object.class, Object.class));
+        this.loginProfileSetter = lookup.unreflectSetter(loginProfileField)
+                .asType(MethodType.methodType(void.class, Object.class, Object.class));
+        this.propertiesGetter = lookup.unreflectGetter(propertiesField)
+                .asType(MethodType.methodType(Object[].class, Object.class));
+        this.propertiesSetter = lookup.unreflectSetter(propertiesField)
+                .asType(MethodType.methodType(void.class, Object.class, Object[].class));
+        this.loginResultConstructor = findLoginResultConstructor(lookup, loginResultClass, propertyArrayClass)
+                .asType(MethodType.methodType(Object.class, Object[].class));
+        this.propertyConstructor = lookup.unreflectConstructor(propertyClass.getDeclaredConstructor(String.class, String.class, String.class))
+                .asType(MethodType.methodType(Object.class, String.class, String.class, String.class));
+        this.propertyNameGetter = propertyGetter(lookup, "name");
+        this.propertyValueGetter = propertyGetter(lookup, "value");
+        this.propertySignatureGetter = propertyGetter(lookup, "signature");
+    }
+
+    /**
+     * Get the cached accessor for a handler class.
+     *
+     * @return the accessor, or empty if the class does not have the expected InitialHandler layout
+     */
+    public static Optional<LoginProfileAccessor> of(Class<?> handlerClass) {
+        return ACCESSORS.get(handlerClass);
+    }
+
+    /**
+     * Resolve the accessor for BungeeCord's own InitialHandler ahead of the first login.
+     *
+     * @return whether the cached accessors are usable on this proxy version
+     */
+    public static boolean preload() {
+        try {
+            return of(Class.forName(INITIAL_HANDLER_CLASS)).isPresent();
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static MethodHandle findLoginResultConstructor(MethodHandles.Lookup lookup, Class<?> loginResultClass, Class<?> propertyArrayClass) throws ReflectiveOperationException {
+        try {
+            // New BungeeCord
+            // new LoginResult(String, String, Property[])
+            return MethodHandles.insertArguments(lookup.unreflectConstructor(
+                    loginResultClass.getDeclaredConstructor(String.class, String.class, propertyArrayClass)), 0, null, null);
+        } catch (NoSuchMethodException ignored) {
+            // Old BungeeCord
+            // new LoginResult(String, Property[])
+            return MethodHandles.insertArguments(lookup.unreflectConstructor(
+                    loginResultClass.getDeclaredConstructor(String.class, propertyArrayClass)), 0, (Object) null);
+        }
+    }
+
+    private MethodHandle propertyGetter(MethodHandles.Lookup lookup, String name) throws ReflectiveOperationException {
+        return lookup.unreflectGetter(findField(propertyClass, name))
+                .asType(MethodType.methodType(String.class, Object.class));
+    }
+
+    private static Field findField(Class<?> type, String name) throws NoSuchFieldException {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            try {
+                Field field = current.getDeclaredField(name);
+                field.setAccessible(true);
+                return field;
+            } catch (NoSuchFieldException ignored) {
+            }
+        }
+
+        throw new NoSuchFieldException(name);
+    }
+
+    public void setTextures(Object handler, SkinProperty property) {
+        try {
+            Object[] propertyArray = (Object[]) Array.newInstance(propertyClass, 1);
+            propertyArray[0] = (Object) propertyConstructor.invokeExact(SkinProperty.TEXTURES_NAME, property.getValue(), property.getSignature());
+
+            Object loginProfile = (Object) loginProfileGetter.invokeExact(handler);
+            if (loginProfile == null) {
+                loginProfileSetter.invokeExact(handler, (Object) loginResultConstructor.invokeExact(propertyArray));
+            } else {
+                propertiesSetter.invokeExact(loginProfile, propertyArray);
+            }
+        } catch (Throwable t) {
+            throw new IllegalStateException("Failed to set BungeeCord login profile", t);
+        }
+    }
+
+    public Optional<SkinProperty> getTextures(Object handler) {
+        try {
+            Object loginProfile = (Object) loginProfileGetter.invokeExact(handler);
+            if (loginProfile == null) {
+                return Optional.empty();
+            }
+
+            Object[] properties = (Object[]) propertiesGetter.invokeExact(loginProfile);
+            if (properties == null) {
+                return Optional.empty();
+            }
+
+            for (Object property : properties) {
+                Optional<SkinProperty> skinProperty = SkinProperty.tryParse(
+                        (String) propertyNameGetter.invokeExact(property),
+                        (String) propertyValueGetter.invokeExact(property),
+                        (String) propertySignatureGetter.invokeExact(property)
+                );
+                if (skinProperty.isPresent()) {
+                    return skinProperty;
+                }
+            }
+
+            return Optional.empty();
+        } catch (Throwable t) {
+            throw new IllegalStateException("Failed to read BungeeCord login profile", t);
+        }
+    }
+}
@@ -25,6 +25,7 @@ import net.skinsrestorer.bungee.listeners.AdminInfoListener;
 import net.skinsrestorer.bungee.listeners.LoginListener;
 import net.skinsrestorer.bungee.listeners.ProxyMessageListener;
 import net.skinsrestorer.bungee.wrapper.WrapperBungee;
+import net.skinsrestorer.shared.log.SRLogger;
 import net.skinsrestorer.shared.plugin.SRPlugin;
 import net.skinsrestorer.shared.plugin.SRProxyPlatformInit;
 import net.skinsrestorer.shared.utils.SRHelpers;
@@ -38,9 +39,14 @@ public class SRBungeeInit implements SRProxyPlatformInit {
     private final SRPlugin plugin;
     private final ProxyServer proxy;
     private final WrapperBungee wrapper;
+    private final SRLogger logger;
 
     @Override
     public void initSkinApplier() {
+        if (!LoginProfileAccessor.preload()) {
+            logger.debug("Could not resolve InitialHandler login profile accessors, falling back to reflection per apply");
+        }
+
         plugin.registerSkinApplier(injector.getSingleton(SkinApplierBungee.class), ProxiedPlayer.class, wrapper);
     }
 
@@ -24,10 +24,10 @@ import net.md_5.bungee.api.connection.PendingConnection;
 import net.md_5.bungee.api.connection.ProxiedPlayer;
 import net.skinsrestorer.api.property.SkinProperty;
 import net.skinsrestorer.bungee.wrapper.WrapperBungee;
+import net.skinsrestorer.shared.api.SharedSkinApplier;
 import net.skinsrestorer.shared.api.SkinApplierAccess;
 import net.skinsrestorer.shared.api.event.EventBusImpl;
 import net.skinsrestorer.shared.api.event.SkinApplyEventImpl;
-import net.skinsrestorer.shared.codec.SRServerPluginMessage;
 import net.skinsrestorer.shared.subjects.SRProxyPlayer;
 import net.skinsrestorer.shared.utils.AuthLibHelper;
 import net.skinsrestorer.shared.utils.ProxyAckTracker;
@@ -45,6 +45,12 @@ public class SkinApplierBungee implements SkinApplierAccess<ProxiedPlayer> {
     private final ProxyAckTracker proxyAckTracker;
 
     public static void applyToHandler(PendingConnection handler, SkinProperty property) {
+        Optional<LoginProfileAccessor> accessor = LoginProfileAccessor.of(handler.getClass());
+        if (accessor.isPresent()) {
+            accessor.get().setTextures(handler, property);
+            return;
+        }
+
         // LoginResult wrapper
         var loginProfileFieldWrapper = RStream.of(handler)
                 .withSuper() // Include custom implementations that extend InitialHandler
@@ -91,7 +97,13 @@ public class SkinApplierBungee implements SkinApplierAccess<ProxiedPlayer> {
     }
 
     public static Optional<SkinProperty> getSkinProperty(ProxiedPlayer player) {
-        var properties = (Object[]) RStream.of(player.getPendingConnection())
+        PendingConnection handler = player.getPendingConnection();
+        Optional<LoginProfileAccessor> accessor = LoginProfileAccessor.of(handler.getClass());
+        if (accessor.isPresent()) {
+            return accessor.get().getTextures(handler);
+        }
+
+        var properties = (Object[]) RStream.of(handler)
                 .withSuper() // Include custom implementations that extend InitialHandler
                 .fields()
                 .by("loginProfile")
@@ -135,6 +147,9 @@ public class SkinApplierBungee implements SkinApplierAccess<ProxiedPlayer> {
     }
 
     private void applyWithProperty(@Nullable ProxiedPlayer player, PendingConnection handler, SkinProperty property) {
+        boolean unchanged = player != null && getSkinProperty(player)
+                .map(current -> SharedSkinApplier.isSameSkin(current, property))
+                .orElse(false);
         applyToHandler(handler, property);
 
         if (player == null) {
@@ -142,9 +157,6 @@ public class SkinApplierBungee implements SkinApplierAccess<ProxiedPlayer> {
         }
 
         SRProxyPlayer srPlayer = wrapper.player(player);
-        srPlayer.sendToMessageChannel(new SRServerPluginMessage(new SRServerPluginMessage.SkinUpdateV3ChannelPayload(
-                property,
-                proxyAckTracker.shouldAckPayload(srPlayer)
-        )));
+        proxyAckTracker.createSkinUpdate(srPlayer, property, unchanged).ifPresent(srPlayer::sendToMessageChannel);
     }
 }
@@ -23,13 +23,16 @@ import net.md_5.bungee.api.plugin.Listener;
 import net.md_5.bungee.event.EventHandler;
 import net.md_5.bungee.event.EventPriority;
 import net.skinsrestorer.api.property.SkinProperty;
+import net.skinsrestorer.bungee.LoginProfileAccessor;
 import net.skinsrestorer.bungee.SRBungeeAdapter;
 import net.skinsrestorer.bungee.SkinApplierBungee;
 import net.skinsrestorer.shared.listeners.LoginProfileListenerAdapter;
 import net.skinsrestorer.shared.listeners.event.SRLoginProfileEvent;
 
 import javax.inject.Inject;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @RequiredArgsConstructor(onConstructor_ = @Inject)
 public class LoginListener implements Listener {
@@ -49,6 +52,12 @@ public class LoginListener implements Listener {
                 return event.getConnection().isOnlineMode();
             }
 
+            @Override
+            public Optional<SkinProperty> getOnlineProperty() {
+                return LoginProfileAccessor.of(event.getConnection().getClass())
+                        .flatMap(accessor -> accessor.getTextures(event.getConnection()));
+            }
+
             @Override
             public UUID getPlayerUniqueId() {
                 return event.getConnection().getUniqueId();
@@ -69,6 +78,11 @@ public class LoginListener implements Listener {
                 skinApplier.applySkin(property, event.getConnection());
             }
 
+            @Override
+            public boolean holdsLogin() {
+                return true;
+            }
+
             @Override
             public Void runAsync(Runnable runnable) {
                 event.registerIntent(plugin.getPluginInstance());
@@ -80,6 +94,14 @@ public class LoginListener implements Listener {
                 });
                 return null;
             }
+
+            @Override
+            public Void holdUntil(CompletableFuture<?> future) {
+                event.registerIntent(plugin.getPluginInstance());
+
+                future.whenComplete((result, throwable) -> event.completeIntent(plugin.getPluginInstance()));
+                return null;
+            }
         };
     }
 }
@@ -21,12 +21,14 @@ import lombok.RequiredArgsConstructor;
 import net.md_5.bungee.api.connection.ProxiedPlayer;
 import net.md_5.bungee.api.connection.Server;
 import net.md_5.bungee.api.event.PluginMessageEvent;
+import net.md_5.bungee.api.event.ServerConnectedEvent;
 import net.md_5.bungee.api.plugin.Listener;
 import net.md_5.bungee.event.EventHandler;
 import net.skinsrestorer.bungee.wrapper.WrapperBungee;
 import net.skinsrestorer.shared.listeners.SRProxyMessageAdapter;
 import net.skinsrestorer.shared.listeners.event.SRProxyMessageEvent;
 import net.skinsrestorer.shared.subjects.SRProxyPlayer;
+import net.skinsrestorer.shared.utils.ProxyAckTracker;
 
 import javax.inject.Inject;
 
@@ -34,12 +36,19 @@ import javax.inject.Inject;
 public class ProxyMessageListener implements Listener {
     private final SRProxyMessageAdapter adapter;
     private final WrapperBungee wrapper;
+    private final ProxyAckTracker proxyAckTracker;
 
     @EventHandler
     public void onPluginMessage(PluginMessageEvent event) {
         adapter.handlePluginMessage(wrap(event));
     }
 
+    @EventHandler
+    public void onServerConnected(ServerConnectedEvent event) {
+        proxyAckTracker.handleServerConnected(event.getServer().getInfo().getName(),
+                event.getServer().getInfo().getPlayers().stream().anyMatch(player -> player != event.getPlayer()));
+    }
+
     private SRProxyMessageEvent wrap(PluginMessageEvent event) {
         return new SRProxyMessageEvent() {
             @Override
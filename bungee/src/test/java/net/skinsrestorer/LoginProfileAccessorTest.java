@@ -0,0 +1,107 @@
+/*
+ * SkinsRestorer
+ * Copyright (C) 2024  SkinsRestorer Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.skinsrestorer;
+
+import net.lenni0451.reflect.stream.RStream;
+import net.skinsrestorer.api.property.SkinProperty;
+import net.skinsrestorer.bungee.LoginProfileAccessor;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Uses stand-ins with the same field layout as BungeeCord's InitialHandler, LoginResult and Property.
+ */
+public class LoginProfileAccessorTest {
+    private static final int WARMUP_APPLIES = 20_000;
+    private static final int APPLIES = 100_000;
+
+    @Test
+    public void testRoundTrip() {
+        LoginProfileAccessor accessor = LoginProfileAccessor.of(CustomHandler.class).orElseThrow();
+        CustomHandler handler = new CustomHandler();
+        assertEquals(Optional.empty(), accessor.getTextures(handler));
+
+        // Creates the LoginResult through the constructor fallback
+        accessor.setTextures(handler, SkinProperty.of("value", "signature"));
+        assertEquals(Optional.of(SkinProperty.of("value", "signature")), accessor.getTextures(handler));
+
+        // Replaces the properties of the existing LoginResult
+        accessor.setTextures(handler, SkinProperty.of("value2", "signature2"));
+        assertEquals(Optional.of(SkinProperty.of("value2", "signature2")), accessor.getTextures(handler));
+
+        assertTrue(LoginProfileAccessor.of(String.class).isEmpty());
+    }
+
+    /**
+     * Compares the cached accessors against resolving the fields with RStream on every apply.
+     */
+    @Test
+    @Tag("benchmark")
+    public void benchmarkApplies(TestReporter reporter) {
+        LoginProfileAccessor accessor = LoginProfileAccessor.of(CustomHandler.class).orElseThrow();
+        CustomHandler handler = new CustomHandler();
+        SkinProperty property = SkinProperty.of("value", "signature");
+
+        double cachedPerSecond = BenchmarkHelper.opsPerSecond(WARMUP_APPLIES, APPLIES, () -> accessor.setTextures(handler, property));
+        double reflectivePerSecond = BenchmarkHelper.opsPerSecond(WARMUP_APPLIES, APPLIES, () -> reflectiveApply(handler, property));
+        reporter.publishEntry("cachedAppliesPerSecond", "%.0f".formatted(cachedPerSecond));
+        reporter.publishEntry("rStreamAppliesPerSecond", "%.0f".formatted(reflectivePerSecond));
+    }
+
+    private static void reflectiveApply(Object handler, SkinProperty property) {
+        var loginProfile = RStream.of(handler).withSuper().fields().by("loginProfile").get();
+        Object[] propertyArray = {new Property(SkinProperty.TEXTURES_NAME, property.getValue(), property.getSignature())};
+        RStream.of(loginProfile).fields().by("properties").set(propertyArray);
+    }
+
+    @SuppressWarnings("unused")
+    private static class Property {
+        private final String name;
+        private final String value;
+        private final String signature;
+
+        Property(String name, String value, String signature) {
+            this.name = name;
+            this.value = value;
+            this.signature = signature;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static class LoginResult {
+        private Property[] properties;
+
+        LoginResult(String id, String name, Property[] properties) {
+            this.properties = properties;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static class InitialHandler {
+        private LoginResult loginProfile;
+    }
+
+    // Plugins like to extend InitialHandler
+    private static class CustomHandler extends InitialHandler {
+    }
+}
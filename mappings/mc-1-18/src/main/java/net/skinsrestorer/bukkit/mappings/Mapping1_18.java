@@ -21,6 +21,7 @@ import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.game.ClientboundPlayerInfoPacket;
 import net.minecraft.network.protocol.game.ClientboundRespawnPacket;
 import net.minecraft.network.protocol.game.ClientboundUpdateMobEffectPacket;
+import net.minecraft.server.level.ChunkMap;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.server.level.ServerPlayerGameMode;
@@ -34,6 +35,7 @@ import org.bukkit.entity.Player;
 
 import java.util.List;
 import java.util.Set;
+import java.util.UUID;
 import java.util.function.Predicate;
 
 public class Mapping1_18 implements IMapping {
@@ -94,6 +96,13 @@ public class Mapping1_18 implements IMapping {
         sendPacket(toSendToInternal, new ClientboundPlayerInfoPacket(ClientboundPlayerInfoPacket.Action.ADD_PLAYER, List.of(toResendInternal)));
     }
 
+    @Override
+    public Set<UUID> getTrackingPlayers(Player player) {
+        ServerPlayer entityPlayer = HandleReflection.getHandle(player, ServerPlayer.class);
+        ChunkMap.TrackedEntity entry = entityPlayer.getLevel().getChunkSource().chunkMap.entityMap.get(entityPlayer.getId());
+        return IMapping.collectTrackers(entry, tracked -> tracked.seenBy, connection -> connection.getPlayer().getUUID());
+    }
+
     @Override
     public Set<String> getPaperMinecraftVersionIds() {
         return Set.of();
@@ -22,6 +22,7 @@ import net.minecraft.network.protocol.game.ClientboundPlayerInfoRemovePacket;
 import net.minecraft.network.protocol.game.ClientboundPlayerInfoUpdatePacket;
 import net.minecraft.network.protocol.game.ClientboundRespawnPacket;
 import net.minecraft.network.protocol.game.ClientboundUpdateMobEffectPacket;
+import net.minecraft.server.level.ChunkMap;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.server.level.ServerPlayerGameMode;
@@ -35,6 +36,7 @@ import org.bukkit.entity.Player;
 
 import java.util.List;
 import java.util.Set;
+import java.util.UUID;
 import java.util.function.Predicate;
 
 public class Mapping1_19_3 implements IMapping {
@@ -96,6 +98,13 @@ public class Mapping1_19_3 implements IMapping {
         sendPacket(toSendToInternal, ClientboundPlayerInfoUpdatePacket.createPlayerInitializing(List.of(toResendInternal)));
     }
 
+    @Override
+    public Set<UUID> getTrackingPlayers(Player player) {
+        ServerPlayer entityPlayer = HandleReflection.getHandle(player, ServerPlayer.class);
+        ChunkMap.TrackedEntity entry = entityPlayer.getLevel().getChunkSource().chunkMap.entityMap.get(entityPlayer.getId());
+        return IMapping.collectTrackers(entry, tracked -> tracked.seenBy, connection -> connection.getPlayer().getUUID());
+    }
+
     @Override
     public Set<String> getPaperMinecraftVersionIds() {
         return Set.of();
@@ -20,6 +20,8 @@ package net.skinsrestorer.mod;
 import ch.jalu.injector.Injector;
 import com.mojang.authlib.properties.Property;
 import com.mojang.authlib.properties.PropertyMap;
+import lombok.Getter;
+import lombok.Setter;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.core.component.DataComponentPatch;
 import net.minecraft.core.component.DataComponents;
@@ -40,6 +42,7 @@ import net.skinsrestorer.shared.commands.SoundProvider;
 import net.skinsrestorer.shared.gui.SRInventory;
 import net.skinsrestorer.shared.info.Platform;
 import net.skinsrestorer.shared.info.PluginInfo;
+import net.skinsrestorer.shared.plugin.SRExecutor;
 import net.skinsrestorer.shared.plugin.SRPlatformAdapter;
 import net.skinsrestorer.shared.plugin.SRServerAdapter;
 import net.skinsrestorer.shared.subjects.SRCommandSender;
@@ -52,8 +55,6 @@ import org.incendo.cloud.execution.ExecutionCoordinator;
 import javax.inject.Inject;
 import java.io.InputStream;
 import java.util.*;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -61,7 +62,11 @@ public class SRModAdapter implements SRServerAdapter {
     @SuppressWarnings("MismatchedQueryAndUpdateOfCollection")
     private static final List<Object> REFERENCES_TO_PREVENT_GC = new ArrayList<>();
     private final Injector injector;
-    private final ScheduledExecutorService asyncScheduler = Executors.newSingleThreadScheduledExecutor();
+    // Every async task gets its own virtual thread, so a slow upload or lookup never blocks other work
+    @Getter
+    private final SRExecutor executor = new SRExecutor("SkinsRestorer");
+    @Setter
+    private volatile MinecraftServer server;
 
     @Inject
     public SRModAdapter(Injector injector) {
@@ -91,12 +96,12 @@ public class SRModAdapter implements SRServerAdapter {
 
     @Override
     public void runAsync(Runnable runnable) {
-        asyncScheduler.schedule(runnable, 0, TimeUnit.MILLISECONDS);
+        executor.execute(SRExecutor.Lane.IO, runnable);
     }
 
     @Override
     public void runAsyncDelayed(Runnable runnable, long delay, TimeUnit timeUnit) {
-        asyncScheduler.schedule(runnable, delay, timeUnit);
+        executor.schedule(SRExecutor.Lane.IO, runnable, delay, timeUnit);
     }
 
     @Override
@@ -168,7 +173,7 @@ public class SRModAdapter implements SRServerAdapter {
 
     @Override
     public void runRepeatAsync(Runnable runnable, long delay, long interval, TimeUnit timeUnit) {
-        asyncScheduler.scheduleWithFixedDelay(runnable, delay, interval, timeUnit);
+        executor.scheduleRepeating(SRExecutor.Lane.IO, runnable, delay, interval, timeUnit);
     }
 
     @Override
@@ -183,10 +188,15 @@ public class SRModAdapter implements SRServerAdapter {
 
     @Override
     public void shutdownCleanup() {
-        asyncScheduler.shutdown();
+        executor.shutdown(5, TimeUnit.SECONDS);
         REFERENCES_TO_PREVENT_GC.clear();
     }
 
+    @Override
+    public Map<SRExecutor.Lane, SRExecutor.LaneStats> getExecutorStats() {
+        return executor.getStats();
+    }
+
     @Override
     public String getPlatformVersion() {
         return dev.architectury.platform.Platform.getMinecraftVersion();
@@ -239,11 +249,25 @@ public class SRModAdapter implements SRServerAdapter {
 
     @Override
     public Collection<SRPlayer> getOnlinePlayers(SRCommandSender sender) {
-        return sender.getAs(CommandSourceStack.class).getServer().getPlayerList().getPlayers().stream().map(injector.getSingleton(WrapperMod.class)::player).collect(Collectors.toList());
+        MinecraftServer server = getServer(sender);
+        if (server == null) {
+            return List.of();
+        }
+
+        return server.getPlayerList().getPlayers().stream().map(injector.getSingleton(WrapperMod.class)::player).collect(Collectors.toList());
     }
 
     @Override
     public Optional<SRPlayer> getPlayer(SRCommandSender sender, UUID uniqueId) {
-        return Optional.ofNullable(sender.getAs(CommandSourceStack.class).getServer().getPlayerList().getPlayer(uniqueId)).map(injector.getSingleton(WrapperMod.class)::player);
+        MinecraftServer server = getServer(sender);
+        if (server == null) {
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable(server.getPlayerList().getPlayer(uniqueId)).map(injector.getSingleton(WrapperMod.class)::player);
+    }
+
+    private MinecraftServer getServer(SRCommandSender sender) {
+        return sender == null ? server : sender.getAs(CommandSourceStack.class).getServer();
     }
 }
@@ -18,6 +18,7 @@
 package net.skinsrestorer.mod;
 
 import ch.jalu.injector.Injector;
+import dev.architectury.event.events.common.LifecycleEvent;
 import dev.architectury.event.events.common.PlayerEvent;
 import dev.architectury.networking.NetworkManager;
 import dev.architectury.platform.Platform;
@@ -38,6 +39,7 @@ import net.skinsrestorer.mod.wrapper.WrapperMod;
 import net.skinsrestorer.shared.info.PluginInfo;
 import net.skinsrestorer.shared.log.SRChatColor;
 import net.skinsrestorer.shared.log.SRLogger;
+import net.skinsrestorer.shared.placeholders.PlaceholderCache;
 import net.skinsrestorer.shared.plugin.SRPlugin;
 import net.skinsrestorer.shared.plugin.SRServerPlatformInit;
 import net.skinsrestorer.shared.subjects.messages.SkinsRestorerLocale;
@@ -67,6 +69,12 @@ public class SRModInit implements SRServerPlatformInit {
         logger.info(SRChatColor.GREEN + "Running on Minecraft " + SRChatColor.YELLOW + Platform.getMinecraftVersion() + SRChatColor.GREEN + ".");
     }
 
+    @Override
+    public void prePlatformInit() {
+        LifecycleEvent.SERVER_STARTING.register(adapter::setServer);
+        LifecycleEvent.SERVER_STOPPED.register(server -> adapter.setServer(null));
+    }
+
     @Override
     public void initLoginProfileListener() {
         PlayerEvent.PLAYER_JOIN.register(injector.getSingleton(PlayerJoinListener.class));
@@ -81,8 +89,13 @@ public class SRModInit implements SRServerPlatformInit {
     public void placeholderSetupHook() {
         if (adapter.getPluginInfo("miniplaceholders").isPresent()) {
             try {
+                PlaceholderCache placeholderCache = injector.getSingleton(PlaceholderCache.class);
+                placeholderCache.listenForChanges(adapter, ServerPlayer.class, ServerPlayer::getUUID);
+                PlayerEvent.PLAYER_QUIT.register(player -> placeholderCache.remove(player.getUUID()));
+
                 new SRMiniPlaceholdersAPIExpansion<>(
                         adapter,
+                        placeholderCache,
                         ServerPlayer.class,
                         wrapper::player
                 ).register();
@@ -27,6 +27,7 @@ import net.minecraft.network.protocol.game.*;
 import net.minecraft.server.level.ChunkMap;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.server.network.ServerPlayerConnection;
 import net.minecraft.server.players.PlayerList;
 import net.minecraft.world.effect.MobEffectInstance;
 import net.minecraft.world.entity.Entity;
@@ -41,8 +42,10 @@ import net.skinsrestorer.viaversion.ViaRefreshProvider;
 import net.skinsrestorer.viaversion.ViaWorkaround;
 
 import javax.inject.Inject;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 @RequiredArgsConstructor(onConstructor_ = @Inject)
 public class SkinApplierMod implements SkinApplierAccess<ServerPlayer> {
@@ -86,46 +89,35 @@ public class SkinApplierMod implements SkinApplierAccess<ServerPlayer> {
 
         setGameProfileTextures(player, property);
 
-        for (ServerPlayer otherPlayer : getSeenByPlayers(player)) {
-            untrackAndHideEntity(otherPlayer, player);
-            trackAndShowEntity(otherPlayer, player);
+        // Only players tracking the entity need it despawned and spawned again,
+        // everyone else just gets the player list entry resent
+        ChunkMap.TrackedEntity entry = player.level().getChunkSource().chunkMap.entityMap.get(player.getId());
+        Set<ServerPlayerConnection> trackers = entry == null ? Set.of() : Set.copyOf(entry.seenBy);
+        for (ServerPlayer otherPlayer : getOtherPlayers(player)) {
+            if (trackers.contains(otherPlayer.connection)) {
+                entry.removePlayer(otherPlayer);
+                resendInfoPackets(otherPlayer, player);
+                entry.updatePlayer(otherPlayer);
+            } else {
+                resendInfoPackets(otherPlayer, player);
+            }
         }
 
         // Refresh the players own skin
         refresh(player);
     }
 
-    private List<ServerPlayer> getSeenByPlayers(ServerPlayer player) {
-        return Objects.requireNonNull(player.getServer()).getPlayerList().getPlayers();
-    }
-
-    @SuppressWarnings("resource")
-    private void untrackAndHideEntity(ServerPlayer currentEntity, Entity entityToHide) {
-        ChunkMap tracker = currentEntity.level().getChunkSource().chunkMap;
-        ChunkMap.TrackedEntity entry = tracker.entityMap.get(entityToHide.getId());
-        if (entry != null) {
-            entry.removePlayer(currentEntity);
-        }
-
-        if (entityToHide instanceof ServerPlayer otherPlayer) {
-            // TODO: Maybe readd this? Bukkit-only code that was used to hide players
-            // if (otherPlayer.sentListPacket) {}
-
-            currentEntity.connection.send(new ClientboundPlayerInfoRemovePacket(List.of(otherPlayer.getUUID())));
-        }
+    private List<ServerPlayer> getOtherPlayers(ServerPlayer player) {
+        List<ServerPlayer> players = new ArrayList<>(Objects.requireNonNull(player.getServer()).getPlayerList().getPlayers());
+        players.remove(player);
+        return players;
     }
 
-    @SuppressWarnings("resource")
-    private void trackAndShowEntity(ServerPlayer currentEntity, Entity entityToShow) {
-        if (entityToShow instanceof ServerPlayer otherPlayer) {
-            currentEntity.connection.send(ClientboundPlayerInfoUpdatePacket.createPlayerInitializing(List.of(otherPlayer)));
-        }
-
-        ChunkMap tracker = currentEntity.level().getChunkSource().chunkMap;
-        ChunkMap.TrackedEntity entry = tracker.entityMap.get(entityToShow.getId());
-        if (entry != null && !entry.seenBy.contains(currentEntity.connection)) {
-            entry.updatePlayer(currentEntity);
-        }
+    private static void resendInfoPackets(ServerPlayer currentEntity, ServerPlayer otherPlayer) {
+        // TODO: Maybe readd this? Bukkit-only code that was used to hide players
+        // if (otherPlayer.sentListPacket) {}
+        currentEntity.connection.send(new ClientboundPlayerInfoRemovePacket(List.of(otherPlayer.getUUID())));
+        currentEntity.connection.send(ClientboundPlayerInfoUpdatePacket.createPlayerInitializing(List.of(otherPlayer)));
     }
 
     private void ejectPassengers(ServerPlayer player) {
@@ -27,6 +27,7 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 
 import javax.inject.Inject;
+import java.util.Optional;
 import java.util.UUID;
 
 @RequiredArgsConstructor(onConstructor_ = @Inject)
@@ -55,6 +56,14 @@ public class PaperPlayerJoinEvent implements Listener {
                 return !event.getPlayerProfile().getProperties().isEmpty();
             }
 
+            @Override
+            public Optional<SkinProperty> getOnlineProperty() {
+                return event.getPlayerProfile().getProperties().stream()
+                        .map(property -> SkinProperty.tryParse(property.getName(), property.getValue(), property.getSignature()))
+                        .flatMap(Optional::stream)
+                        .findFirst();
+            }
+
             @Override
             public UUID getPlayerUniqueId() {
                 return event.getUniqueId();
@@ -75,6 +84,11 @@ public class PaperPlayerJoinEvent implements Listener {
                 event.getPlayerProfile().setProperty(new ProfileProperty(SkinProperty.TEXTURES_NAME, property.getValue(), property.getSignature()));
             }
 
+            @Override
+            public boolean holdsLogin() {
+                return true;
+            }
+
             @Override
             public Void runAsync(Runnable runnable) {
                 runnable.run();
@@ -23,7 +23,10 @@ import net.skinsrestorer.api.property.SkinProperty;
 import org.bukkit.entity.Player;
 
 public class PaperSkinApplier {
-    public static void applySkin(Player player, SkinProperty property) {
+    /**
+     * @param sendHealthUpdate Whether {@link #hasHealthUpdateMethod()} returned true
+     */
+    public static void applySkin(Player player, SkinProperty property, boolean sendHealthUpdate) {
         PlayerProfile profile = player.getPlayerProfile();
 
         profile.getProperties().removeIf(profileProperty -> profileProperty.getName().equals(SkinProperty.TEXTURES_NAME));
@@ -32,9 +35,8 @@ public class PaperSkinApplier {
         player.setPlayerProfile(profile);
 
         // Update the player health and food, does not work on older versions
-        try {
+        if (sendHealthUpdate) {
             player.sendHealthUpdate();
-        } catch (NoSuchMethodError ignored) {
         }
     }
 
@@ -46,4 +48,13 @@ public class PaperSkinApplier {
             return false;
         }
     }
+
+    public static boolean hasHealthUpdateMethod() {
+        try {
+            Player.class.getMethod("sendHealthUpdate");
+            return true;
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
 }
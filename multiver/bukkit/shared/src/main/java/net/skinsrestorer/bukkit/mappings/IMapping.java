@@ -21,7 +21,10 @@ import net.skinsrestorer.viaversion.ExceptionSupplier;
 import net.skinsrestorer.viaversion.ViaPacketData;
 import org.bukkit.entity.Player;
 
+import java.util.HashSet;
 import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 public interface IMapping {
@@ -29,6 +32,13 @@ public interface IMapping {
 
     void resendInfoPackets(Player toResend, Player toSendTo);
 
+    /**
+     * Reads the entity tracker of the player's world.
+     *
+     * @return UUIDs of the players that currently have the player spawned on their client
+     */
+    Set<UUID> getTrackingPlayers(Player player);
+
     /**
      * Format as in ServerBuildInfo#minecraftVersionId.
      *
@@ -47,4 +57,25 @@ public interface IMapping {
     static ViaPacketData newViaPacketData(Player player, long seed, int gamemodeId, boolean isFlat) {
         return new ViaPacketData(player.getUniqueId(), player.getWorld().getEnvironment().getId(), seed, gamemodeId, isFlat);
     }
+
+    /**
+     * Shared body of {@link #getTrackingPlayers(Player)}, the NMS specific lookups are passed in by each mapping.
+     *
+     * @param entry      the tracked entity of the player, or null if the player is not tracked
+     * @param seenBy     reads the connections that currently see the entity
+     * @param uuidGetter reads the player UUID of a connection
+     * @return UUIDs of the players behind the connections
+     */
+    static <E, C> Set<UUID> collectTrackers(E entry, Function<E, Iterable<C>> seenBy, Function<C, UUID> uuidGetter) {
+        if (entry == null) {
+            return Set.of();
+        }
+
+        Set<UUID> trackers = new HashSet<>();
+        for (C connection : seenBy.apply(entry)) {
+            trackers.add(uuidGetter.apply(connection));
+        }
+
+        return trackers;
+    }
 }
@@ -22,11 +22,9 @@ import io.github.miniplaceholders.api.utils.Tags;
 import lombok.RequiredArgsConstructor;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.minimessage.tag.Tag;
-import net.skinsrestorer.api.PropertyUtils;
-import net.skinsrestorer.api.SkinsRestorerProvider;
-import net.skinsrestorer.api.property.SkinIdentifier;
 import net.skinsrestorer.api.property.SkinProperty;
 import net.skinsrestorer.builddata.BuildData;
+import net.skinsrestorer.shared.placeholders.PlaceholderCache;
 import net.skinsrestorer.shared.plugin.SRPlatformAdapter;
 import net.skinsrestorer.shared.storage.HardcodedSkins;
 import net.skinsrestorer.shared.subjects.SRPlayer;
@@ -37,6 +35,7 @@ import java.util.function.Function;
 @RequiredArgsConstructor
 public class SRMiniPlaceholdersAPIExpansion<P> {
     private final SRPlatformAdapter adapter;
+    private final PlaceholderCache placeholderCache;
     private final Class<P> playerClassRaw;
     private final Function<P, SRPlayer> playerProvider;
 
@@ -49,25 +48,12 @@ public class SRMiniPlaceholdersAPIExpansion<P> {
                 .audiencePlaceholder(playerClass, "skin_name_or_empty", ((audience, queue, ctx) -> {
                     SRPlayer player = playerProvider.apply((P) audience);
 
-                    Optional<SkinIdentifier> skin = SkinsRestorerProvider.get()
-                            .getPlayerStorage()
-                            .getSkinIdOfPlayer(player.getUniqueId());
-
-                    if (skin.isPresent()) {
-                        return Tag.preProcessParsed(skin.get().getIdentifier());
-                    }
-
-                    return Tags.EMPTY_TAG;
+                    return getSkinName(player).map(Tag::preProcessParsed).orElse(Tags.EMPTY_TAG);
                 }))
                 .audiencePlaceholder(playerClass, "skin_name_or_player_name", ((audience, queue, ctx) -> {
                     SRPlayer player = playerProvider.apply((P) audience);
 
-                    Optional<SkinIdentifier> skin = SkinsRestorerProvider.get()
-                            .getPlayerStorage()
-                            .getSkinIdOfPlayer(player.getUniqueId());
-
-                    return skin.map(skinIdentifier -> Tag.preProcessParsed(skinIdentifier.getIdentifier()))
-                            .orElseGet(() -> Tag.preProcessParsed(player.getName()));
+                    return Tag.preProcessParsed(getSkinName(player).orElseGet(player::getName));
                 }))
                 .audiencePlaceholder(playerClass, "texture_url_or_empty", ((audience, queue, ctx) -> {
                     SRPlayer player = playerProvider.apply((P) audience);
@@ -103,11 +89,18 @@ public class SRMiniPlaceholdersAPIExpansion<P> {
                 .register();
     }
 
+    /**
+     * @return empty if the player has no skin set or the data is still being loaded
+     */
+    private Optional<String> getSkinName(SRPlayer player) {
+        return placeholderCache.getPlayerData(player.getUniqueId()).flatMap(PlaceholderCache.PlayerData::skinName);
+    }
+
     private Tag extractTextureUrl(SkinProperty property) {
-        return Tag.preProcessParsed(PropertyUtils.getSkinTextureUrl(property));
+        return Tag.preProcessParsed(placeholderCache.getTexture(property).url());
     }
 
     private Tag extractTextureHash(SkinProperty property) {
-        return Tag.preProcessParsed(PropertyUtils.getSkinTextureHash(property));
+        return Tag.preProcessParsed(placeholderCache.getTexture(property).hash());
     }
 }
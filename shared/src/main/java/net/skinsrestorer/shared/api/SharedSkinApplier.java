@@ -29,6 +29,7 @@ import net.skinsrestorer.shared.commands.SoundProvider;
 import net.skinsrestorer.shared.subjects.SRPlayer;
 import net.skinsrestorer.shared.subjects.SRSubjectWrapper;
 
+import java.util.Objects;
 import java.util.Optional;
 
 @RequiredArgsConstructor
@@ -58,9 +59,36 @@ public class SharedSkinApplier<P> implements SkinApplier<P> {
 
     @Override
     public void applySkin(P player, SkinProperty property) {
-        access.applySkin(player, property);
+        applySkinSilently(player, property);
 
         SRPlayer srPlayer = wrapper.player(player);
         soundProvider.playSound(srPlayer);
     }
+
+    /**
+     * Applies the skin without playing the skin change sound.
+     * Used for updates the player did not request themselves.
+     */
+    public void applySkinSilently(P player, SkinProperty property) {
+        access.applySkin(player, property);
+    }
+
+    /**
+     * Whether both properties show the same skin.
+     * Ignores the rest of the textures value, e.g. the timestamp Mojang puts into every response.
+     */
+    public static boolean isSameSkin(SkinProperty first, SkinProperty second) {
+        if (first.getValue().equals(second.getValue())) {
+            return true;
+        }
+
+        try {
+            // Compares skin url, model and cape
+            return Objects.equals(PropertyUtils.getSkinProfileData(first).getTextures(),
+                    PropertyUtils.getSkinProfileData(second).getTextures());
+        } catch (RuntimeException e) {
+            // Empty or malformed values, e.g. the empty skin
+            return false;
+        }
+    }
 }
@@ -25,32 +25,132 @@ import net.skinsrestorer.shared.plugin.SRPlatformAdapter;
 
 import javax.inject.Inject;
 import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
 @RequiredArgsConstructor(onConstructor_ = @Inject)
 public class EventBusImpl implements EventBus {
-    private final Queue<EventSubscription<?>> subscriptions = new ConcurrentLinkedQueue<>();
+    private final Object writeLock = new Object();
+    private final Map<Class<?>, AsyncLane> asyncLanes = new ConcurrentHashMap<>();
     private final SRPlatformAdapter platformAdapter;
     private final SRLogger logger;
+    // Copy on write, every change replaces the whole index
+    private volatile SubscriptionIndex index = new SubscriptionIndex(new EventSubscription<?>[0]);
 
     @Override
     public <E extends SkinsRestorerEvent> void subscribe(Object plugin, Class<E> eventClass, Consumer<E> listener) {
         platformAdapter.extendLifeTime(plugin, listener);
-        subscriptions.add(new EventSubscription<>(new WeakReference<>(plugin), eventClass, new WeakReference<>(listener)));
+        EventSubscription<E> subscription = new EventSubscription<>(new WeakReference<>(plugin), eventClass, new WeakReference<>(listener));
+        synchronized (writeLock) {
+            EventSubscription<?>[] subscriptions = index.subscriptions();
+            EventSubscription<?>[] updated = Arrays.copyOf(subscriptions, subscriptions.length + 1);
+            updated[subscriptions.length] = subscription;
+            index = new SubscriptionIndex(updated);
+        }
     }
 
     public void callEvent(SkinsRestorerEvent event) {
-        subscriptions.removeIf(subscription -> subscription.plugin().get() == null
-                || subscription.listener().get() == null);
+        boolean foundDead = false;
+        for (EventSubscription<?> subscription : index.forEventClass(event.getClass())) {
+            if (!subscription.isAlive()) {
+                foundDead = true;
+                continue;
+            }
 
-        for (EventSubscription<?> subscription : subscriptions) {
             try {
                 subscription.callEvent(event);
             } catch (Throwable t) {
                 logger.severe("Error while calling event %s".formatted(event.getClass().getSimpleName()), t);
             }
         }
+
+        if (foundDead) {
+            removeDeadSubscriptions();
+        }
+    }
+
+    /**
+     * Calls the event on an async thread. Events of the same class are delivered one at a time,
+     * in the order this method was called for them.
+     *
+     * @return completes once all listeners were called
+     */
+    public CompletableFuture<Void> callEventAsync(SkinsRestorerEvent event) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        asyncLanes.computeIfAbsent(event.getClass(), k -> new AsyncLane()).submit(() -> {
+            callEvent(event);
+            future.complete(null);
+        });
+        return future;
+    }
+
+    private void removeDeadSubscriptions() {
+        synchronized (writeLock) {
+            EventSubscription<?>[] subscriptions = index.subscriptions();
+            EventSubscription<?>[] alive = Arrays.stream(subscriptions)
+                    .filter(EventSubscription::isAlive)
+                    .toArray(EventSubscription<?>[]::new);
+            if (alive.length != subscriptions.length) {
+                index = new SubscriptionIndex(alive);
+            }
+        }
+    }
+
+    /**
+     * All subscriptions, plus the ones matching each dispatched event class, resolved on first dispatch.
+     */
+    private record SubscriptionIndex(EventSubscription<?>[] subscriptions,
+                                     Map<Class<?>, EventSubscription<?>[]> byEventClass) {
+        private SubscriptionIndex(EventSubscription<?>[] subscriptions) {
+            this(subscriptions, new ConcurrentHashMap<>());
+        }
+
+        private EventSubscription<?>[] forEventClass(Class<?> eventClass) {
+            return byEventClass.computeIfAbsent(eventClass, k -> Arrays.stream(subscriptions)
+                    .filter(subscription -> subscription.eventClass().isAssignableFrom(k))
+                    .toArray(EventSubscription<?>[]::new));
+        }
+    }
+
+    private class AsyncLane {
+        private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private void submit(Runnable runnable) {
+            queue.add(runnable);
+            schedule();
+        }
+
+        private void schedule() {
+            if (!scheduled.compareAndSet(false, true)) {
+                return;
+            }
+
+            try {
+                platformAdapter.runAsync(this::drain);
+            } catch (RuntimeException e) {
+                scheduled.set(false);
+                throw e;
+            }
+        }
+
+        private void drain() {
+            Runnable runnable;
+            while ((runnable = queue.poll()) != null) {
+                runnable.run();
+            }
+
+            scheduled.set(false);
+            // Something may have been queued after the last poll, but before scheduled was reset
+            if (!queue.isEmpty()) {
+                schedule();
+            }
+        }
     }
 }
@@ -24,6 +24,10 @@ import java.util.function.Consumer;
 
 public record EventSubscription<E extends SkinsRestorerEvent>(WeakReference<Object> plugin, Class<E> eventClass,
                                                               WeakReference<Consumer<E>> listener) {
+    public boolean isAlive() {
+        return plugin.get() != null && listener.get() != null;
+    }
+
     public void callEvent(Object event) {
         if (!eventClass.isAssignableFrom(event.getClass())) {
             return;
@@ -35,6 +35,14 @@ public class BuiltInCodecs {
             SROutputWriter::writeInt,
             SRInputReader::readInt
     );
+    public static final NetworkCodec<Long> LONG_CODEC = NetworkCodec.of(
+            SROutputWriter::writeLong,
+            SRInputReader::readLong
+    );
+    public static final NetworkCodec<byte[]> BYTE_ARRAY_CODEC = NetworkCodec.of(
+            SROutputWriter::writeBytes,
+            SRInputReader::readBytes
+    );
     public static final NetworkCodec<Boolean> BOOLEAN_CODEC = NetworkCodec.of(
             SROutputWriter::writeBoolean,
             SRInputReader::readBoolean
@@ -19,6 +19,7 @@ package net.skinsrestorer.shared.codec;
 
 import net.skinsrestorer.shared.utils.SRFunction;
 
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
@@ -230,6 +231,17 @@ public record NetworkCodec<T>(Writer<T> writer, Reader<T> reader) {
         );
     }
 
+    /**
+     * Reads the value only if the message still has bytes left.
+     * Use this for fields appended to an existing payload, so messages from older versions still decode.
+     */
+    public NetworkCodec<T> trailing(T fallback) {
+        return NetworkCodec.of(
+                this::write,
+                is -> is.hasRemaining() ? this.read(is) : fallback
+        );
+    }
+
     public NetworkCodec<List<T>> list() {
         return NetworkCodec.of(
                 (os, list) -> {
@@ -294,6 +306,21 @@ public record NetworkCodec<T>(Writer<T> writer, Reader<T> reader) {
         );
     }
 
+    /**
+     * Compresses the value with {@link PayloadCompression}.
+     * Only use this on channel types the receiver has announced support for.
+     */
+    public NetworkCodec<T> deflated() {
+        return NetworkCodec.of(
+                (stream, t) -> {
+                    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                    writer.write(new SROutputWriter(new DataOutputStream(bytes)), t);
+                    BuiltInCodecs.BYTE_ARRAY_CODEC.write(stream, PayloadCompression.deflate(bytes.toByteArray()));
+                },
+                stream -> reader.read(new SRInputReader(PayloadCompression.inflate(BuiltInCodecs.BYTE_ARRAY_CODEC.read(stream))))
+        );
+    }
+
     public interface Writer<T> {
         void write(SROutputWriter buf, T t);
     }
@@ -0,0 +1,130 @@
+/*
+ * SkinsRestorer
+ * Copyright (C) 2024  SkinsRestorer Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.skinsrestorer.shared.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Raw deflate with a preset dictionary for plugin messages.
+ * Our payloads are small and consist mostly of the same JSON components and base64 texture values,
+ * GZIP starts every message with an empty window and adds its own header and trailer.
+ * <p>
+ * The dictionary is part of the wire format: both sides must use the same {@link #VERSION},
+ * any change to it needs a new version and new channel types.
+ */
+public class PayloadCompression {
+    public static final int VERSION = 1;
+    private static final int MAX_INFLATED_SIZE = 4 * 1024 * 1024;
+    private static final String[] TEXTURES_JSON_SEGMENTS = {
+            "\",\n  \"profileId\" : \"",
+            "\",\n  \"profileName\" : \"",
+            "\",\n  \"signatureRequired\" : true,\n  \"textures\" : {\n    \"SKIN\" : {\n      \"url\" : \"http://textures.minecraft.net/texture/",
+            "\",\n  \"textures\" : {\n    \"SKIN\" : {\n      \"url\" : \"http://textures.minecraft.net/texture/",
+            "\",\n      \"metadata\" : {\n        \"model\" : \"slim\"\n      }\n    },\n    \"CAPE\" : {\n      \"url\" : \"http://textures.minecraft.net/texture/",
+            "\"\n    }\n  }\n}"
+    };
+    // Most common content last, deflate prefers closer matches
+    private static final String[] COMPONENT_SEGMENTS = {
+            "{\"extra\":[{\"bold\":true,\"text\":\"»\"},\" \",{\"color\":\"gray\",\"text\":\"Next Page\"},\" \",{\"bold\":true,\"text\":\"«\"}],\"color\":\"green\",\"text\":\"\"}",
+            "{\"color\":\"yellow\",\"text\":\"\"}{\"color\":\"red\",\"text\":\"\"}{\"color\":\"aqua\",\"text\":\"\"}{\"color\":\"dark_green\",\"text\":\"\"}{\"color\":\"light_purple\",\"text\":\"\"}{\"color\":\"gold\",\"text\":\"\"}{\"italic\":false,",
+            "{\"color\":\"blue\",\"text\":\"Skins Menu - Page \"}{\"color\":\"blue\",\"text\":\"Favourite since \"}",
+            "{\"color\":\"gray\",\"text\":\"Shift + click to set as favourite\"}{\"color\":\"gray\",\"text\":\"Shift + click to remove from favourites\"}",
+            "{\"color\":\"gray\",\"text\":\"Click to select this skin\"}{\"color\":\"gray\",\"text\":\""
+    };
+    private static final byte[] DICTIONARY = createDictionary();
+
+    private static byte[] createDictionary() {
+        StringBuilder dictionary = new StringBuilder(base64Aligned("{\n  \"timestamp\" : 1", 0));
+        // Texture values are base64 encoded JSON, the same JSON encodes differently depending on its offset
+        for (String segment : TEXTURES_JSON_SEGMENTS) {
+            for (int offset = 0; offset < 3; offset++) {
+                dictionary.append(base64Aligned(segment, offset));
+            }
+        }
+
+        for (String segment : COMPONENT_SEGMENTS) {
+            dictionary.append(segment);
+        }
+
+        return dictionary.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String base64Aligned(String segment, int offset) {
+        byte[] bytes = segment.getBytes(StandardCharsets.UTF_8);
+        byte[] padded = new byte[offset + bytes.length];
+        System.arraycopy(bytes, 0, padded, offset, bytes.length);
+
+        String encoded = Base64.getEncoder().withoutPadding().encodeToString(padded);
+        // Drop the characters that contain padding bits or an incomplete trailing group
+        int start = offset == 0 ? 0 : 4;
+        int end = encoded.length() - encoded.length() % 4;
+        return start < end ? encoded.substring(start, end) : "";
+    }
+
+    public static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setDictionary(DICTIONARY);
+            deflater.setInput(data);
+            deflater.finish();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 16);
+            byte[] buffer = new byte[1024];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public static byte[] inflate(byte[] data) {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setDictionary(DICTIONARY);
+            inflater.setInput(data);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 3);
+            byte[] buffer = new byte[1024];
+            while (!inflater.finished()) {
+                int read = inflater.inflate(buffer);
+                out.write(buffer, 0, read);
+                if (out.size() > MAX_INFLATED_SIZE) {
+                    throw new IllegalArgumentException("Compressed payload exceeds %d bytes".formatted(MAX_INFLATED_SIZE));
+                }
+
+                if (read == 0 && !inflater.finished() && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("Truncated compressed payload");
+                }
+            }
+
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Invalid compressed payload", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -62,6 +62,29 @@ public class SRInputReader {
         }
     }
 
+    public byte[] readBytes() {
+        try {
+            int length = dataInput.readInt();
+            if (length < 0) {
+                throw new IOException("Negative byte array length: " + length);
+            }
+
+            byte[] bytes = new byte[length];
+            dataInput.readFully(bytes);
+            return bytes;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public boolean hasRemaining() {
+        try {
+            return dataInput instanceof InputStream stream && stream.available() > 0;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     public InputStream wrapper() {
         return new InputStream() {
             @Override
@@ -60,6 +60,15 @@ public class SROutputWriter {
         }
     }
 
+    public void writeBytes(byte[] value) {
+        try {
+            dataOutput.writeInt(value.length);
+            dataOutput.write(value);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     public OutputStream wrapper() {
         return new OutputStream() {
             @Override
@@ -39,6 +39,7 @@ public record SRProxyPluginMessage(ChannelPayload<?> channelPayload) {
         private static final Map<String, ChannelType<?>> ID_TO_VALUE = new HashMap<>();
 
         public static final ChannelType<GUIActionListChannelPayload> GUI_ACTION_LIST = register(new ChannelType<>("guiActionList", GUIActionListChannelPayload.CODEC));
+        public static final ChannelType<GUICacheMissChannelPayload> GUI_CACHE_MISS = register(new ChannelType<>("guiCacheMiss", GUICacheMissChannelPayload.CODEC));
         public static final ChannelType<AckChannelPayload> ACK = register(new ChannelType<>("ack", AckChannelPayload.CODEC));
         public static final ChannelType<UnknownChannelPayload> UNKNOWN_CHANNEL = register(new ChannelType<>("unknownChannel", UnknownChannelPayload.CODEC));
 
@@ -232,12 +233,39 @@ public record SRProxyPluginMessage(ChannelPayload<?> channelPayload) {
         }
     }
 
-    public record AckChannelPayload(UUID ackId, String serverSrVersion) implements ChannelPayload<AckChannelPayload> {
+    public record GUICacheMissChannelPayload(int page, PageType type) implements ChannelPayload<GUICacheMissChannelPayload> {
+        public static final NetworkCodec<GUICacheMissChannelPayload> CODEC = NetworkCodec.list(
+                BuiltInCodecs.INT_CODEC,
+                GUICacheMissChannelPayload::page,
+                PageType.CODEC,
+                GUICacheMissChannelPayload::type,
+                GUICacheMissChannelPayload::new
+        );
+
+        @Override
+        public ChannelType<GUICacheMissChannelPayload> getType() {
+            return ChannelType.GUI_CACHE_MISS;
+        }
+
+        @Override
+        public GUICacheMissChannelPayload cast() {
+            return this;
+        }
+    }
+
+    public record AckChannelPayload(UUID ackId, String serverSrVersion,
+                                    int guiProtocolVersion,
+                                    int compressionVersion) implements ChannelPayload<AckChannelPayload> {
+        // Older servers do not send the trailing fields, they only understand full inventories and GZIP
         public static final NetworkCodec<AckChannelPayload> CODEC = NetworkCodec.list(
                 BuiltInCodecs.UUID_CODEC,
                 AckChannelPayload::ackId,
                 BuiltInCodecs.STRING_CODEC,
                 AckChannelPayload::serverSrVersion,
+                BuiltInCodecs.INT_CODEC.trailing(1),
+                AckChannelPayload::guiProtocolVersion,
+                BuiltInCodecs.INT_CODEC.trailing(0),
+                AckChannelPayload::compressionVersion,
                 AckChannelPayload::new
         );
 
@@ -18,6 +18,7 @@
 package net.skinsrestorer.shared.codec;
 
 import net.skinsrestorer.api.property.SkinProperty;
+import net.skinsrestorer.shared.gui.GUIPageDelta;
 import net.skinsrestorer.shared.gui.SRInventory;
 import net.skinsrestorer.shared.subjects.messages.ComponentString;
 
@@ -40,8 +41,11 @@ public record SRServerPluginMessage(ChannelPayload<?> channelPayload) {
         private static final Map<String, ChannelType<?>> ID_TO_VALUE = new HashMap<>();
 
         public static final ChannelType<GUIPageChannelPayload> OPEN_GUI = register(new ChannelType<>("openGUI", GUIPageChannelPayload.CODEC));
+        public static final ChannelType<GUIPageV2ChannelPayload> OPEN_GUI_V2 = register(new ChannelType<>("openGUIV2", GUIPageV2ChannelPayload.CODEC));
+        public static final ChannelType<GUIPageV3ChannelPayload> OPEN_GUI_V3 = register(new ChannelType<>("openGUIV3", GUIPageV3ChannelPayload.CODEC));
         public static final ChannelType<SkinUpdateV2ChannelPayload> SKIN_UPDATE_V2 = register(new ChannelType<>("SkinUpdateV2", SkinUpdateV2ChannelPayload.CODEC));
         public static final ChannelType<SkinUpdateV3ChannelPayload> SKIN_UPDATE_V3 = register(new ChannelType<>("skinUpdateV3", SkinUpdateV3ChannelPayload.CODEC));
+        public static final ChannelType<SkinUpdateV4ChannelPayload> SKIN_UPDATE_V4 = register(new ChannelType<>("skinUpdateV4", SkinUpdateV4ChannelPayload.CODEC));
         public static final ChannelType<GiveSkullChannelPayload> GIVE_SKULL = register(new ChannelType<>("giveSkull", GiveSkullChannelPayload.CODEC));
         public static final ChannelType<UnknownChannelPayload> UNKNOWN = register(new ChannelType<>("unknown", UnknownChannelPayload.CODEC));
 
@@ -86,6 +90,49 @@ public record SRServerPluginMessage(ChannelPayload<?> channelPayload) {
         }
     }
 
+    public record GUIPageV2ChannelPayload(Map<Long, ComponentString> definitions,
+                                          GUIPageDelta delta) implements ChannelPayload<GUIPageV2ChannelPayload> {
+        public static final NetworkCodec<GUIPageV2ChannelPayload> CODEC = NetworkCodec.list(
+                BuiltInCodecs.LONG_CODEC.mappedTo(ComponentString.CODEC),
+                GUIPageV2ChannelPayload::definitions,
+                GUIPageDelta.CODEC,
+                GUIPageV2ChannelPayload::delta,
+                GUIPageV2ChannelPayload::new
+        );
+
+        @Override
+        public ChannelType<GUIPageV2ChannelPayload> getType() {
+            return ChannelType.OPEN_GUI_V2;
+        }
+
+        @Override
+        public GUIPageV2ChannelPayload cast() {
+            return this;
+        }
+    }
+
+    /**
+     * {@link GUIPageV2ChannelPayload} compressed with {@link PayloadCompression}.
+     */
+    public record GUIPageV3ChannelPayload(
+            GUIPageV2ChannelPayload page) implements ChannelPayload<GUIPageV3ChannelPayload> {
+        public static final NetworkCodec<GUIPageV3ChannelPayload> CODEC = NetworkCodec.list(
+                GUIPageV2ChannelPayload.CODEC.deflated(),
+                GUIPageV3ChannelPayload::page,
+                GUIPageV3ChannelPayload::new
+        );
+
+        @Override
+        public ChannelType<GUIPageV3ChannelPayload> getType() {
+            return ChannelType.OPEN_GUI_V3;
+        }
+
+        @Override
+        public GUIPageV3ChannelPayload cast() {
+            return this;
+        }
+    }
+
     public record SkinUpdateV2ChannelPayload(
             SkinProperty skinProperty) implements ChannelPayload<SkinUpdateV2ChannelPayload> {
         public static final NetworkCodec<SkinUpdateV2ChannelPayload> CODEC = NetworkCodec.list(
@@ -136,6 +183,28 @@ public record SRServerPluginMessage(ChannelPayload<?> channelPayload) {
         }
     }
 
+    /**
+     * {@link SkinUpdateV3ChannelPayload} compressed with {@link PayloadCompression}.
+     */
+    public record SkinUpdateV4ChannelPayload(
+            SkinUpdateV3ChannelPayload update) implements ChannelPayload<SkinUpdateV4ChannelPayload> {
+        public static final NetworkCodec<SkinUpdateV4ChannelPayload> CODEC = NetworkCodec.list(
+                SkinUpdateV3ChannelPayload.CODEC.deflated(),
+                SkinUpdateV4ChannelPayload::update,
+                SkinUpdateV4ChannelPayload::new
+        );
+
+        @Override
+        public ChannelType<SkinUpdateV4ChannelPayload> getType() {
+            return ChannelType.SKIN_UPDATE_V4;
+        }
+
+        @Override
+        public SkinUpdateV4ChannelPayload cast() {
+            return this;
+        }
+    }
+
     public record GiveSkullChannelPayload(
             ComponentString displayName,
             String textureHash) implements ChannelPayload<GiveSkullChannelPayload> {
@@ -24,7 +24,6 @@ import net.skinsrestorer.shared.commands.library.annotations.CommandPermission;
 import net.skinsrestorer.shared.commands.library.annotations.RootDescription;
 import net.skinsrestorer.shared.gui.PageType;
 import net.skinsrestorer.shared.gui.SharedGUI;
-import net.skinsrestorer.shared.plugin.SRPlatformAdapter;
 import net.skinsrestorer.shared.storage.GUIStorage;
 import net.skinsrestorer.shared.subjects.SRPlayer;
 import net.skinsrestorer.shared.subjects.messages.Message;
@@ -37,7 +36,6 @@ import javax.inject.Inject;
 @SuppressWarnings("unused")
 @RequiredArgsConstructor(onConstructor_ = @Inject)
 public final class GUICommand {
-    private final SRPlatformAdapter platformAdapter;
     private final GUIStorage guiStorage;
     private final SharedGUI sharedGUI;
     private final Injector injector;
@@ -49,7 +47,7 @@ public final class GUICommand {
     @CommandPermission(value = PermissionRegistry.SKINS)
     private void onDefault(SRPlayer player) {
         player.sendMessage(Message.SKINSMENU_OPEN);
-        platformAdapter.openGUI(player, sharedGUI.createGUIPage(player, guiStorage.getGUIPage(player, 0, PageType.SELECT)));
+        sharedGUI.openGUIPage(player, guiStorage.getGUIPage(player, 0, PageType.SELECT));
         metricsCounter.increment(MetricsCounter.CommandType.SKIN_GUI);
     }
 }
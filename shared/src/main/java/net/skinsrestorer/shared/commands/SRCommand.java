@@ -43,6 +43,7 @@ import net.skinsrestorer.shared.config.DevConfig;
 import net.skinsrestorer.shared.config.StorageConfig;
 import net.skinsrestorer.shared.connections.DumpService;
 import net.skinsrestorer.shared.connections.ServiceCheckerService;
+import net.skinsrestorer.shared.connections.mineskin.MineSkinJobPriority;
 import net.skinsrestorer.shared.exception.InitializeException;
 import net.skinsrestorer.shared.log.SRLogger;
 import net.skinsrestorer.shared.plugin.SRPlatformAdapter;
@@ -436,7 +437,7 @@ public final class SRCommand {
 
     private void createCustom(SRCommandSender sender, String skinName, @Quoted String skinInput, SkinVariant skinVariant) {
         try {
-            Optional<InputDataResult> response = skinStorage.findOrCreateSkinData(skinInput, skinVariant);
+            Optional<InputDataResult> response = skinStorage.findOrCreateSkinData(skinInput, skinVariant, MineSkinJobPriority.ADMIN, sender);
             if (response.isEmpty()) {
                 sender.sendMessage(Message.NOT_PREMIUM); // TODO: Is this the right message?
                 return;
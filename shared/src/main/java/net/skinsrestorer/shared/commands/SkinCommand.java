@@ -35,7 +35,9 @@ import net.skinsrestorer.shared.commands.library.annotations.RootDescription;
 import net.skinsrestorer.shared.commands.library.annotations.SRCooldownGroup;
 import net.skinsrestorer.shared.config.CommandConfig;
 import net.skinsrestorer.shared.connections.RecommendationsState;
+import net.skinsrestorer.shared.connections.mineskin.MineSkinJobPriority;
 import net.skinsrestorer.shared.connections.responses.RecommenationResponse;
+import net.skinsrestorer.shared.exception.MineSkinQueueException;
 import net.skinsrestorer.shared.log.SRLogLevel;
 import net.skinsrestorer.shared.log.SRLogger;
 import net.skinsrestorer.shared.plugin.SRPlatformAdapter;
@@ -558,7 +560,7 @@ public final class SkinCommand {
             }
 
             // Perform skin lookup, which causes a second url regex check, but we don't care
-            Optional<InputDataResult> optional = skinStorage.findOrCreateSkinData(skinInput, skinVariant);
+            Optional<InputDataResult> optional = skinStorage.findOrCreateSkinData(skinInput, skinVariant, MineSkinJobPriority.PLAYER, sender);
 
             if (optional.isEmpty()) {
                 sender.sendMessage(Message.NOT_PREMIUM); // TODO: Is this the right message?
@@ -577,7 +579,7 @@ public final class SkinCommand {
             }
 
             return true;
-        } catch (DataRequestException e) {
+        } catch (DataRequestException | MineSkinQueueException e) {
             ComponentHelper.sendException(e, sender, locale, logger);
         } catch (MineSkinException e) {
             logger.debug(SRLogLevel.SEVERE, "Could not generate skin url: %s".formatted(skinInput), e);
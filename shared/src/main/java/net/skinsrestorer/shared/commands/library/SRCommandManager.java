@@ -27,6 +27,7 @@ import net.skinsrestorer.shared.commands.library.types.PlayerSelectorArgumentPar
 import net.skinsrestorer.shared.config.ProxyConfig;
 import net.skinsrestorer.shared.log.SRLogger;
 import net.skinsrestorer.shared.plugin.SRPlatformAdapter;
+import net.skinsrestorer.shared.plugin.SRScheduler;
 import net.skinsrestorer.shared.storage.adapter.AdapterReference;
 import net.skinsrestorer.shared.storage.adapter.StorageAdapter;
 import net.skinsrestorer.shared.subjects.SRCommandSender;
@@ -69,8 +70,6 @@ import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 public class SRCommandManager {
@@ -80,9 +79,9 @@ public class SRCommandManager {
     private final AnnotationParser<SRCommandSender> annotationParser;
     private final CooldownManager<SRCommandSender> cooldownManager;
 
-    @SuppressWarnings({"unchecked", "resource"})
+    @SuppressWarnings("unchecked")
     @Inject
-    public SRCommandManager(SRPlatformAdapter platform, SRLogger logger, SkinsRestorerLocale locale, SettingsManager settingsManager, AdapterReference reference) {
+    public SRCommandManager(SRPlatformAdapter platform, SRScheduler scheduler, SRLogger logger, SkinsRestorerLocale locale, SettingsManager settingsManager, AdapterReference reference) {
         this.commandManager = platform.createCommandManager();
         this.annotationParser = new AnnotationParser<>(commandManager, SRCommandSender.class);
         StorageBackendRepository storageRepository = new StorageBackendRepository(reference);
@@ -95,15 +94,10 @@ public class SRCommandManager {
                     throw new IllegalArgumentException("Only SRPlayer is supported");
                 },
                 storageRepository);
-        ScheduledExecutorService service = Executors.newSingleThreadScheduledExecutor(r -> {
-            Thread t = new Thread(r, "SRCooldownCleanupThread");
-            t.setDaemon(true);
-            return t;
-        });
         this.cooldownManager = CooldownManager.cooldownManager(CooldownConfiguration.<SRCommandSender>builder()
                 .repository(cooldownRepository)
                 .addCreationListener((sender, command, instance) ->
-                        service.schedule(new CooldownDeletionTask(instance.group(), instance.profile()), instance.duration().toSeconds(), TimeUnit.SECONDS))
+                        scheduler.schedule(new CooldownDeletionTask(instance.group(), instance.profile()), instance.duration().toSeconds(), TimeUnit.SECONDS))
                 .addAllActiveCooldownListeners(List.of((sender, command, cooldown, remainingTime) ->
                         sender.sendMessage(Message.SKIN_COOLDOWN, Placeholder.parsed("time", SRHelpers.durationFormat(locale, sender, remainingTime)))))
                 .bypassCooldown(context -> !(context.sender() instanceof SRPlayer) || context.sender().hasPermission(PermissionRegistry.BYPASS_COOLDOWN))
@@ -115,7 +109,7 @@ public class SRCommandManager {
                 for (ImmutableCooldownInstance instance : profile.getAllCooldowns()) {
                     long secondsUntilDeletion = instance.creationTime().plus(instance.duration()).getEpochSecond() - SRHelpers.getEpochSecond();
                     if (secondsUntilDeletion > 0) {
-                        service.schedule(new CooldownDeletionTask(instance.group(), profile), secondsUntilDeletion, TimeUnit.SECONDS);
+                        scheduler.schedule(new CooldownDeletionTask(instance.group(), profile), secondsUntilDeletion, TimeUnit.SECONDS);
                     } else {
                         profile.deleteCooldown(instance.group());
                     }
@@ -21,7 +21,11 @@ import ch.jalu.configme.Comment;
 import ch.jalu.configme.SettingsHolder;
 import ch.jalu.configme.properties.Property;
 
+import java.util.List;
+
+import static ch.jalu.configme.properties.PropertyInitializer.newListProperty;
 import static ch.jalu.configme.properties.PropertyInitializer.newProperty;
+import static net.skinsrestorer.shared.config.ConfigHelpers.newCappedProperty;
 
 public class APIConfig implements SettingsHolder {
     @Comment({
@@ -36,6 +40,29 @@ public class APIConfig implements SettingsHolder {
             "Enabling this option will hide all skins generated by MineSkin from their public gallery.",
     })
     public static final Property<Boolean> MINESKIN_SECRET_SKINS = newProperty("api.mineskinSecretSkins", false);
+    @Comment({
+            "How many skin uploads may wait in the MineSkin queue at once.",
+            "Pending uploads are saved to storage and continue after a restart.",
+            "[?] Uploads by admins (/sr createcustom) are always handled before uploads by players (/skin url)."
+    })
+    public static final Property<Integer> MINESKIN_QUEUE_SIZE = newCappedProperty("api.mineskinQueueSize", 50, 1, Integer.MAX_VALUE);
+    @Comment({
+            "How many seconds a command waits for its skin upload before giving up.",
+            "The upload itself keeps going in the queue and is reused when the same image is requested again."
+    })
+    public static final Property<Integer> MINESKIN_JOB_TIMEOUT = newCappedProperty("api.mineskinJobTimeout", 300, 10, 3600);
+    @Comment({
+            "Images from these hosts are downloaded and hashed before uploading,",
+            "so the same skin behind different links is only uploaded to MineSkin once.",
+            "[!] The server itself downloads these images, only list hosts you trust.",
+            "[?] Images from other hosts are only matched by their exact link."
+    })
+    public static final Property<List<String>> MINESKIN_HASH_HOSTS = newListProperty("api.mineskinHashHosts",
+            "textures.minecraft.net",
+            "i.imgur.com",
+            "storage.googleapis.com",
+            "cdn.discordapp.com"
+    );
     @Comment({
             "SkinsRestorer provides curated recommended skins for players to use",
             "These skin can be used via /skin random and the /skins GUI",
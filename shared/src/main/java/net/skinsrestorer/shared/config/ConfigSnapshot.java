@@ -0,0 +1,73 @@
+/*
+ * SkinsRestorer
+ * Copyright (C) 2024  SkinsRestorer Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.skinsrestorer.shared.config;
+
+import ch.jalu.configme.SettingsManager;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Immutable copy of the settings that are read on hot paths.
+ * Use {@link ConfigSnapshotProvider#get()} to get the current one.
+ */
+public record ConfigSnapshot(
+        Locale locale,
+        boolean disablePrefix,
+        String dateFormat,
+        boolean alwaysApplyPremium,
+        boolean defaultSkinsEnabled,
+        boolean defaultSkinsPremium,
+        List<String> defaultSkins,
+        boolean disallowAutoUpdateSkin,
+        int skinExpiresAfter,
+        boolean staleWhileRevalidateEnabled,
+        int staleWhileRevalidateMaxAge,
+        String notUnlockedSkin,
+        boolean customGUIEnabled,
+        int customGUIIndex,
+        boolean playersGUIEnabled,
+        int playersGUIIndex,
+        boolean recommendationsGUIEnabled,
+        int recommendationsGUIIndex,
+        boolean teleportRefresh
+) {
+    public static ConfigSnapshot from(SettingsManager settings) {
+        return new ConfigSnapshot(
+                settings.getProperty(MessageConfig.LOCALE),
+                settings.getProperty(MessageConfig.DISABLE_PREFIX),
+                settings.getProperty(MessageConfig.DATE_FORMAT),
+                settings.getProperty(LoginConfig.ALWAYS_APPLY_PREMIUM),
+                settings.getProperty(StorageConfig.DEFAULT_SKINS_ENABLED),
+                settings.getProperty(StorageConfig.DEFAULT_SKINS_PREMIUM),
+                List.copyOf(settings.getProperty(StorageConfig.DEFAULT_SKINS)),
+                settings.getProperty(StorageConfig.DISALLOW_AUTO_UPDATE_SKIN),
+                settings.getProperty(StorageConfig.SKIN_EXPIRES_AFTER),
+                settings.getProperty(StorageConfig.STALE_WHILE_REVALIDATE_ENABLED),
+                settings.getProperty(StorageConfig.STALE_WHILE_REVALIDATE_MAX_AGE),
+                settings.getProperty(GUIConfig.NOT_UNLOCKED_SKIN),
+                settings.getProperty(GUIConfig.CUSTOM_GUI_ENABLED),
+                settings.getProperty(GUIConfig.CUSTOM_GUI_INDEX),
+                settings.getProperty(GUIConfig.PLAYERS_GUI_ENABLED),
+                settings.getProperty(GUIConfig.PLAYERS_GUI_INDEX),
+                settings.getProperty(GUIConfig.RECOMMENDATIONS_GUI_ENABLED),
+                settings.getProperty(GUIConfig.RECOMMENDATIONS_GUI_INDEX),
+                settings.getProperty(AdvancedConfig.TELEPORT_REFRESH)
+        );
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * SkinsRestorer
+ * Copyright (C) 2024  SkinsRestorer Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.skinsrestorer.shared.config;
+
+import ch.jalu.configme.SettingsManager;
+import ch.jalu.injector.Injector;
+import lombok.RequiredArgsConstructor;
+
+import javax.inject.Inject;
+
+/**
+ * Holds the current {@link ConfigSnapshot}.
+ * A new snapshot is swapped in as a whole whenever the config is loaded, so readers only do a volatile read
+ * and never see a half reloaded config.
+ */
+@RequiredArgsConstructor(onConstructor_ = @Inject)
+public class ConfigSnapshotProvider {
+    private final Injector injector;
+    private volatile ConfigSnapshot snapshot;
+
+    public ConfigSnapshot get() {
+        ConfigSnapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+
+        // The config was not loaded through reload() yet
+        synchronized (this) {
+            if (snapshot == null) {
+                snapshot = ConfigSnapshot.from(injector.getSingleton(SettingsManager.class));
+            }
+
+            return snapshot;
+        }
+    }
+
+    public void reload() {
+        snapshot = ConfigSnapshot.from(injector.getSingleton(SettingsManager.class));
+    }
+}
@@ -22,6 +22,7 @@ import ch.jalu.configme.SettingsHolder;
 import ch.jalu.configme.properties.Property;
 
 import static ch.jalu.configme.properties.PropertyInitializer.newProperty;
+import static net.skinsrestorer.shared.config.ConfigHelpers.newCappedProperty;
 
 public class LoginConfig implements SettingsHolder {
     @Comment({
@@ -31,4 +32,10 @@ public class LoginConfig implements SettingsHolder {
     public static final Property<Boolean> NO_SKIN_IF_LOGIN_CANCELED = newProperty("login.noSkinIfLoginCanceled", true);
     @Comment("This will make SkinsRestorer always apply the skin even if the player joins as premium on an online mode server.")
     public static final Property<Boolean> ALWAYS_APPLY_PREMIUM = newProperty("login.alwaysApplyPremium", false);
+    @Comment({
+            "How long a login may wait for the skin to be looked up (in milliseconds).",
+            "[?] If the storage or the Mojang API is slower than this, the player joins first and gets the skin once it arrives.",
+            "[?] A value of 0 will always wait until the lookup is done."
+    })
+    public static final Property<Integer> SKIN_LOOKUP_DEADLINE = newCappedProperty("login.skinLookupDeadline", 5000, 0, Integer.MAX_VALUE);
 }
@@ -57,6 +57,18 @@ public class StorageConfig implements SettingsHolder {
             "[!] Lowering this value will increase the amount of requests which could be a problem on large servers."
     })
     public static final Property<Integer> SKIN_EXPIRES_AFTER = newCappedProperty("storage.skinExpiresAfter", 15, 0, Integer.MAX_VALUE);
+    @Comment({
+            "Serve expired player skins right away and refresh them from Mojang in the background.",
+            "[?] If the refreshed skin differs, it is pushed to online players that are wearing the old one.",
+            "[?] Keeps joins fast even when the Mojang API is slow or unavailable.",
+            "[?] Has no effect when skinExpiresAfter is 0."
+    })
+    public static final Property<Boolean> STALE_WHILE_REVALIDATE_ENABLED = newProperty("storage.staleWhileRevalidate.enabled", false);
+    @Comment({
+            "How long after skinExpiresAfter an expired skin may still be served (in minutes).",
+            "[?] Skins older than this are always requested again before answering."
+    })
+    public static final Property<Integer> STALE_WHILE_REVALIDATE_MAX_AGE = newCappedProperty("storage.staleWhileRevalidate.maxStaleAge", 60, 0, Integer.MAX_VALUE);
     @Comment({
             "How long we should cache the UUIDs of players (in minutes).",
             "[?] A value of 0 will always trigger a request to the Mojang API.",
@@ -131,7 +131,8 @@ public class DumpService {
         DumpInfo.PluginInfo pluginInfo = new DumpInfo.PluginInfo(
                 proxyMode,
                 storageType,
-                configMap
+                configMap,
+                adapter.getExecutorStats()
         );
 
         EnvironmentInfo environmentInfo = EnvironmentInfo.determineEnvironment(adapter);
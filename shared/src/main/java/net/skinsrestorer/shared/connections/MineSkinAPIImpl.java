@@ -19,7 +19,11 @@ package net.skinsrestorer.shared.connections;
 
 import ch.jalu.configme.SettingsManager;
 import com.google.gson.Gson;
+import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
 import net.skinsrestorer.api.PropertyUtils;
 import net.skinsrestorer.api.connections.MineSkinAPI;
 import net.skinsrestorer.api.connections.model.MineSkinResponse;
@@ -30,14 +34,22 @@ import net.skinsrestorer.api.property.SkinVariant;
 import net.skinsrestorer.shared.config.APIConfig;
 import net.skinsrestorer.shared.connections.http.HttpClient;
 import net.skinsrestorer.shared.connections.http.HttpResponse;
+import net.skinsrestorer.shared.connections.mineskin.MineSkinJobPriority;
 import net.skinsrestorer.shared.connections.mineskin.MineSkinVariant;
 import net.skinsrestorer.shared.connections.mineskin.MineSkinVisibility;
 import net.skinsrestorer.shared.connections.mineskin.requests.MineSkinUrlRequest;
 import net.skinsrestorer.shared.connections.mineskin.responses.MineSkinUrlResponse;
 import net.skinsrestorer.shared.exception.DataRequestExceptionShared;
 import net.skinsrestorer.shared.exception.MineSkinExceptionShared;
+import net.skinsrestorer.shared.exception.MineSkinQueueException;
 import net.skinsrestorer.shared.log.SRLogLevel;
 import net.skinsrestorer.shared.log.SRLogger;
+import net.skinsrestorer.shared.plugin.SRPlatformAdapter;
+import net.skinsrestorer.shared.storage.adapter.AdapterReference;
+import net.skinsrestorer.shared.storage.adapter.StorageAdapter;
+import net.skinsrestorer.shared.storage.model.skin.ImageHashIndexData;
+import net.skinsrestorer.shared.storage.model.skin.MineSkinJobData;
+import net.skinsrestorer.shared.subjects.SRCommandSender;
 import net.skinsrestorer.shared.subjects.messages.Message;
 import net.skinsrestorer.shared.utils.MetricsCounter;
 import net.skinsrestorer.shared.utils.SRHelpers;
@@ -46,64 +58,349 @@ import org.jetbrains.annotations.Nullable;
 import javax.inject.Inject;
 import java.io.IOException;
 import java.net.URI;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
-import java.util.concurrent.Semaphore;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicLong;
 
 @RequiredArgsConstructor(onConstructor_ = @Inject)
 public class MineSkinAPIImpl implements MineSkinAPI {
     private static final int MAX_RETRIES = 5;
+    private static final int MAX_CONCURRENT_JOBS = 5;
     private static final String MINESKIN_USER_AGENT = "SkinsRestorer/MineSkinAPI";
     private static final URI MINESKIN_ENDPOINT = URI.create("https://api.mineskin.org/v2/generate");
-    private final Semaphore semaphore = new Semaphore(5);
     private final Gson gson = new Gson();
     private final SRLogger logger;
     private final MetricsCounter metricsCounter;
     private final SettingsManager settings;
     private final HttpClient httpClient;
+    private final SRPlatformAdapter adapter;
+    private final AdapterReference adapterReference;
+    private final SkinImageHasher imageHasher;
     private final AtomicLong nextRequestAt = new AtomicLong();
+    private final Object queueLock = new Object();
+    private final Map<String, QueuedJob> jobs = new HashMap<>();
+    private final Map<MineSkinJobPriority, Deque<QueuedJob>> lanes = createLanes();
+    private int runningJobs;
+    private int concurrencyLimit = MAX_CONCURRENT_JOBS;
+    private boolean dispatchScheduled;
+    private boolean acceptingJobs = true;
+
+    private static Map<MineSkinJobPriority, Deque<QueuedJob>> createLanes() {
+        Map<MineSkinJobPriority, Deque<QueuedJob>> lanes = new EnumMap<>(MineSkinJobPriority.class);
+        for (MineSkinJobPriority priority : MineSkinJobPriority.values()) {
+            lanes.put(priority, new ArrayDeque<>());
+        }
+
+        return lanes;
+    }
 
     @Override
     public MineSkinResponse genSkin(String imageUrl, @Nullable SkinVariant skinVariant) throws DataRequestException, MineSkinException {
+        return genSkin(imageUrl, skinVariant, MineSkinJobPriority.PLAYER, null);
+    }
+
+    /**
+     * Queues the image for generation and waits for the result, at most {@link APIConfig#MINESKIN_JOB_TIMEOUT} seconds.
+     * Images that were generated before, even behind another URL, are answered from storage.
+     * Jobs for the same image and variant are merged, so every caller receives the same response.
+     *
+     * @param sender Receives progress updates of the job, may be null.
+     */
+    public MineSkinResponse genSkin(String imageUrl, @Nullable SkinVariant skinVariant,
+                                    MineSkinJobPriority priority, @Nullable SRCommandSender sender) throws DataRequestException, MineSkinException {
         imageUrl = SRHelpers.sanitizeImageURL(imageUrl);
 
-        try {
-            int retryAttempts = 0;
-            do {
-                semaphore.acquire();
-                try {
-                    long waitDuration = nextRequestAt.get() - System.currentTimeMillis();
-                    if (waitDuration > 0) {
-                        logger.debug("[INFO] Waiting %dms before next MineSkin request...".formatted(waitDuration));
-                        Thread.sleep(waitDuration);
-                    }
+        Optional<String> imageHash = imageHasher.hashImage(imageUrl);
+        if (imageHash.isPresent()) {
+            Optional<MineSkinResponse> known = getResponseByImageHash(imageHash.get(), skinVariant);
+            if (known.isPresent()) {
+                logger.debug("Image of %s was already generated, skipping MineSkin", imageUrl);
+                return known.get();
+            }
+        }
 
-                    Optional<MineSkinResponse> optional = genSkinInternal(imageUrl, skinVariant);
+        MineSkinResponse response = awaitJob(submitJob(imageUrl, skinVariant, priority, sender, true));
 
-                    if (optional.isPresent()) {
-                        return optional.get();
-                    }
-                } catch (IOException e) {
-                    logger.debug(SRLogLevel.WARNING, "[ERROR] MineSkin Failed! IOException (connection/disk): (%s)".formatted(imageUrl), e);
-                    throw new DataRequestExceptionShared(e);
-                } finally {
-                    semaphore.release();
-                }
-            } while (++retryAttempts < MAX_RETRIES);
+        if (imageHash.isPresent() && adapterReference.isConnected()) {
+            adapterReference.get().setImageHashIndex(ImageHashIndexData.of(imageHash.get(), skinVariant,
+                    response.getMineSkinId(), response.getProperty(), response.getGeneratedVariant()));
+        }
+
+        return response;
+    }
+
+    private Optional<MineSkinResponse> getResponseByImageHash(String imageHash, @Nullable SkinVariant skinVariant) {
+        if (!adapterReference.isConnected()) {
+            return Optional.empty();
+        }
+
+        try {
+            return adapterReference.get().getImageHashIndex(imageHash, skinVariant).map(data ->
+                    MineSkinResponse.of(data.getProperty(), data.getMineSkinId(), skinVariant, data.getGeneratedVariant()));
+        } catch (StorageAdapter.StorageException e) {
+            logger.warning("Failed to get image hash index for %s".formatted(imageHash), e);
+            return Optional.empty();
+        }
+    }
+
+    private MineSkinResponse awaitJob(CompletableFuture<MineSkinResponse> future) throws DataRequestException, MineSkinException {
+        try {
+            return future.get(settings.getProperty(APIConfig.MINESKIN_JOB_TIMEOUT), TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            // The job stays queued, a later request for the same image merges into it
+            throw new MineSkinQueueException(Message.ERROR_MS_JOB_TIMED_OUT);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new DataRequestExceptionShared(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof DataRequestException dataRequestException) {
+                throw dataRequestException;
+            } else if (cause instanceof MineSkinException mineSkinException) {
+                throw mineSkinException;
+            }
+
+            throw new DataRequestExceptionShared(cause);
+        }
+    }
+
+    /**
+     * Queues a job that was persisted before the last shutdown.
+     * Resumed jobs do not count towards the queue size, since they were accepted before.
+     */
+    public CompletableFuture<MineSkinResponse> resumeJob(MineSkinJobData jobData) {
+        try {
+            return submitJob(jobData.getUrl(), jobData.getSkinVariant(), jobData.getPriority(), null, false);
+        } catch (MineSkinException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Cancels all jobs that have not started yet. They stay persisted and resume on the next start.
+     */
+    public void cancelPendingJobs() {
+        List<QueuedJob> cancelled = new ArrayList<>();
+        synchronized (queueLock) {
+            acceptingJobs = false;
+            for (Deque<QueuedJob> lane : lanes.values()) {
+                cancelled.addAll(lane);
+                lane.clear();
+            }
+
+            cancelled.forEach(job -> jobs.remove(job.getJobId()));
         }
 
-        throw new MineSkinExceptionShared(Message.ERROR_MS_API_FAILED);
+        for (QueuedJob job : cancelled) {
+            job.getFuture().completeExceptionally(new MineSkinQueueException(Message.ERROR_MS_JOB_CANCELLED));
+        }
+    }
+
+    private CompletableFuture<MineSkinResponse> submitJob(String imageUrl, @Nullable SkinVariant skinVariant, MineSkinJobPriority priority,
+                                                          @Nullable SRCommandSender sender, boolean bounded) throws MineSkinException {
+        String jobId = MineSkinJobData.createJobId(imageUrl, skinVariant);
+        QueuedJob job;
+        boolean created;
+        boolean upgraded = false;
+        int position;
+        synchronized (queueLock) {
+            if (!acceptingJobs) {
+                throw new MineSkinQueueException(Message.ERROR_MS_JOB_CANCELLED);
+            }
+
+            job = jobs.get(jobId);
+            created = job == null;
+            if (created) {
+                if (bounded && getWaitingJobs() >= settings.getProperty(APIConfig.MINESKIN_QUEUE_SIZE)) {
+                    throw new MineSkinQueueException(Message.ERROR_MS_QUEUE_FULL);
+                }
+
+                job = new QueuedJob(MineSkinJobData.of(jobId, imageUrl, skinVariant, priority, SRHelpers.getEpochSecond()));
+                jobs.put(jobId, job);
+                lanes.get(priority).addLast(job);
+            } else if (priority.compareTo(job.getData().getPriority()) < 0 && lanes.get(job.getData().getPriority()).remove(job)) {
+                // An admin asked for the same image a player is waiting for, so move it up
+                job.setData(MineSkinJobData.of(jobId, imageUrl, skinVariant, priority, job.getData().getTimestamp()));
+                lanes.get(priority).addLast(job);
+                upgraded = true;
+            }
+
+            if (sender != null) {
+                job.getSenders().add(sender);
+            }
+
+            position = getQueuePosition(job);
+            scheduleDispatch(0);
+        }
+
+        if (created || upgraded) {
+            // Written outside the queue lock, so other submitters and workers do not wait on storage
+            persistJob(job);
+        }
+
+        if (created) {
+            logger.debug("Queued MineSkin job %s (%s) for %s", jobId, priority, imageUrl);
+        }
+
+        if (sender != null && position > 0) {
+            sender.sendMessage(Message.MS_SKIN_QUEUED, Placeholder.unparsed("position", String.valueOf(position)));
+        }
+
+        return job.getFuture();
+    }
+
+    private void scheduleDispatch(long delayMillis) {
+        if (dispatchScheduled) {
+            return;
+        }
+
+        dispatchScheduled = true;
+        if (delayMillis > 0) {
+            adapter.runAsyncDelayed(this::dispatchJobs, delayMillis, TimeUnit.MILLISECONDS);
+        } else {
+            adapter.runAsync(this::dispatchJobs);
+        }
+    }
+
+    private void dispatchJobs() {
+        List<QueuedJob> toStart = new ArrayList<>();
+        synchronized (queueLock) {
+            dispatchScheduled = false;
+
+            long waitDuration = nextRequestAt.get() - System.currentTimeMillis();
+            if (waitDuration > 0) {
+                logger.debug("[INFO] Waiting %dms before next MineSkin request...", waitDuration);
+                scheduleDispatch(waitDuration);
+                return;
+            }
+
+            while (runningJobs < concurrencyLimit) {
+                QueuedJob job = pollNextJob();
+                if (job == null) {
+                    break;
+                }
+
+                runningJobs++;
+                toStart.add(job);
+            }
+        }
+
+        for (QueuedJob job : toStart) {
+            adapter.runAsync(() -> runJob(job));
+        }
+    }
+
+    private void runJob(QueuedJob job) {
+        MineSkinJobData data = job.getData();
+        try {
+            Optional<MineSkinResponse> optional = genSkinInternal(data.getUrl(), data.getSkinVariant());
+
+            if (optional.isPresent()) {
+                finishJob(job);
+                job.getFuture().complete(optional.get());
+            } else if (!retryJob(job)) {
+                finishJob(job);
+                job.getFuture().completeExceptionally(job.isKeepPersisted()
+                        ? new MineSkinQueueException(Message.ERROR_MS_JOB_CANCELLED)
+                        : new MineSkinExceptionShared(Message.ERROR_MS_API_FAILED));
+            }
+        } catch (IOException e) {
+            logger.debug(SRLogLevel.WARNING, () -> "[ERROR] MineSkin Failed! IOException (connection/disk): (%s)".formatted(data.getUrl()), e);
+            finishJob(job);
+            job.getFuture().completeExceptionally(new DataRequestExceptionShared(e));
+        } catch (DataRequestException | MineSkinException | RuntimeException e) {
+            finishJob(job);
+            job.getFuture().completeExceptionally(e);
+        } finally {
+            synchronized (queueLock) {
+                runningJobs--;
+                scheduleDispatch(0);
+            }
+        }
+    }
+
+    private boolean retryJob(QueuedJob job) {
+        synchronized (queueLock) {
+            if (!acceptingJobs) {
+                // Shutting down, so leave the job in storage to resume it on the next start
+                job.setKeepPersisted(true);
+                return false;
+            }
+
+            if (job.incrementAttempts() >= MAX_RETRIES) {
+                return false;
+            }
+
+            // Keep the place at the front of the lane
+            lanes.get(job.getData().getPriority()).addFirst(job);
+        }
+
+        long seconds = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(nextRequestAt.get() - System.currentTimeMillis()));
+        for (SRCommandSender sender : job.getSenders()) {
+            sender.sendMessage(Message.MS_SKIN_RATE_LIMITED, Placeholder.unparsed("seconds", String.valueOf(seconds)));
+        }
+
+        return true;
+    }
+
+    private void finishJob(QueuedJob job) {
+        synchronized (queueLock) {
+            jobs.remove(job.getJobId());
+        }
+
+        // The job lock orders this against a pending write, so a finished job is never written back to storage
+        synchronized (job) {
+            job.setFinished(true);
+            if (!job.isKeepPersisted() && adapterReference.isConnected()) {
+                adapterReference.get().removeMineSkinJob(job.getJobId());
+            }
+        }
+    }
+
+    private void persistJob(QueuedJob job) {
+        synchronized (job) {
+            if (!job.isFinished() && adapterReference.isConnected()) {
+                adapterReference.get().setMineSkinJob(job.getData());
+            }
+        }
+    }
+
+    private @Nullable QueuedJob pollNextJob() {
+        for (Deque<QueuedJob> lane : lanes.values()) {
+            QueuedJob job = lane.pollFirst();
+            if (job != null) {
+                return job;
+            }
+        }
+
+        return null;
+    }
+
+    private int getWaitingJobs() {
+        return lanes.values().stream().mapToInt(Deque::size).sum();
+    }
+
+    private int getQueuePosition(QueuedJob job) {
+        int position = 0;
+        for (Deque<QueuedJob> lane : lanes.values()) {
+            for (QueuedJob queued : lane) {
+                position++;
+                if (queued == job) {
+                    return runningJobs < concurrencyLimit && position == 1 ? 0 : position;
+                }
+            }
+        }
+
+        return 0; // Already running
     }
 
     private Optional<MineSkinResponse> genSkinInternal(String imageUrl, @Nullable SkinVariant skinVariant) throws DataRequestException, MineSkinException, IOException {
         HttpResponse httpResponse = queryURL(imageUrl, skinVariant);
-        logger.debug("MineSkinAPI: Response: %s".formatted(httpResponse));
+        logger.debug("MineSkinAPI: Response: %s", httpResponse);
 
         MineSkinUrlResponse response = httpResponse.getBodyAs(MineSkinUrlResponse.class);
 
@@ -111,6 +408,13 @@ public class MineSkinAPIImpl implements MineSkinAPI {
         if (rateLimit != null) {
             long serverNextRequestAt = System.currentTimeMillis() + rateLimit.getNext().getRelative();
             nextRequestAt.updateAndGet(currentValue -> Math.max(currentValue, serverNextRequestAt));
+
+            MineSkinUrlResponse.RateLimit.Limit limit = rateLimit.getLimit();
+            if (limit != null) {
+                synchronized (queueLock) {
+                    concurrencyLimit = Math.max(1, Math.min(MAX_CONCURRENT_JOBS, limit.getRemaining()));
+                }
+            }
         }
 
         if (response.isSuccess()) {
@@ -121,7 +425,7 @@ public class MineSkinAPIImpl implements MineSkinAPI {
                     skinVariant, PropertyUtils.getSkinVariant(property)));
         } else {
             for (MineSkinUrlResponse.Error error : response.getErrors()) {
-                logger.debug("[ERROR] MineSkin Failed! Reason: %s Image URL: %s".formatted(error, imageUrl));
+                logger.debug("[ERROR] MineSkin Failed! Reason: %s Image URL: %s", error, imageUrl);
                 return switch (error.getCode()) {
                     case "rate_limit" -> // try again
                             Optional.empty();
@@ -153,7 +457,7 @@ public class MineSkinAPIImpl implements MineSkinAPI {
                 };
             }
 
-            logger.debug("[ERROR] MineSkin Failed! Unknown error: (Image URL: %s) %d".formatted(imageUrl, httpResponse.statusCode()));
+            logger.debug("[ERROR] MineSkin Failed! Unknown error: (Image URL: %s) %d", imageUrl, httpResponse.statusCode());
             throw new MineSkinExceptionShared(Message.ERROR_MS_API_FAILED);
         }
     }
@@ -202,4 +506,30 @@ public class MineSkinAPIImpl implements MineSkinAPI {
 
         return Optional.of(apiKey);
     }
+
+    @Getter
+    private static class QueuedJob {
+        private final CompletableFuture<MineSkinResponse> future = new CompletableFuture<>();
+        private final List<SRCommandSender> senders = new CopyOnWriteArrayList<>();
+        @Setter
+        private volatile MineSkinJobData data;
+        @Getter(AccessLevel.NONE)
+        private int attempts;
+        @Setter
+        private boolean keepPersisted;
+        @Setter
+        private boolean finished;
+
+        QueuedJob(MineSkinJobData data) {
+            this.data = data;
+        }
+
+        String getJobId() {
+            return data.getJobId();
+        }
+
+        int incrementAttempts() {
+            return ++attempts;
+        }
+    }
 }
@@ -31,6 +31,7 @@ import net.skinsrestorer.shared.connections.responses.uuid.EclipseUUIDResponse;
 import net.skinsrestorer.shared.exception.DataRequestExceptionShared;
 import net.skinsrestorer.shared.log.SRLogger;
 import net.skinsrestorer.shared.plugin.SRPlugin;
+import net.skinsrestorer.shared.plugin.SRScheduler;
 import net.skinsrestorer.shared.utils.MetricsCounter;
 import net.skinsrestorer.shared.utils.UUIDUtils;
 import net.skinsrestorer.shared.utils.ValidationUtil;
@@ -59,7 +60,7 @@ public class MojangAPIImpl implements MojangAPI {
     private final MojangBatchAPI legacyBatchAPI;
 
     @Inject
-    public MojangAPIImpl(MetricsCounter metricsCounter, SRLogger logger, SRPlugin plugin, HttpClient httpClient, SettingsManager settings) {
+    public MojangAPIImpl(MetricsCounter metricsCounter, SRLogger logger, SRPlugin plugin, SRScheduler scheduler, HttpClient httpClient, SettingsManager settings) {
         this.metricsCounter = metricsCounter;
         this.logger = logger;
         this.plugin = plugin;
@@ -70,6 +71,7 @@ public class MojangAPIImpl implements MojangAPI {
                 metricsCounter,
                 logger,
                 plugin.getAdapter(),
+                scheduler,
                 httpClient,
                 settings,
                 BATCH_UUID_NEW_ENDPOINT,
@@ -80,6 +82,7 @@ public class MojangAPIImpl implements MojangAPI {
                 metricsCounter,
                 logger,
                 plugin.getAdapter(),
+                scheduler,
                 httpClient,
                 settings,
                 BATCH_UUID_LEGACY_ENDPOINT,
@@ -231,7 +234,7 @@ public class MojangAPIImpl implements MojangAPI {
                     5000
             );
         } catch (IOException e) {
-            logger.debug("Error while reading URL: %s".formatted(uri), e);
+            logger.debug(() -> "Error while reading URL: %s".formatted(uri), e);
             throw new DataRequestExceptionShared(e);
         }
     }
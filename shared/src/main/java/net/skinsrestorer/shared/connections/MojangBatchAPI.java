@@ -28,7 +28,9 @@ import net.skinsrestorer.shared.connections.responses.uuid.MojangBatchUUIDEntry;
 import net.skinsrestorer.shared.exception.DataRequestExceptionShared;
 import net.skinsrestorer.shared.log.SRLogger;
 import net.skinsrestorer.shared.plugin.SRPlatformAdapter;
+import net.skinsrestorer.shared.plugin.SRScheduler;
 import net.skinsrestorer.shared.utils.MetricsCounter;
+import net.skinsrestorer.shared.utils.TimingWheel;
 import net.skinsrestorer.shared.utils.UUIDUtils;
 import net.skinsrestorer.shared.utils.ValidationUtil;
 
@@ -48,6 +50,7 @@ public class MojangBatchAPI {
     private final MetricsCounter metricsCounter;
     private final SRLogger logger;
     private final SRPlatformAdapter adapter;
+    private final SRScheduler scheduler;
     private final HttpClient httpClient;
     private final SettingsManager settings;
     private final String batchEndpoint;
@@ -56,11 +59,15 @@ public class MojangBatchAPI {
     private final List<String> batchQueue = Collections.synchronizedList(new ArrayList<>());
     private final AtomicLong lastBatchTime = new AtomicLong(System.currentTimeMillis());
     private final AtomicBoolean batchInProgress = new AtomicBoolean(false);
+    // Guarded by batchQueue, one timer covers all requests of a batch window
+    private TimingWheel.Timeout scheduledBatch;
+    private long scheduledBatchDeadline;
 
-    public MojangBatchAPI(MetricsCounter metricsCounter, SRLogger logger, SRPlatformAdapter adapter, HttpClient httpClient, SettingsManager settings, String batchEndpoint, String userAgent) {
+    public MojangBatchAPI(MetricsCounter metricsCounter, SRLogger logger, SRPlatformAdapter adapter, SRScheduler scheduler, HttpClient httpClient, SettingsManager settings, String batchEndpoint, String userAgent) {
         this.metricsCounter = metricsCounter;
         this.logger = logger;
         this.adapter = adapter;
+        this.scheduler = scheduler;
         this.httpClient = httpClient;
         this.settings = settings;
         this.batchEndpoint = batchEndpoint;
@@ -99,12 +106,29 @@ public class MojangBatchAPI {
     }
 
     private void scheduleBatch(long delayMillis) {
-        adapter.runAsyncDelayed(this::processBatch, delayMillis, TimeUnit.MILLISECONDS);
+        if (delayMillis == 0) {
+            adapter.runAsync(this::processBatch);
+            return;
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+        synchronized (batchQueue) {
+            if (scheduledBatch != null && scheduledBatch.isPending()) {
+                if (scheduledBatchDeadline - deadline <= 0) {
+                    return; // The pending batch runs early enough for this request
+                }
+
+                scheduledBatch.cancel();
+            }
+
+            scheduledBatch = scheduler.schedule(this::processBatch, delayMillis, TimeUnit.MILLISECONDS);
+            scheduledBatchDeadline = deadline;
+        }
     }
 
     private void processBatch() {
         if (!batchInProgress.compareAndSet(false, true)) {
-            return; // Another batch is in progress
+            return; // Another batch is in progress, it reschedules once it is done
         }
 
         List<String> namesToProcess;
@@ -113,8 +137,10 @@ public class MojangBatchAPI {
                 batchInProgress.set(false);
                 return;
             }
-            namesToProcess = new ArrayList<>(batchQueue);
-            batchQueue.clear();
+            // Only take what fits into one request, the rest stays queued for the next batch
+            List<String> batch = batchQueue.subList(0, Math.min(batchQueue.size(), DEFAULT_BATCH_SIZE));
+            namesToProcess = new ArrayList<>(batch);
+            batch.clear();
         }
 
         lastBatchTime.set(System.currentTimeMillis());
@@ -140,6 +166,14 @@ public class MojangBatchAPI {
             }
         } finally {
             batchInProgress.set(false);
+
+            synchronized (batchQueue) {
+                if (batchQueue.size() >= DEFAULT_BATCH_SIZE) {
+                    scheduleBatch(0);
+                } else if (!batchQueue.isEmpty()) {
+                    scheduleBatch(TimeUnit.SECONDS.toMillis(settings.getProperty(APIConfig.MOJANG_BATCH_WINDOW_SECONDS)));
+                }
+            }
         }
     }
 
@@ -176,7 +210,7 @@ public class MojangBatchAPI {
             } else if (httpResponse.statusCode() == 429) {
                 throw new DataRequestExceptionShared("Please wait a minute before requesting that skin again. (Rate Limited)");
             } else {
-                logger.debug("Batch request failed with status: " + httpResponse.statusCode());
+                logger.debug("Batch request failed with status: %d", httpResponse.statusCode());
                 return Collections.nCopies(batchNames.size(), Optional.empty());
             }
         } catch (IOException e) {
@@ -199,7 +233,7 @@ public class MojangBatchAPI {
                         UUID uuid = UUIDUtils.convertToDashed(entry.getId());
                         nameToUuid.put(entry.getName().toLowerCase(Locale.ROOT), uuid);
                     } catch (Exception e) {
-                        logger.debug("Invalid UUID format: " + entry.getId(), e);
+                        logger.debug(() -> "Invalid UUID format: " + entry.getId(), e);
                     }
                 }
             }
@@ -24,11 +24,13 @@ import net.skinsrestorer.shared.connections.http.HttpResponse;
 import net.skinsrestorer.shared.connections.responses.RecommenationResponse;
 import net.skinsrestorer.shared.log.SRLogger;
 import net.skinsrestorer.shared.plugin.SRPlugin;
+import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Inject;
 import java.io.IOException;
 import java.net.URI;
-import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 @RequiredArgsConstructor(onConstructor_ = @Inject)
@@ -39,17 +41,39 @@ public class RecommendationsService {
     private final SRPlugin plugin;
     private final HttpClient httpClient;
 
-    public Optional<RecommenationResponse> getRecommendations() throws IOException, DataRequestException {
+    /**
+     * Fetches the recommendations list, conditionally if validators of a previous fetch are known.
+     *
+     * @param validators Validators of the list we already have, or null to always download it
+     * @return Empty if the list was not modified or could not be fetched
+     */
+    public Optional<FetchResult> getRecommendations(@Nullable CacheValidators validators) throws IOException, DataRequestException {
+        Map<String, String> headers = new HashMap<>();
+        if (validators != null) {
+            if (validators.etag() != null) {
+                headers.put("If-None-Match", validators.etag());
+            }
+
+            if (validators.lastModified() != null) {
+                headers.put("If-Modified-Since", validators.lastModified());
+            }
+        }
+
         HttpResponse response = httpClient.execute(
                 RECOMMENDATIONS_API,
                 null,
                 HttpClient.HttpType.JSON,
                 plugin.getUserAgent(),
                 HttpClient.HttpMethod.GET,
-                Collections.emptyMap(),
+                headers,
                 20_000
         );
 
+        if (response.statusCode() == 304) {
+            logger.debug("Recommended skins have not changed since the last fetch.");
+            return Optional.empty();
+        }
+
         if (response.statusCode() != 200) {
             logger.warning("Failed to get recommended skins. Response code: %d".formatted(response.statusCode()));
             return Optional.empty();
@@ -57,6 +81,15 @@ public class RecommendationsService {
 
         RecommenationResponse responseObject = response.getBodyAs(RecommenationResponse.class);
 
-        return Optional.of(responseObject);
+        return Optional.of(new FetchResult(responseObject, new CacheValidators(
+                response.getHeader("ETag").orElse(null),
+                response.getHeader("Last-Modified").orElse(null)
+        )));
+    }
+
+    public record FetchResult(RecommenationResponse response, CacheValidators validators) {
+    }
+
+    public record CacheValidators(@Nullable String etag, @Nullable String lastModified) {
     }
 }
@@ -31,15 +31,16 @@ import net.skinsrestorer.shared.plugin.SRPlugin;
 import net.skinsrestorer.shared.utils.SRHelpers;
 
 import javax.inject.Inject;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @RequiredArgsConstructor(onConstructor_ = @Inject)
 public class RecommendationsState {
@@ -49,8 +50,14 @@ public class RecommendationsState {
     private final RecommendationsService recommendationsService;
     private final SettingsManager settingsManager;
     private final Gson gson = new GsonBuilder().create();
-    private Map<String, RecommenationResponse.SkinInfo> recommendationsMap = Map.of();
-    private List<RecommenationResponse.SkinInfo> recommendationsList = List.of();
+    private final Object loadLock = new Object();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile FilteredView filteredView;
+    /**
+     * Contents of recommendations.json read at startup, only parsed once recommendations are first needed.
+     */
+    private volatile byte[] pendingFile;
+    private volatile RecommendationsService.CacheValidators validators;
 
     public void scheduleRecommendations() {
         if (!settingsManager.getProperty(APIConfig.FETCH_RECOMMENDED_SKINS)) {
@@ -59,29 +66,39 @@ public class RecommendationsState {
         }
 
         Path path = plugin.getDataFolder().resolve("recommendations.json");
+        Path validatorsPath = plugin.getDataFolder().resolve("recommendations.validators.json");
 
         boolean fileExists = Files.exists(path);
         if (fileExists) {
-            try (Reader reader = Files.newBufferedReader(path)) {
-                RecommenationResponse recommenationResponse = gson.fromJson(reader, RecommenationResponse.class);
-                if (recommenationResponse == null || recommenationResponse.getSkins() == null) {
-                    throw new IOException("Invalid data");
-                }
-
-                setDataFromResponse(recommenationResponse.getSkins());
+            try {
+                pendingFile = Files.readAllBytes(path);
             } catch (IOException e) {
                 logger.warning("Failed to load recommendations from file: %s".formatted(e.getMessage()));
             }
+
+            if (Files.exists(validatorsPath)) {
+                try (Reader reader = Files.newBufferedReader(validatorsPath)) {
+                    validators = gson.fromJson(reader, RecommendationsService.CacheValidators.class);
+                } catch (IOException | RuntimeException e) {
+                    logger.debug("Failed to load recommendations cache validators", e);
+                }
+            }
         }
 
         var offsetSeconds = fileExists ? ThreadLocalRandom.current().nextInt(0, 300) : 0;
         adapter.runRepeatAsync(() -> {
             try {
-                recommendationsService.getRecommendations().ifPresent(recommenationResponse -> {
+                // Only send validators if the list they belong to was parsed successfully,
+                // otherwise a 304 would leave us without any recommendations
+                boolean haveData = getSnapshot().all().length > 0;
+                recommendationsService.getRecommendations(haveData ? validators : null).ifPresent(result -> {
+                    RecommenationResponse recommenationResponse = result.response();
                     setDataFromResponse(recommenationResponse.getSkins());
 
                     try {
                         SRHelpers.writeIfNeeded(path, gson.toJson(recommenationResponse));
+                        SRHelpers.writeIfNeeded(validatorsPath, gson.toJson(result.validators()));
+                        validators = result.validators();
                     } catch (IOException e) {
                         logger.warning("Failed to save recommendations to file: %s".formatted(e.getMessage()));
                     }
@@ -93,38 +110,110 @@ public class RecommendationsState {
     }
 
     private void setDataFromResponse(RecommenationResponse.SkinInfo[] recommendations) {
-        recommendationsMap = Stream.of(recommendations).collect(Collectors.toMap(RecommenationResponse.SkinInfo::getSkinId, skinInfo -> skinInfo));
-        recommendationsList = Arrays.asList(recommendations);
-        Collections.shuffle(recommendationsList);
+        synchronized (loadLock) {
+            pendingFile = null; // Fresh data always wins over the file
+            snapshot = Snapshot.of(recommendations);
+        }
+    }
+
+    private Snapshot getSnapshot() {
+        if (pendingFile != null) {
+            synchronized (loadLock) {
+                byte[] file = pendingFile;
+                if (file != null) {
+                    pendingFile = null;
+                    loadFromFile(file);
+                }
+            }
+        }
+
+        return snapshot;
+    }
+
+    private void loadFromFile(byte[] file) {
+        try (Reader reader = new InputStreamReader(new ByteArrayInputStream(file), StandardCharsets.UTF_8)) {
+            RecommenationResponse recommenationResponse = gson.fromJson(reader, RecommenationResponse.class);
+            if (recommenationResponse == null || recommenationResponse.getSkins() == null) {
+                throw new IOException("Invalid data");
+            }
+
+            snapshot = Snapshot.of(recommenationResponse.getSkins());
+        } catch (IOException | RuntimeException e) {
+            logger.warning("Failed to load recommendations from file: %s".formatted(e.getMessage()));
+        }
+    }
+
+    private RecommenationResponse.SkinInfo[] getFilteredRecommendations() {
+        Snapshot current = getSnapshot();
+        boolean onlyList = settingsManager.getProperty(GUIConfig.RECOMMENDATIONS_GUI_ONLY_LIST);
+        List<String> guiList = onlyList ? settingsManager.getProperty(GUIConfig.RECOMMENDATIONS_GUI_LIST) : List.of();
+
+        FilteredView view = filteredView;
+        if (view == null || view.source() != current || view.onlyList() != onlyList || !view.guiList().equals(guiList)) {
+            view = FilteredView.of(current, onlyList, guiList);
+            filteredView = view;
+        }
+
+        return view.skins();
     }
 
     public int getRecommendationsCount() {
-        return getRecommendationsOffset(0, Integer.MAX_VALUE).length;
+        return getFilteredRecommendations().length;
     }
 
     public RecommenationResponse.SkinInfo[] getRecommendationsOffset(int offset, int limit) {
-        return recommendationsList.stream()
-                .filter(skinInfo -> {
-                    if (!settingsManager.getProperty(GUIConfig.RECOMMENDATIONS_GUI_ONLY_LIST)) {
-                        return true;
-                    }
-
-                    return settingsManager.getProperty(GUIConfig.RECOMMENDATIONS_GUI_LIST).contains(skinInfo.getSkinId());
-                })
-                .skip(offset)
-                .limit(limit)
-                .toArray(RecommenationResponse.SkinInfo[]::new);
+        RecommenationResponse.SkinInfo[] skins = getFilteredRecommendations();
+        int from = Math.min(offset, skins.length);
+        int to = (int) Math.min((long) from + limit, skins.length);
+        return Arrays.copyOfRange(skins, from, to);
     }
 
     public Optional<RecommenationResponse.SkinInfo> getRandomRecommendation() {
-        if (recommendationsList.isEmpty()) {
+        RecommenationResponse.SkinInfo[] skins = getSnapshot().all();
+        if (skins.length == 0) {
             return Optional.empty();
         }
 
-        return Optional.of(SRHelpers.getRandomEntry(recommendationsList));
+        return Optional.of(skins[ThreadLocalRandom.current().nextInt(skins.length)]);
     }
 
     public RecommenationResponse.SkinInfo getRecommendation(String skinId) {
-        return recommendationsMap.get(skinId);
+        return getSnapshot().byId().get(skinId);
+    }
+
+    /**
+     * Immutable state of one recommendations list, in the shuffled order shown in the GUI.
+     */
+    private record Snapshot(RecommenationResponse.SkinInfo[] all, Map<String, RecommenationResponse.SkinInfo> byId) {
+        private static final Snapshot EMPTY = new Snapshot(new RecommenationResponse.SkinInfo[0], Map.of());
+
+        private static Snapshot of(RecommenationResponse.SkinInfo[] recommendations) {
+            List<RecommenationResponse.SkinInfo> shuffled = new ArrayList<>(Arrays.asList(recommendations));
+            Collections.shuffle(shuffled);
+
+            Map<String, RecommenationResponse.SkinInfo> byId = new HashMap<>();
+            for (RecommenationResponse.SkinInfo skinInfo : shuffled) {
+                byId.put(skinInfo.getSkinId(), skinInfo);
+            }
+
+            return new Snapshot(shuffled.toArray(RecommenationResponse.SkinInfo[]::new), Map.copyOf(byId));
+        }
+    }
+
+    /**
+     * Snapshot filtered by the GUI settings, rebuilt only when the snapshot or those settings change.
+     */
+    private record FilteredView(Snapshot source, boolean onlyList, List<String> guiList,
+                                RecommenationResponse.SkinInfo[] skins) {
+        private static FilteredView of(Snapshot source, boolean onlyList, List<String> guiList) {
+            if (!onlyList) {
+                return new FilteredView(source, false, guiList, source.all());
+            }
+
+            Set<String> allowed = new HashSet<>(guiList);
+            return new FilteredView(source, true, List.copyOf(guiList), Arrays.stream(source.all())
+                    .filter(skinInfo -> allowed.contains(skinInfo.getSkinId()))
+                    .toArray(RecommenationResponse.SkinInfo[]::new));
+        }
     }
 }
@@ -0,0 +1,113 @@
+/*
+ * SkinsRestorer
+ * Copyright (C) 2024  SkinsRestorer Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.skinsrestorer.shared.connections;
+
+import ch.jalu.configme.SettingsManager;
+import lombok.RequiredArgsConstructor;
+import net.skinsrestorer.shared.config.APIConfig;
+import net.skinsrestorer.shared.connections.http.HttpClient;
+import net.skinsrestorer.shared.log.SRLogger;
+import net.skinsrestorer.shared.utils.SRHelpers;
+
+import javax.imageio.ImageIO;
+import javax.inject.Inject;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Hashes the pixels of skin images, so the same image behind different URLs is only generated once.
+ */
+@RequiredArgsConstructor(onConstructor_ = @Inject)
+public class SkinImageHasher {
+    private static final String USER_AGENT = "SkinsRestorer/SkinImageHasher";
+    private static final String PNG_DATA_URL_PREFIX = "data:image/png;base64,";
+    private static final int MAX_IMAGE_BYTES = 1024 * 1024;
+    private static final int DOWNLOAD_TIMEOUT = 10_000;
+    private static final int SKIN_WIDTH = 64;
+    private final SRLogger logger;
+    private final HttpClient httpClient;
+    private final SettingsManager settings;
+
+    /**
+     * Downloads the image and hashes its canonical pixel data.
+     * Only images from {@link APIConfig#MINESKIN_HASH_HOSTS} are downloaded, players should not be able to make
+     * the server request arbitrary URLs.
+     * Returns empty if the image can't be read locally, callers should then fall back to MineSkin.
+     */
+    public Optional<String> hashImage(String imageUrl) {
+        try {
+            byte[] imageData;
+            if (imageUrl.startsWith(PNG_DATA_URL_PREFIX)) {
+                imageData = Base64.getDecoder().decode(imageUrl.substring(PNG_DATA_URL_PREFIX.length()));
+            } else if (isHashableHost(imageUrl)) {
+                imageData = httpClient.download(URI.create(imageUrl), USER_AGENT, DOWNLOAD_TIMEOUT, MAX_IMAGE_BYTES);
+            } else {
+                return Optional.empty();
+            }
+
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(imageData));
+            if (image == null) {
+                logger.debug("Could not read image for hashing: %s", imageUrl);
+                return Optional.empty();
+            }
+
+            return hashImage(image);
+        } catch (IOException | IllegalArgumentException e) {
+            logger.debug(() -> "Could not hash image: %s".formatted(imageUrl), e);
+            return Optional.empty();
+        }
+    }
+
+    private boolean isHashableHost(String imageUrl) {
+        String host = URI.create(imageUrl).getHost();
+        if (host == null) {
+            return false;
+        }
+
+        String normalizedHost = host.toLowerCase(Locale.ROOT);
+        return settings.getProperty(APIConfig.MINESKIN_HASH_HOSTS).stream()
+                .anyMatch(allowed -> allowed.toLowerCase(Locale.ROOT).equals(normalizedHost));
+    }
+
+    /**
+     * Hashes the ARGB pixels of a skin. Fully transparent pixels are hashed as zero,
+     * because encoders keep arbitrary colors behind them that don't change the skin.
+     */
+    public static Optional<String> hashImage(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        if (width != SKIN_WIDTH || (height != SKIN_WIDTH && height != SKIN_WIDTH / 2)) {
+            return Optional.empty();
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(8 + width * height * 4);
+        buffer.putInt(width);
+        buffer.putInt(height);
+        for (int argb : image.getRGB(0, 0, width, height, null, 0, width)) {
+            buffer.putInt((argb >>> 24) == 0 ? 0 : argb);
+        }
+
+        return Optional.of(SRHelpers.hashSha256ToHex(buffer.array()));
+    }
+}
@@ -53,7 +53,7 @@ public class HttpClient {
             throw new IOException("Only HTTPS is supported.");
         }
 
-        logger.debug("Sending %s request to %s with body: %s".formatted(method, url, requestBody));
+        logger.debug("Sending %s request to %s with body: %s", method, url, requestBody);
 
         HttpsURLConnection connection = (HttpsURLConnection) url.openConnection();
         connection.setRequestMethod(method.name());
@@ -100,15 +100,60 @@ public class HttpClient {
                 connection.getHeaderFields()
         );
 
-        logger.debug("Response body: %s".formatted(response.body()
-                .replace("\n", "")
-                .replace("\r", "")));
-        logger.debug("Response code: %d".formatted(response.statusCode()));
-        logger.debug("Request took %dms.".formatted(System.currentTimeMillis() - start));
+        if (logger.isDebugEnabled()) {
+            logger.debug("Response body: %s", response.body()
+                    .replace("\n", "")
+                    .replace("\r", ""));
+            logger.debug("Response code: %d", response.statusCode());
+            logger.debug("Request took %dms.", System.currentTimeMillis() - start);
+        }
 
         return response;
     }
 
+    /**
+     * Downloads the raw body of a GET request, for binary data like skin images.
+     * Redirects are not followed, so callers can rely on the host of the URI they checked.
+     *
+     * @param maxBytes Bodies larger than this are rejected instead of being read completely.
+     */
+    public byte[] download(URI uri, String userAgent, int timeout, int maxBytes) throws IOException {
+        if (settings.getProperty(AdvancedConfig.NO_CONNECTIONS)) {
+            throw new IOException("Connections are disabled.");
+        }
+
+        URL url = uri.toURL();
+
+        // Ensure we're never sending a request to a non-HTTPS URL.
+        if (!url.getProtocol().equals("https")) {
+            throw new IOException("Only HTTPS is supported.");
+        }
+
+        logger.debug("Downloading %s", url);
+
+        HttpsURLConnection connection = (HttpsURLConnection) url.openConnection();
+        connection.setRequestMethod(HttpMethod.GET.name());
+        connection.setConnectTimeout(timeout);
+        connection.setReadTimeout(timeout);
+        connection.setUseCaches(false);
+        connection.setInstanceFollowRedirects(false);
+        connection.setRequestProperty("User-Agent", userAgent);
+
+        int responseCode = connection.getResponseCode();
+        if (responseCode != 200) {
+            throw new IOException("Unexpected response code %d.".formatted(responseCode));
+        }
+
+        try (InputStream is = connection.getInputStream()) {
+            byte[] body = is.readNBytes(maxBytes + 1);
+            if (body.length > maxBytes) {
+                throw new IOException("Response is larger than %d bytes.".formatted(maxBytes));
+            }
+
+            return body;
+        }
+    }
+
     public enum HttpMethod {
         GET,
         POST,
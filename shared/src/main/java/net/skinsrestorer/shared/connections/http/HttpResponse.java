@@ -25,6 +25,7 @@ import net.skinsrestorer.shared.exception.DataRequestExceptionShared;
 import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 public record HttpResponse(int statusCode, String body, Map<String, List<String>> headers) {
     private static final Gson GSON = new Gson();
@@ -37,6 +38,20 @@ public record HttpResponse(int statusCode, String body, Map<String, List<String>
         }
     }
 
+    /**
+     * @param name Header name, matched case-insensitively
+     * @return The first value of the header
+     */
+    public Optional<String> getHeader(String name) {
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (name.equalsIgnoreCase(header.getKey()) && !header.getValue().isEmpty()) {
+                return Optional.of(header.getValue().getFirst());
+            }
+        }
+
+        return Optional.empty();
+    }
+
     public <T> T getBodyAs(Type type) throws DataRequestException {
         try {
             return GSON.fromJson(body, type);
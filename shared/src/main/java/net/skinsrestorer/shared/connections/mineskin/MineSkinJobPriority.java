@@ -0,0 +1,32 @@
+/*
+ * SkinsRestorer
+ * Copyright (C) 2024  SkinsRestorer Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.skinsrestorer.shared.connections.mineskin;
+
+/**
+ * Lanes of the MineSkin job queue, polled in declaration order.
+ */
+public enum MineSkinJobPriority {
+    /**
+     * Jobs started by admins, for example through /sr createcustom.
+     */
+    ADMIN,
+    /**
+     * Jobs started by players, for example through /skin url.
+     */
+    PLAYER
+}
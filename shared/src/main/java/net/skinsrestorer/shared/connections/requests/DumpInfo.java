@@ -23,6 +23,9 @@ import lombok.RequiredArgsConstructor;
 import net.skinsrestorer.builddata.BuildData;
 import net.skinsrestorer.shared.info.EnvironmentInfo;
 import net.skinsrestorer.shared.info.PlatformInfo;
+import net.skinsrestorer.shared.plugin.SRExecutor;
+
+import java.util.Map;
 
 @RequiredArgsConstructor
 @SuppressWarnings("unused")
@@ -54,6 +57,7 @@ public class DumpInfo {
         private final Boolean proxyMode;
         private final StorageType storageType;
         private final JsonObject configData;
+        private final Map<SRExecutor.Lane, SRExecutor.LaneStats> executorStats;
 
         public enum StorageType {
             NONE,
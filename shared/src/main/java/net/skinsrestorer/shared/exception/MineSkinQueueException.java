@@ -0,0 +1,36 @@
+/*
+ * SkinsRestorer
+ * Copyright (C) 2024  SkinsRestorer Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.skinsrestorer.shared.exception;
+
+import com.google.errorprone.annotations.RestrictedApi;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import net.skinsrestorer.shared.subjects.messages.Message;
+
+/**
+ * Thrown when a MineSkin job could not be run because of the state of the job queue,
+ * not because of the image that was submitted.
+ */
+public class MineSkinQueueException extends MineSkinExceptionShared {
+    @RestrictedApi(
+            explanation = "The method signature changes after relocation, so it shall only be used within this package",
+            allowedOnPath = ".*net/skinsrestorer/shared/.*"
+    )
+    public MineSkinQueueException(Message message, TagResolver... resolvers) {
+        super(message, resolvers);
+    }
+}
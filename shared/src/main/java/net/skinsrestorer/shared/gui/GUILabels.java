@@ -0,0 +1,63 @@
+/*
+ * SkinsRestorer
+ * Copyright (C) 2024  SkinsRestorer Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.skinsrestorer.shared.gui;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import net.skinsrestorer.shared.codec.NetworkCodec;
+import net.skinsrestorer.shared.codec.NetworkId;
+import net.skinsrestorer.shared.subjects.messages.ComponentString;
+import net.skinsrestorer.shared.subjects.messages.Message;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The localized strings of a GUI page that are not tied to a skin entry.
+ * Only the buttons that are shown on the page are present.
+ */
+public record GUILabels(ComponentString title, Map<Button, ComponentString> buttons) {
+    public ComponentString getButtonRequired(Button button) {
+        ComponentString label = buttons.get(button);
+        if (label == null) {
+            throw new IllegalArgumentException("Missing GUI label for button " + button);
+        }
+
+        return label;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Button implements NetworkId {
+        PREVIOUS_PAGE(Message.SKINSMENU_PREVIOUS_PAGE),
+        BACK_SELECT(Message.SKINSMENU_BACK_SELECT_BUTTON),
+        CLEAR_SKIN(Message.SKINSMENU_CLEAR_SKIN),
+        NEXT_PAGE(Message.SKINSMENU_NEXT_PAGE),
+        MAIN(Message.SKINSMENU_MAIN_BUTTON),
+        HISTORY(Message.SKINSMENU_HISTORY_BUTTON),
+        FAVOURITES(Message.SKINSMENU_FAVOURITES_BUTTON);
+
+        public static final NetworkCodec<Button> CODEC = NetworkCodec.ofEnum(Button.class, Button.CLEAR_SKIN);
+        private final Message message;
+
+        @Override
+        public String getId() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * SkinsRestorer
+ * Copyright (C) 2024  SkinsRestorer Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.skinsrestorer.shared.gui;
+
+import net.skinsrestorer.api.property.SkinIdentifier;
+import net.skinsrestorer.shared.codec.BuiltInCodecs;
+import net.skinsrestorer.shared.codec.NetworkCodec;
+import net.skinsrestorer.shared.subjects.messages.ComponentString;
+import net.skinsrestorer.shared.utils.SRHelpers;
+
+import java.util.*;
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * A GUI page as sent by the proxy with {@link #PROTOCOL_VERSION} 2.
+ * All component strings are referenced by their hash, the backend keeps the strings
+ * it has seen before in its {@link ServerGUITemplateCache}, so only strings the backend
+ * does not know yet are sent along with the page.
+ * The backend builds the inventory itself using {@link SharedGUI#createGUIPage(PageInfo, GUILabels)}.
+ */
+public record GUIPageDelta(int page, PageType pageType, boolean hasPrevious, boolean hasNext,
+                           Labels labels, List<Skin> skins) {
+    /**
+     * Version 1 is a full {@link SRInventory}, version 2 is this delta.
+     */
+    public static final int PROTOCOL_VERSION = 2;
+    public static final NetworkCodec<GUIPageDelta> CODEC = NetworkCodec.list(
+            BuiltInCodecs.INT_CODEC,
+            GUIPageDelta::page,
+            PageType.CODEC,
+            GUIPageDelta::pageType,
+            BuiltInCodecs.BOOLEAN_CODEC,
+            GUIPageDelta::hasPrevious,
+            BuiltInCodecs.BOOLEAN_CODEC,
+            GUIPageDelta::hasNext,
+            Labels.CODEC,
+            GUIPageDelta::labels,
+            Skin.CODEC.list(),
+            GUIPageDelta::skins,
+            GUIPageDelta::new
+    );
+
+    public static long hash(ComponentString componentString) {
+        return SRHelpers.hashSha256ToLong(componentString.jsonString());
+    }
+
+    public static GUIPageDelta of(PageInfo pageInfo, GUILabels labels, ToLongFunction<ComponentString> referencer) {
+        Map<GUILabels.Button, Long> buttons = new EnumMap<>(GUILabels.Button.class);
+        labels.buttons().forEach((button, label) -> buttons.put(button, referencer.applyAsLong(label)));
+
+        List<Skin> skins = new ArrayList<>(pageInfo.skinList().size());
+        for (GUISkinEntry entry : pageInfo.skinList()) {
+            List<Long> lore = new ArrayList<>(entry.lore().size());
+            for (ComponentString line : entry.lore()) {
+                lore.add(referencer.applyAsLong(line));
+            }
+
+            skins.add(new Skin(
+                    entry.skinIdentifier(),
+                    referencer.applyAsLong(entry.skinName()),
+                    entry.textureHash(),
+                    lore,
+                    entry.isFavourite()
+            ));
+        }
+
+        return new GUIPageDelta(
+                pageInfo.page(),
+                pageInfo.pageType(),
+                pageInfo.hasPrevious(),
+                pageInfo.hasNext(),
+                new Labels(referencer.applyAsLong(labels.title()), buttons),
+                skins
+        );
+    }
+
+    /**
+     * Resolves all references of this page.
+     *
+     * @param resolver returns the string for a reference, or null if it is unknown
+     * @return the page and its labels, or empty if any reference could not be resolved
+     */
+    public Optional<Resolved> resolve(LongFunction<ComponentString> resolver) {
+        ComponentString title = resolver.apply(labels.title());
+        if (title == null) {
+            return Optional.empty();
+        }
+
+        Map<GUILabels.Button, ComponentString> buttons = new EnumMap<>(GUILabels.Button.class);
+        for (Map.Entry<GUILabels.Button, Long> entry : labels.buttons().entrySet()) {
+            ComponentString label = resolver.apply(entry.getValue());
+            if (label == null) {
+                return Optional.empty();
+            }
+
+            buttons.put(entry.getKey(), label);
+        }
+
+        List<GUISkinEntry> skinList = new ArrayList<>(skins.size());
+        for (Skin skin : skins) {
+            ComponentString skinName = resolver.apply(skin.skinName());
+            if (skinName == null) {
+                return Optional.empty();
+            }
+
+            List<ComponentString> lore = new ArrayList<>(skin.lore().size());
+            for (long line : skin.lore()) {
+                ComponentString resolvedLine = resolver.apply(line);
+                if (resolvedLine == null) {
+                    return Optional.empty();
+                }
+
+                lore.add(resolvedLine);
+            }
+
+            skinList.add(new GUISkinEntry(skin.skinIdentifier(), skinName, skin.textureHash(), lore, skin.favourite()));
+        }
+
+        return Optional.of(new Resolved(
+                new PageInfo(page, pageType, hasPrevious, hasNext, skinList),
+                new GUILabels(title, buttons)
+        ));
+    }
+
+    public record Labels(long title, Map<GUILabels.Button, Long> buttons) {
+        public static final NetworkCodec<Labels> CODEC = NetworkCodec.list(
+                BuiltInCodecs.LONG_CODEC,
+                Labels::title,
+                GUILabels.Button.CODEC.mappedTo(BuiltInCodecs.LONG_CODEC),
+                Labels::buttons,
+                Labels::new
+        );
+    }
+
+    public record Skin(SkinIdentifier skinIdentifier, long skinName, String textureHash,
+                       List<Long> lore, boolean favourite) {
+        public static final NetworkCodec<Skin> CODEC = NetworkCodec.list(
+                BuiltInCodecs.SKIN_IDENTIFIER_CODEC,
+                Skin::skinIdentifier,
+                BuiltInCodecs.LONG_CODEC,
+                Skin::skinName,
+                BuiltInCodecs.STRING_CODEC,
+                Skin::textureHash,
+                BuiltInCodecs.LONG_CODEC.list(),
+                Skin::lore,
+                BuiltInCodecs.BOOLEAN_CODEC,
+                Skin::favourite,
+                Skin::new
+        );
+    }
+
+    public record Resolved(PageInfo pageInfo, GUILabels labels) {
+    }
+}
@@ -17,10 +17,9 @@
  */
 package net.skinsrestorer.shared.gui;
 
-import ch.jalu.configme.SettingsManager;
 import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
 import net.skinsrestorer.api.property.SkinIdentifier;
-import net.skinsrestorer.shared.config.GUIConfig;
+import net.skinsrestorer.shared.config.ConfigSnapshot;
 import net.skinsrestorer.shared.storage.PlayerStorageImpl;
 import net.skinsrestorer.shared.storage.model.player.FavouriteData;
 import net.skinsrestorer.shared.subjects.SRPlayer;
@@ -35,7 +34,7 @@ import java.util.*;
 public class GUIUtils {
     public static PageInfo getGUIPage(SRPlayer player,
                                       SkinsRestorerLocale locale,
-                                      SettingsManager settings,
+                                      ConfigSnapshot config,
                                       PlayerStorageImpl playerStorage,
                                       SkinPermissionManager permissionManager,
                                       int page, PageType pageType, GUIDataSource... sources) {
@@ -76,7 +75,7 @@ public class GUIUtils {
                         if (canSetSkin) {
                             textureHash = base.textureHash();
                         } else {
-                            textureHash = settings.getProperty(GUIConfig.NOT_UNLOCKED_SKIN);
+                            textureHash = config.notUnlockedSkin();
                         }
 
                         Optional<FavouriteData> favouriteData;
@@ -89,7 +88,7 @@ public class GUIUtils {
                                 lore.add(locale.getMessageRequired(player, Message.SKINSMENU_SET_FAVOURITE_LORE));
                             }
                             favouriteData.ifPresent(data -> lore.add(locale.getMessageRequired(player, Message.SKINSMENU_FAVOURITE_SINCE_LORE,
-                                    Placeholder.unparsed("time", SRHelpers.formatEpochSeconds(settings, data.getTimestamp(), player.getLocale())))));
+                                    Placeholder.unparsed("time", SRHelpers.formatEpochSeconds(config, data.getTimestamp(), player.getLocale())))));
 
                             lore.addAll(base.extraLore());
                         } else {
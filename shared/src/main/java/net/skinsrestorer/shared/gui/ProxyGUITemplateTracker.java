@@ -0,0 +1,84 @@
+/*
+ * SkinsRestorer
+ * Copyright (C) 2024  SkinsRestorer Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.skinsrestorer.shared.gui;
+
+import lombok.RequiredArgsConstructor;
+import net.skinsrestorer.shared.codec.SRServerPluginMessage;
+import net.skinsrestorer.shared.subjects.SRProxyPlayer;
+import net.skinsrestorer.shared.subjects.messages.ComponentString;
+import net.skinsrestorer.shared.utils.ProxyAckTracker;
+
+import javax.inject.Inject;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Proxy side of the GUI delta protocol.
+ * Remembers which component strings each backend server has already received,
+ * so page flips only carry the strings that are new to that server.
+ */
+@RequiredArgsConstructor(onConstructor_ = @Inject)
+public class ProxyGUITemplateTracker {
+    // Stay below the backend cache size, so the backend never evicts a string we still consider known
+    private static final int MAX_KNOWN_STRINGS = ServerGUITemplateCache.MAX_SIZE / 2;
+    private final ProxyAckTracker proxyAckTracker;
+    private final Map<String, Set<Long>> knownStrings = new ConcurrentHashMap<>();
+
+    /**
+     * Sends the page as a delta if the player's backend server supports it.
+     *
+     * @return false if the server only understands full inventories
+     */
+    public boolean sendPage(SRProxyPlayer player, PageInfo pageInfo, GUILabels labels) {
+        Optional<String> optionalServer = player.getCurrentServer();
+        if (optionalServer.isEmpty()
+                || proxyAckTracker.getGuiProtocolVersion(optionalServer.get()) < GUIPageDelta.PROTOCOL_VERSION) {
+            return false;
+        }
+
+        Set<Long> known = knownStrings.computeIfAbsent(optionalServer.get(), k -> new HashSet<>());
+        Map<Long, ComponentString> definitions = new HashMap<>();
+        GUIPageDelta delta;
+        synchronized (known) {
+            if (known.size() >= MAX_KNOWN_STRINGS) {
+                known.clear();
+            }
+
+            delta = GUIPageDelta.of(pageInfo, labels, componentString -> {
+                long ref = GUIPageDelta.hash(componentString);
+                if (known.add(ref)) {
+                    definitions.put(ref, componentString);
+                }
+
+                return ref;
+            });
+        }
+
+        var page = new SRServerPluginMessage.GUIPageV2ChannelPayload(definitions, delta);
+        player.sendToMessageChannel(new SRServerPluginMessage(proxyAckTracker.supportsCompression(optionalServer.get())
+                ? new SRServerPluginMessage.GUIPageV3ChannelPayload(page) : page));
+        return true;
+    }
+
+    /**
+     * Called when the backend server reported a missing string, e.g. because it restarted.
+     */
+    public void invalidate(SRProxyPlayer player) {
+        player.getCurrentServer().ifPresent(knownStrings::remove);
+    }
+}
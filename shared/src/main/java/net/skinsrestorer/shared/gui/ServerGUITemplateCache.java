@@ -0,0 +1,53 @@
+/*
+ * SkinsRestorer
+ * Copyright (C) 2024  SkinsRestorer Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.skinsrestorer.shared.gui;
+
+import net.skinsrestorer.shared.subjects.messages.ComponentString;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Backend side of the GUI delta protocol.
+ * Keeps the component strings the proxy has sent, keyed by their {@link GUIPageDelta#hash(ComponentString)}.
+ */
+public class ServerGUITemplateCache {
+    public static final int MAX_SIZE = 8192;
+    private final Map<Long, ComponentString> strings = new LinkedHashMap<>(256, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, ComponentString> eldest) {
+            return size() > MAX_SIZE;
+        }
+    };
+
+    /**
+     * Stores the new definitions and resolves the page.
+     *
+     * @return the page and its labels, or empty if the proxy referenced a string this server does not know
+     */
+    public Optional<GUIPageDelta.Resolved> resolve(Map<Long, ComponentString> definitions, GUIPageDelta delta) {
+        synchronized (strings) {
+            strings.putAll(definitions);
+            return delta.resolve(ref -> {
+                ComponentString definition = definitions.get(ref);
+                return definition != null ? definition : strings.get(ref);
+            });
+        }
+    }
+}
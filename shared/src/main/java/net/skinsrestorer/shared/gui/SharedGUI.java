@@ -17,15 +17,20 @@
  */
 package net.skinsrestorer.shared.gui;
 
+import ch.jalu.injector.Injector;
 import lombok.RequiredArgsConstructor;
 import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
 import net.skinsrestorer.shared.codec.SRProxyPluginMessage;
 import net.skinsrestorer.shared.log.SRLogger;
+import net.skinsrestorer.shared.plugin.SRPlatformAdapter;
 import net.skinsrestorer.shared.subjects.SRPlayer;
-import net.skinsrestorer.shared.subjects.messages.Message;
+import net.skinsrestorer.shared.subjects.SRProxyPlayer;
+import net.skinsrestorer.shared.subjects.messages.ComponentString;
 import net.skinsrestorer.shared.subjects.messages.SkinsRestorerLocale;
 
 import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -36,8 +41,60 @@ public class SharedGUI {
     public static final int HEAD_COUNT_PER_PAGE = 9 * 4;
     private final SkinsRestorerLocale locale;
     private final SRLogger logger;
+    private final SRPlatformAdapter adapter;
+    private final Injector injector;
+
+    public void openGUIPage(SRPlayer player, PageInfo pageInfo) {
+        GUILabels labels = createLabels(player, pageInfo);
+        if (player instanceof SRProxyPlayer proxyPlayer
+                && injector.getSingleton(ProxyGUITemplateTracker.class).sendPage(proxyPlayer, pageInfo, labels)) {
+            return;
+        }
+
+        adapter.openGUI(player, createGUIPage(pageInfo, labels));
+    }
 
     public SRInventory createGUIPage(SRPlayer player, PageInfo pageInfo) {
+        return createGUIPage(pageInfo, createLabels(player, pageInfo));
+    }
+
+    public GUILabels createLabels(SRPlayer player, PageInfo pageInfo) {
+        Map<GUILabels.Button, ComponentString> buttons = new EnumMap<>(GUILabels.Button.class);
+        for (GUILabels.Button button : getButtons(pageInfo)) {
+            buttons.put(button, locale.getMessageRequired(player, button.getMessage()));
+        }
+
+        return new GUILabels(
+                locale.getMessageRequired(player, pageInfo.pageType().getTitle(),
+                        Placeholder.parsed("page_number", String.valueOf(pageInfo.page() + 1))),
+                buttons
+        );
+    }
+
+    private static List<GUILabels.Button> getButtons(PageInfo pageInfo) {
+        List<GUILabels.Button> buttons = new ArrayList<>(GUILabels.Button.values().length);
+        if (pageInfo.hasPrevious()) {
+            buttons.add(GUILabels.Button.PREVIOUS_PAGE);
+        } else if (pageInfo.pageType() != PageType.SELECT) {
+            buttons.add(GUILabels.Button.BACK_SELECT);
+        }
+
+        buttons.add(GUILabels.Button.CLEAR_SKIN);
+
+        if (pageInfo.hasNext()) {
+            buttons.add(GUILabels.Button.NEXT_PAGE);
+        }
+
+        if (pageInfo.pageType() == PageType.SELECT) {
+            buttons.add(GUILabels.Button.MAIN);
+            buttons.add(GUILabels.Button.HISTORY);
+            buttons.add(GUILabels.Button.FAVOURITES);
+        }
+
+        return buttons;
+    }
+
+    public SRInventory createGUIPage(PageInfo pageInfo, GUILabels labels) {
         Map<Integer, SRInventory.Item> items = new HashMap<>();
 
         int skinCount = 0;
@@ -72,7 +129,7 @@ public class SharedGUI {
         if (pageInfo.hasPrevious()) {
             items.put(48, new SRInventory.Item(
                     SRInventory.MaterialType.ARROW,
-                    locale.getMessageRequired(player, Message.SKINSMENU_PREVIOUS_PAGE),
+                    labels.getButtonRequired(GUILabels.Button.PREVIOUS_PAGE),
                     List.of(),
                     Optional.empty(),
                     false,
@@ -85,7 +142,7 @@ public class SharedGUI {
         } else if (pageInfo.pageType() != PageType.SELECT) {
             items.put(48, new SRInventory.Item(
                     SRInventory.MaterialType.ARROW,
-                    locale.getMessageRequired(player, Message.SKINSMENU_BACK_SELECT_BUTTON),
+                    labels.getButtonRequired(GUILabels.Button.BACK_SELECT),
                     List.of(),
                     Optional.empty(),
                     false,
@@ -99,7 +156,7 @@ public class SharedGUI {
 
         items.put(49, new SRInventory.Item(
                 SRInventory.MaterialType.BARRIER,
-                locale.getMessageRequired(player, Message.SKINSMENU_CLEAR_SKIN),
+                labels.getButtonRequired(GUILabels.Button.CLEAR_SKIN),
                 List.of(),
                 Optional.empty(),
                 false,
@@ -111,7 +168,7 @@ public class SharedGUI {
         if (pageInfo.hasNext()) {
             items.put(50, new SRInventory.Item(
                     SRInventory.MaterialType.ARROW,
-                    locale.getMessageRequired(player, Message.SKINSMENU_NEXT_PAGE),
+                    labels.getButtonRequired(GUILabels.Button.NEXT_PAGE),
                     List.of(),
                     Optional.empty(),
                     false,
@@ -126,7 +183,7 @@ public class SharedGUI {
         if (pageInfo.pageType() == PageType.SELECT) {
             items.put(20, new SRInventory.Item(
                     SRInventory.MaterialType.BOOKSHELF,
-                    locale.getMessageRequired(player, Message.SKINSMENU_MAIN_BUTTON),
+                    labels.getButtonRequired(GUILabels.Button.MAIN),
                     List.of(),
                     Optional.empty(),
                     false,
@@ -138,7 +195,7 @@ public class SharedGUI {
             ));
             items.put(22, new SRInventory.Item(
                     SRInventory.MaterialType.ENDER_EYE,
-                    locale.getMessageRequired(player, Message.SKINSMENU_HISTORY_BUTTON),
+                    labels.getButtonRequired(GUILabels.Button.HISTORY),
                     List.of(),
                     Optional.empty(),
                     false,
@@ -150,7 +207,7 @@ public class SharedGUI {
             ));
             items.put(24, new SRInventory.Item(
                     SRInventory.MaterialType.ENCHANTING_TABLE,
-                    locale.getMessageRequired(player, Message.SKINSMENU_FAVOURITES_BUTTON),
+                    labels.getButtonRequired(GUILabels.Button.FAVOURITES),
                     List.of(),
                     Optional.empty(),
                     false,
@@ -164,8 +221,7 @@ public class SharedGUI {
 
         return new SRInventory(
                 6,
-                locale.getMessageRequired(player, pageInfo.pageType().getTitle(),
-                        Placeholder.parsed("page_number", String.valueOf(pageInfo.page() + 1))),
+                labels.title(),
                 items);
     }
 }
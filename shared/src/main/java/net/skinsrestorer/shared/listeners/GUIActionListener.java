@@ -22,7 +22,6 @@ import net.skinsrestorer.shared.codec.SRProxyPluginMessage;
 import net.skinsrestorer.shared.commands.library.SRCommandManager;
 import net.skinsrestorer.shared.gui.SharedGUI;
 import net.skinsrestorer.shared.log.SRLogger;
-import net.skinsrestorer.shared.plugin.SRPlatformAdapter;
 import net.skinsrestorer.shared.storage.GUIStorage;
 import net.skinsrestorer.shared.storage.PlayerStorageImpl;
 import net.skinsrestorer.shared.storage.model.player.FavouriteData;
@@ -35,7 +34,6 @@ import java.util.List;
 @RequiredArgsConstructor(onConstructor_ = @Inject)
 public class GUIActionListener {
     private final SRLogger logger;
-    private final SRPlatformAdapter adapter;
     private final GUIStorage guiStorage;
     private final SharedGUI sharedGUI;
     private final SRCommandManager commandManager;
@@ -46,7 +44,7 @@ public class GUIActionListener {
             SRProxyPluginMessage.GUIActionChannelPayload.GUIActionPayload<?> actionPayload = payload.payload();
             SRHelpers.mustSupply(() -> switch (actionPayload) {
                 case SRProxyPluginMessage.GUIActionChannelPayload.OpenPagePayload(var page, var type) ->
-                        () -> adapter.openGUI(player, sharedGUI.createGUIPage(player, guiStorage.getGUIPage(player, page, type)));
+                        () -> sharedGUI.openGUIPage(player, guiStorage.getGUIPage(player, page, type));
                 case SRProxyPluginMessage.GUIActionChannelPayload.ClearSkinPayload ignored ->
                         () -> commandManager.execute(player, "skin clear");
                 case SRProxyPluginMessage.GUIActionChannelPayload.SetSkinPayload(var skinIdentifier) ->
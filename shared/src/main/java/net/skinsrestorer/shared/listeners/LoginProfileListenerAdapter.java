@@ -18,33 +18,57 @@
 package net.skinsrestorer.shared.listeners;
 
 import ch.jalu.configme.SettingsManager;
+import ch.jalu.injector.Injector;
 import lombok.RequiredArgsConstructor;
 import net.skinsrestorer.api.exception.DataRequestException;
 import net.skinsrestorer.api.property.SkinProperty;
 import net.skinsrestorer.api.storage.PlayerStorage;
+import net.skinsrestorer.shared.api.SharedSkinApplier;
 import net.skinsrestorer.shared.config.AdvancedConfig;
 import net.skinsrestorer.shared.config.LoginConfig;
 import net.skinsrestorer.shared.listeners.event.SRLoginProfileEvent;
 import net.skinsrestorer.shared.log.SRLogger;
-import net.skinsrestorer.shared.storage.adapter.AdapterReference;
+import net.skinsrestorer.shared.plugin.SRPlatformAdapter;
+import net.skinsrestorer.shared.storage.LegacyPlayerMigrator;
+import net.skinsrestorer.shared.storage.SkinStorageImpl;
 import net.skinsrestorer.shared.storage.adapter.StorageAdapter;
+import net.skinsrestorer.shared.subjects.SRPlayer;
+import net.skinsrestorer.shared.utils.MetricsCounter;
 
 import javax.inject.Inject;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 
 @RequiredArgsConstructor(onConstructor_ = @Inject)
 public final class LoginProfileListenerAdapter<R> {
+    private static final long DEFERRED_APPLY_RETRY_MILLIS = 500;
+    private static final int DEFERRED_APPLY_MAX_RETRIES = 60;
     private final SettingsManager settings;
     private final PlayerStorage playerStorage;
     private final SRLogger logger;
-    private final AdapterReference adapterReference;
+    private final LegacyPlayerMigrator legacyPlayerMigrator;
+    private final SRPlatformAdapter platform;
+    private final MetricsCounter metricsCounter;
+    private final Injector injector;
 
     public R handleLogin(SRLoginProfileEvent<R> event) {
-        logger.debug("Handling login for %s (%s)".formatted(event.getPlayerName(), event.getPlayerUniqueId()));
+        logger.debug("Handling login for %s (%s)", event.getPlayerName(), event.getPlayerUniqueId());
         if (handleSync(event)) {
+            if (event.hasOnlineProperties()) {
+                platform.runAsync(() -> primeFromLogin(event));
+            }
+
             return null;
         }
 
+        int deadline = settings.getProperty(LoginConfig.SKIN_LOOKUP_DEADLINE);
+        if (event.holdsLogin() && deadline > 0) {
+            return handleWithDeadline(event, deadline);
+        }
+
         return event.runAsync(() -> {
             try {
                 handleAsync(event).ifPresent(event::setResultProperty);
@@ -54,13 +78,84 @@ public final class LoginProfileListenerAdapter<R> {
         });
     }
 
+    private R handleWithDeadline(SRLoginProfileEvent<R> event, int deadline) {
+        CompletableFuture<Optional<SkinProperty>> lookup = CompletableFuture.supplyAsync(() -> {
+            try {
+                return handleAsync(event);
+            } catch (DataRequestException e) {
+                throw new CompletionException(e);
+            }
+        }, platform::runAsync);
+
+        // The copy is completed with null at the deadline, the lookup itself keeps running
+        CompletableFuture<Void> held = lookup.copy()
+                .completeOnTimeout(null, deadline, TimeUnit.MILLISECONDS)
+                .handle((property, throwable) -> {
+                    if (throwable != null) {
+                        logger.debug(throwable instanceof CompletionException ? throwable.getCause() : throwable);
+                    } else if (property != null) {
+                        property.ifPresent(event::setResultProperty);
+                    } else {
+                        // Let the player in with the profile they have, the skin is applied once it arrives
+                        metricsCounter.incrementLoginDeadlineExceeded();
+                        logger.debug("Skin lookup for %s took longer than %dms, applying it after join", event.getPlayerName(), deadline);
+                        applyWhenDone(event.getPlayerUniqueId(), lookup);
+                    }
+
+                    return null;
+                });
+
+        return event.holdUntil(held);
+    }
+
+    private void applyWhenDone(UUID uniqueId, CompletableFuture<Optional<SkinProperty>> lookup) {
+        lookup.whenComplete((property, throwable) -> {
+            if (throwable != null) {
+                logger.debug(throwable);
+            } else {
+                property.ifPresent(skin -> applyDeferred(uniqueId, skin, 0));
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private void applyDeferred(UUID uniqueId, SkinProperty property, int attempt) {
+        Optional<SRPlayer> player = platform.getPlayer(null, uniqueId);
+        if (player.isEmpty()) {
+            // The login may not have completed yet
+            if (attempt < DEFERRED_APPLY_MAX_RETRIES) {
+                platform.runAsyncDelayed(() -> applyDeferred(uniqueId, property, attempt + 1), DEFERRED_APPLY_RETRY_MILLIS, TimeUnit.MILLISECONDS);
+            }
+
+            return;
+        }
+
+        SharedSkinApplier<Object> skinApplier = injector.getIfAvailable(SharedSkinApplier.class);
+        if (skinApplier != null) {
+            skinApplier.applySkinSilently(player.get().getAs(Object.class), property);
+        }
+    }
+
+    private void primeFromLogin(SRLoginProfileEvent<R> event) {
+        if (!event.hasOnlineProperties()) {
+            return;
+        }
+
+        // Mojang already told us who this player is, no need to ask again later
+        event.getOnlineProperty().ifPresent(property -> injector.getSingleton(SkinStorageImpl.class)
+                .primeFromLogin(event.getPlayerUniqueId(), event.getPlayerName(), property));
+    }
+
     private boolean handleSync(SRLoginProfileEvent<R> event) {
         return settings.getProperty(AdvancedConfig.DISABLE_ON_JOIN_SKINS) || (settings.getProperty(LoginConfig.NO_SKIN_IF_LOGIN_CANCELED) && event.isCancelled());
     }
 
     private Optional<SkinProperty> handleAsync(SRLoginProfileEvent<R> event) throws DataRequestException {
+        // Prime before the lookup, so it can be answered from the data this login brought along
+        primeFromLogin(event);
+
         try {
-            adapterReference.get().migrateLegacyPlayer(event.getPlayerName(), event.getPlayerUniqueId());
+            legacyPlayerMigrator.migrate(event.getPlayerName(), event.getPlayerUniqueId());
         } catch (StorageAdapter.StorageException e) {
             logger.severe("There was a bug while migrating a legacy player to the new format, contact us on Discord and provide this error message:", e);
         }
@@ -20,6 +20,7 @@ package net.skinsrestorer.shared.listeners;
 import lombok.RequiredArgsConstructor;
 import net.skinsrestorer.shared.codec.SRInputReader;
 import net.skinsrestorer.shared.codec.SRProxyPluginMessage;
+import net.skinsrestorer.shared.gui.ProxyGUITemplateTracker;
 import net.skinsrestorer.shared.listeners.event.SRProxyMessageEvent;
 import net.skinsrestorer.shared.log.SRLogger;
 import net.skinsrestorer.shared.plugin.SRPlatformAdapter;
@@ -27,6 +28,7 @@ import net.skinsrestorer.shared.utils.ProxyAckTracker;
 import net.skinsrestorer.shared.utils.SRHelpers;
 
 import javax.inject.Inject;
+import java.util.List;
 
 @RequiredArgsConstructor(onConstructor_ = @Inject)
 public final class SRProxyMessageAdapter {
@@ -34,6 +36,7 @@ public final class SRProxyMessageAdapter {
     private final SRPlatformAdapter adapter;
     private final GUIActionListener guiActionListener;
     private final ProxyAckTracker proxyAckTracker;
+    private final ProxyGUITemplateTracker proxyGUITemplateTracker;
 
     public void handlePluginMessage(SRProxyMessageEvent event) {
         if (event.isCancelled()) {
@@ -55,8 +58,14 @@ public final class SRProxyMessageAdapter {
             SRHelpers.mustSupply(() -> switch (msg) {
                 case SRProxyPluginMessage.GUIActionListChannelPayload(var actions) ->
                         () -> guiActionListener.handle(event.getPlayer(), actions);
-                case SRProxyPluginMessage.AckChannelPayload(var ackId, var serverSrVersion) ->
-                        () -> proxyAckTracker.receivedAck(event.getPlayer(), ackId, serverSrVersion);
+                case SRProxyPluginMessage.GUICacheMissChannelPayload(var page, var type) -> () -> {
+                    logger.debug("Backend server of player '%s' is missing GUI strings, resending page.", event.getPlayer().getName());
+                    proxyGUITemplateTracker.invalidate(event.getPlayer());
+                    guiActionListener.handle(event.getPlayer(), List.of(new SRProxyPluginMessage.GUIActionChannelPayload(
+                            new SRProxyPluginMessage.GUIActionChannelPayload.OpenPagePayload(page, type))));
+                };
+                case SRProxyPluginMessage.AckChannelPayload ack ->
+                        () -> proxyAckTracker.receivedAck(event.getPlayer(), ack);
                 case SRProxyPluginMessage.UnknownChannelPayload ignored ->
                         () -> logger.warning("Received unknown channel payload from server (Make sure the server and proxy are running the same version of SkinsRestorer) %s".formatted(SRHelpers.DOWNLOAD_URL));
             });
@@ -21,13 +21,19 @@ import lombok.RequiredArgsConstructor;
 import net.skinsrestorer.api.property.SkinProperty;
 import net.skinsrestorer.builddata.BuildData;
 import net.skinsrestorer.shared.api.SharedSkinApplier;
+import net.skinsrestorer.shared.codec.PayloadCompression;
 import net.skinsrestorer.shared.codec.SRInputReader;
 import net.skinsrestorer.shared.codec.SRProxyPluginMessage;
 import net.skinsrestorer.shared.codec.SRServerPluginMessage;
+import net.skinsrestorer.shared.gui.GUIPageDelta;
 import net.skinsrestorer.shared.gui.SRInventory;
+import net.skinsrestorer.shared.gui.ServerGUITemplateCache;
+import net.skinsrestorer.shared.gui.SharedGUI;
 import net.skinsrestorer.shared.listeners.event.SRServerMessageEvent;
 import net.skinsrestorer.shared.log.SRLogger;
 import net.skinsrestorer.shared.plugin.SRServerAdapter;
+import net.skinsrestorer.shared.subjects.SRServerPlayer;
+import net.skinsrestorer.shared.utils.MetricsCounter;
 import net.skinsrestorer.shared.utils.RunOnce;
 import net.skinsrestorer.shared.utils.SRHelpers;
 
@@ -40,6 +46,9 @@ public final class SRServerMessageAdapter {
     private final SRLogger logger;
     private final SRServerAdapter serverAdapter;
     private final SharedSkinApplier<Object> skinApplier;
+    private final SharedGUI sharedGUI;
+    private final ServerGUITemplateCache guiTemplateCache;
+    private final MetricsCounter metricsCounter;
 
     public void handlePluginMessage(SRServerMessageEvent event) {
         if (!event.getChannel().equals(SRHelpers.MESSAGE_CHANNEL)) {
@@ -52,28 +61,15 @@ public final class SRServerMessageAdapter {
             SRHelpers.mustSupply(() -> switch (channelPayload) {
                 case SRServerPluginMessage.GUIPageChannelPayload(SRInventory srInventory) ->
                         () -> serverAdapter.openGUI(event.getPlayer(), srInventory);
+                case SRServerPluginMessage.GUIPageV2ChannelPayload page -> () -> openGUIPage(event.getPlayer(), page);
+                case SRServerPluginMessage.GUIPageV3ChannelPayload(var page) -> () -> openGUIPage(event.getPlayer(), page);
                 case SRServerPluginMessage.SkinUpdateV2ChannelPayload(SkinProperty skinProperty) -> () -> {
                     UPDATE_V2_PROXY_WARNING.run(() ->
                             logger.warning("The proxy is running an outdated version of SkinsRestorer. Please update the proxy to the latest version. %s".formatted(SRHelpers.DOWNLOAD_URL)));
                     skinApplier.applySkin(event.getPlayer().getAs(Object.class), skinProperty);
                 };
-                case SRServerPluginMessage.SkinUpdateV3ChannelPayload(
-                        SkinProperty skinProperty,
-                        Optional<SRServerPluginMessage.SkinUpdateV3ChannelPayload.AckPayload> ackPayload
-                ) -> () -> {
-                    skinApplier.applySkin(event.getPlayer().getAs(Object.class), skinProperty);
-                    ackPayload.ifPresent(value -> {
-                        if (value.proxySrVersion().equalsIgnoreCase(BuildData.VERSION)) {
-                            logger.debug("Proxy version %s matches server version %s.".formatted(value.proxySrVersion(), BuildData.VERSION));
-                        } else {
-                            logger.warning("The proxy is running a different version of SkinsRestorer (%s) than this server (%s). Make sure both proxy and server run the latest version of SkinsRestorer. %s"
-                                    .formatted(value.proxySrVersion(), BuildData.VERSION, SRHelpers.DOWNLOAD_URL));
-                        }
-
-                        event.getPlayer().sendToMessageChannel(new SRProxyPluginMessage(
-                                new SRProxyPluginMessage.AckChannelPayload(value.ackId(), BuildData.VERSION)));
-                    });
-                };
+                case SRServerPluginMessage.SkinUpdateV3ChannelPayload update -> () -> handleSkinUpdate(event.getPlayer(), update);
+                case SRServerPluginMessage.SkinUpdateV4ChannelPayload(var update) -> () -> handleSkinUpdate(event.getPlayer(), update);
                 case SRServerPluginMessage.GiveSkullChannelPayload payload ->
                         () -> serverAdapter.giveSkullItem(event.getPlayer(), payload);
                 case SRServerPluginMessage.UnknownChannelPayload ignored ->
@@ -81,4 +77,39 @@ public final class SRServerMessageAdapter {
             });
         });
     }
+
+    private void openGUIPage(SRServerPlayer player, SRServerPluginMessage.GUIPageV2ChannelPayload page) {
+        Optional<GUIPageDelta.Resolved> resolved = guiTemplateCache.resolve(page.definitions(), page.delta());
+        if (resolved.isPresent()) {
+            serverAdapter.openGUI(player, sharedGUI.createGUIPage(resolved.get().pageInfo(), resolved.get().labels()));
+        } else {
+            player.sendToMessageChannel(new SRProxyPluginMessage(
+                    new SRProxyPluginMessage.GUICacheMissChannelPayload(page.delta().page(), page.delta().pageType())));
+        }
+    }
+
+    private void handleSkinUpdate(SRServerPlayer player, SRServerPluginMessage.SkinUpdateV3ChannelPayload update) {
+        // The player usually joined with this skin already, e.g. after switching servers
+        boolean unchanged = serverAdapter.getSkinProperty(player)
+                .map(current -> SharedSkinApplier.isSameSkin(current, update.skinProperty()))
+                .orElse(false);
+        if (unchanged) {
+            logger.debug("Skin of player '%s' is unchanged, skipping refresh.", player.getName());
+            metricsCounter.incrementSkinUpdatesSuppressed();
+        } else {
+            skinApplier.applySkin(player.getAs(Object.class), update.skinProperty());
+        }
+
+        update.ackPayload().ifPresent(value -> {
+            if (value.proxySrVersion().equalsIgnoreCase(BuildData.VERSION)) {
+                logger.debug("Proxy version %s matches server version %s.", value.proxySrVersion(), BuildData.VERSION);
+            } else {
+                logger.warning("The proxy is running a different version of SkinsRestorer (%s) than this server (%s). Make sure both proxy and server run the latest version of SkinsRestorer. %s"
+                        .formatted(value.proxySrVersion(), BuildData.VERSION, SRHelpers.DOWNLOAD_URL));
+            }
+
+            player.sendToMessageChannel(new SRProxyPluginMessage(new SRProxyPluginMessage.AckChannelPayload(
+                    value.ackId(), BuildData.VERSION, GUIPageDelta.PROTOCOL_VERSION, PayloadCompression.VERSION)));
+        });
+    }
 }
@@ -19,11 +19,23 @@ package net.skinsrestorer.shared.listeners.event;
 
 import net.skinsrestorer.api.property.SkinProperty;
 
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public interface SRLoginProfileEvent<R> {
     boolean hasOnlineProperties();
 
+    /**
+     * The signed textures the player was authenticated with by Mojang.
+     * Only available where the login profile was not modified yet.
+     *
+     * @return the textures of an online mode login, or empty if unknown
+     */
+    default Optional<SkinProperty> getOnlineProperty() {
+        return Optional.empty();
+    }
+
     UUID getPlayerUniqueId();
 
     String getPlayerName();
@@ -33,4 +45,24 @@ public interface SRLoginProfileEvent<R> {
     void setResultProperty(SkinProperty property);
 
     R runAsync(Runnable runnable);
+
+    /**
+     * Holds the login until the future is done.
+     * Platforms that can resume a login from a callback should override this, so no thread waits on the future.
+     *
+     * @param future completes once the login may continue
+     */
+    default R holdUntil(CompletableFuture<?> future) {
+        return runAsync(future::join);
+    }
+
+    /**
+     * Whether the login does not continue until {@link #runAsync(Runnable)} is done.
+     * Such logins are only held up to the configured skin lookup deadline.
+     *
+     * @return true if the player is waiting on the skin lookup to join
+     */
+    default boolean holdsLogin() {
+        return false;
+    }
 }
@@ -0,0 +1,268 @@
+/*
+ * SkinsRestorer
+ * Copyright (C) 2024  SkinsRestorer Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.skinsrestorer.shared.log;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Formats and writes log messages on a background thread, so callers do not pay for formatting and console output.
+ * Messages are handed over through a fixed size ring buffer of reused slots, format arguments are only applied when written.
+ */
+class AsyncLogAppender {
+    private static final String WRITE_FAILED = "Failed to write a log message, further failures are not reported.";
+    private final Slot[] slots;
+    private final Sink sink;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    /**
+     * Held while taking a message out of the buffer and writing it, so messages reach the sink in the order they were logged.
+     */
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Thread thread;
+    private int head;
+    private int size;
+    private long dropped;
+    /**
+     * Messages the sink failed to write, guarded by the write lock.
+     */
+    private long failedWrites;
+    private boolean running = true;
+
+    AsyncLogAppender(String threadName, int capacity, Sink sink) {
+        this.slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+        }
+        this.sink = sink;
+        this.thread = new Thread(this::run, threadName);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * @param argCount how many of the arguments belong to the format, zero if the message is not a format
+     * @return false if the buffer is full or the appender was stopped, the caller has to handle the message then
+     */
+    boolean append(SRLogLevel level, String format, int argCount, @Nullable Object arg1, @Nullable Object arg2,
+                   @Nullable Object arg3, @Nullable Throwable thrown) {
+        lock.lock();
+        try {
+            if (!running || size == slots.length) {
+                return false;
+            }
+
+            Slot slot = slots[(head + size) % slots.length];
+            slot.level = level;
+            slot.format = format;
+            slot.argCount = argCount;
+            slot.arg1 = arg1;
+            slot.arg2 = arg2;
+            slot.arg3 = arg3;
+            slot.thrown = thrown;
+            size++;
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes a message on the calling thread after everything that is still buffered,
+     * for messages that must not be dropped while the buffer is full.
+     */
+    void writeInOrder(SRLogLevel level, String format, int argCount, @Nullable Object arg1, @Nullable Object arg2,
+                      @Nullable Object arg3, @Nullable Throwable thrown) {
+        writeLock.lock();
+        try {
+            while (writeNext(false)) {
+                // Drain the buffer first
+            }
+
+            write(level, format, argCount, arg1, arg2, arg3, thrown);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Counts a message that was not written because the buffer was full, it is reported once the buffer drains.
+     */
+    void recordDropped() {
+        lock.lock();
+        try {
+            dropped++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops accepting messages and waits up to the given time for the buffered ones to be written.
+     */
+    void shutdown(long timeout, TimeUnit timeUnit) {
+        lock.lock();
+        try {
+            running = false;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            thread.join(timeUnit.toMillis(timeout));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (awaitMessages()) {
+            writeLock.lock();
+            try {
+                writeNext(true);
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * @return false once the appender was stopped and everything was written
+     */
+    private boolean awaitMessages() {
+        lock.lock();
+        try {
+            while (size == 0) {
+                if (!running) {
+                    return false;
+                }
+
+                try {
+                    notEmpty.await();
+                } catch (InterruptedException e) {
+                    // Write what is left, then stop
+                    running = false;
+                }
+            }
+
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes the oldest buffered message and writes it, the caller has to hold the write lock.
+     *
+     * @param reportDropped whether to report dropped debug messages before the message
+     * @return false if the buffer was empty
+     */
+    private boolean writeNext(boolean reportDropped) {
+        SRLogLevel level;
+        String format;
+        int argCount;
+        Object arg1;
+        Object arg2;
+        Object arg3;
+        Throwable thrown;
+        long droppedMessages = 0;
+        lock.lock();
+        try {
+            if (size == 0) {
+                return false;
+            }
+
+            Slot slot = slots[head];
+            level = slot.level;
+            format = slot.format;
+            argCount = slot.argCount;
+            arg1 = slot.arg1;
+            arg2 = slot.arg2;
+            arg3 = slot.arg3;
+            thrown = slot.thrown;
+            slot.clear();
+            head = (head + 1) % slots.length;
+            size--;
+
+            if (reportDropped) {
+                droppedMessages = dropped;
+                dropped = 0;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (droppedMessages > 0) {
+            write(SRLogLevel.WARNING, "Dropped %d debug messages, the log buffer was full.", 1, droppedMessages, null, null, null);
+        }
+
+        write(level, format, argCount, arg1, arg2, arg3, thrown);
+        return true;
+    }
+
+    private void write(SRLogLevel level, String format, int argCount, @Nullable Object arg1, @Nullable Object arg2,
+                       @Nullable Object arg3, @Nullable Throwable thrown) {
+        try {
+            sink.write(level, format, argCount, arg1, arg2, arg3, thrown);
+        } catch (Throwable t) {
+            // Never let a broken platform logger or format argument kill the thread
+            if (failedWrites++ == 0) {
+                reportWriteFailure(t);
+            }
+        }
+    }
+
+    private void reportWriteFailure(Throwable cause) {
+        try {
+            sink.write(SRLogLevel.SEVERE, WRITE_FAILED, 0, null, null, null, cause);
+        } catch (Throwable t) {
+            // The platform logger itself is broken
+            Logger.getLogger(AsyncLogAppender.class.getName()).log(Level.SEVERE, WRITE_FAILED, cause);
+        }
+    }
+
+    interface Sink {
+        void write(SRLogLevel level, String format, int argCount, @Nullable Object arg1, @Nullable Object arg2,
+                   @Nullable Object arg3, @Nullable Throwable thrown);
+    }
+
+    private static class Slot {
+        private SRLogLevel level;
+        private String format;
+        private int argCount;
+        private Object arg1;
+        private Object arg2;
+        private Object arg3;
+        private Throwable thrown;
+
+        private void clear() {
+            format = null;
+            arg1 = null;
+            arg2 = null;
+            arg3 = null;
+            thrown = null;
+        }
+    }
+}
@@ -19,13 +19,28 @@ package net.skinsrestorer.shared.log;
 
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Debug overloads taking a {@link Supplier} or format arguments only build the message when debug is enabled,
+ * prefer them over formatting at the call site on hot paths.
+ * While logging asynchronously, format arguments are applied on the log thread.
+ */
 @RequiredArgsConstructor
 public class SRLogger {
+    private static final int ASYNC_BUFFER_SIZE = 8192;
     private final SRPlatformLogger logger;
     private final boolean color;
     @Setter
-    private boolean debug = false;
+    private volatile boolean debug = false;
+    private volatile AsyncLogAppender appender;
+
+    public boolean isDebugEnabled() {
+        return debug;
+    }
 
     public void debug(String message) {
         debug(SRLogLevel.INFO, message);
@@ -44,7 +59,7 @@ public class SRLogger {
             return;
         }
 
-        log(level, message);
+        log(level, message, 0, null, null, null, null, true);
     }
 
     public void debug(SRLogLevel level, String message, Throwable thrown) {
@@ -52,39 +67,142 @@ public class SRLogger {
             return;
         }
 
-        log(level, message, thrown);
+        log(level, message, 0, null, null, null, thrown, true);
+    }
+
+    public void debug(Supplier<String> message) {
+        debug(SRLogLevel.INFO, message);
+    }
+
+    public void debug(Supplier<String> message, Throwable thrown) {
+        debug(SRLogLevel.WARNING, message, thrown);
+    }
+
+    public void debug(SRLogLevel level, Supplier<String> message) {
+        if (!debug) {
+            return;
+        }
+
+        log(level, message.get(), 0, null, null, null, null, true);
+    }
+
+    public void debug(SRLogLevel level, Supplier<String> message, Throwable thrown) {
+        if (!debug) {
+            return;
+        }
+
+        log(level, message.get(), 0, null, null, null, thrown, true);
+    }
+
+    public void debug(String format, Object arg) {
+        if (!debug) {
+            return;
+        }
+
+        log(SRLogLevel.INFO, format, 1, arg, null, null, null, true);
+    }
+
+    public void debug(String format, Object arg1, Object arg2) {
+        if (!debug) {
+            return;
+        }
+
+        log(SRLogLevel.INFO, format, 2, arg1, arg2, null, null, true);
+    }
+
+    public void debug(String format, Object arg1, Object arg2, Object arg3) {
+        if (!debug) {
+            return;
+        }
+
+        log(SRLogLevel.INFO, format, 3, arg1, arg2, arg3, null, true);
     }
 
     public void info(String message) {
-        log(SRLogLevel.INFO, message);
+        log(SRLogLevel.INFO, message, 0, null, null, null, null, false);
     }
 
     public void info(String message, Throwable thrown) {
-        log(SRLogLevel.INFO, message, thrown);
+        log(SRLogLevel.INFO, message, 0, null, null, null, thrown, false);
     }
 
     public void warning(String message) {
-        log(SRLogLevel.WARNING, message);
+        log(SRLogLevel.WARNING, message, 0, null, null, null, null, false);
     }
 
     public void warning(String message, Throwable thrown) {
-        log(SRLogLevel.WARNING, message, thrown);
+        log(SRLogLevel.WARNING, message, 0, null, null, null, thrown, false);
     }
 
     public void severe(String message) {
-        log(SRLogLevel.SEVERE, message);
+        log(SRLogLevel.SEVERE, message, 0, null, null, null, null, false);
     }
 
     public void severe(String message, Throwable thrown) {
-        log(SRLogLevel.SEVERE, message, thrown);
+        log(SRLogLevel.SEVERE, message, 0, null, null, null, thrown, false);
     }
 
-    private void log(SRLogLevel level, String message) {
-        logger.log(level, formatMessage(level, message));
+    /**
+     * Formats and writes messages on a background thread from now on.
+     * If the buffer is full, debug messages are dropped and other messages are written on the calling thread
+     * once the buffered messages before them were written.
+     */
+    public synchronized void startAsync() {
+        if (appender == null) {
+            appender = new AsyncLogAppender("SkinsRestorer-Log", ASYNC_BUFFER_SIZE, this::write);
+        }
     }
 
-    private void log(SRLogLevel level, String message, Throwable thrown) {
-        logger.log(level, formatMessage(level, message), thrown);
+    /**
+     * Writes the buffered messages and goes back to logging on the calling thread.
+     */
+    public synchronized void stopAsync() {
+        AsyncLogAppender current = appender;
+        if (current == null) {
+            return;
+        }
+
+        appender = null;
+        current.shutdown(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * @param argCount how many of the arguments belong to the format, zero if the message is not a format
+     */
+    private void log(SRLogLevel level, String format, int argCount, @Nullable Object arg1, @Nullable Object arg2,
+                     @Nullable Object arg3, @Nullable Throwable thrown, boolean debugMessage) {
+        AsyncLogAppender current = appender;
+        if (current != null) {
+            if (current.append(level, format, argCount, arg1, arg2, arg3, thrown)) {
+                return;
+            }
+
+            if (debugMessage) {
+                current.recordDropped();
+            } else {
+                current.writeInOrder(level, format, argCount, arg1, arg2, arg3, thrown);
+            }
+
+            return;
+        }
+
+        write(level, format, argCount, arg1, arg2, arg3, thrown);
+    }
+
+    private void write(SRLogLevel level, String format, int argCount, @Nullable Object arg1, @Nullable Object arg2,
+                       @Nullable Object arg3, @Nullable Throwable thrown) {
+        String message = switch (argCount) {
+            case 0 -> format;
+            case 1 -> format.formatted(arg1);
+            case 2 -> format.formatted(arg1, arg2);
+            default -> format.formatted(arg1, arg2, arg3);
+        };
+
+        if (thrown == null) {
+            logger.log(level, formatMessage(level, message));
+        } else {
+            logger.log(level, formatMessage(level, message), thrown);
+        }
     }
 
     private String formatMessage(SRLogLevel level, String message) {
@@ -0,0 +1,187 @@
+/*
+ * SkinsRestorer
+ * Copyright (C) 2024  SkinsRestorer Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.skinsrestorer.shared.placeholders;
+
+import lombok.RequiredArgsConstructor;
+import net.skinsrestorer.api.PropertyUtils;
+import net.skinsrestorer.api.event.SkinApplyEvent;
+import net.skinsrestorer.api.exception.DataRequestException;
+import net.skinsrestorer.api.model.MojangProfileTexture;
+import net.skinsrestorer.api.property.SkinIdentifier;
+import net.skinsrestorer.api.property.SkinProperty;
+import net.skinsrestorer.api.storage.PlayerStorage;
+import net.skinsrestorer.shared.api.event.EventBusImpl;
+import net.skinsrestorer.shared.log.SRLogger;
+import net.skinsrestorer.shared.plugin.SRPlatformAdapter;
+import org.jetbrains.annotations.Nullable;
+
+import javax.inject.Inject;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Resolved placeholder data for PlaceholderAPI and MiniPlaceholders.
+ * Placeholders are requested many times per second on the main thread, so storage data is loaded
+ * in the background and served from memory. Until it is loaded, lookups return empty instead of blocking.
+ * Textures of online players come from their profile, only decoding them is cached.
+ */
+@RequiredArgsConstructor(onConstructor_ = @Inject)
+public class PlaceholderCache {
+    private static final long REFRESH_AFTER_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final int MAX_PLAYERS = 8192;
+    private static final int MAX_TEXTURES = 1024;
+
+    private final SRPlatformAdapter adapter;
+    private final SRLogger logger;
+    private final PlayerStorage playerStorage;
+    private final EventBusImpl eventBus;
+    private final Map<UUID, Slot> slots = new ConcurrentHashMap<>();
+    private final Map<String, TextureInfo> textures = new ConcurrentHashMap<>();
+
+    /**
+     * Invalidates players whenever a skin is applied to them.
+     *
+     * @param playerClass      the platform player class
+     * @param uniqueIdFunction gets the unique id of a platform player
+     */
+    public <P> void listenForChanges(Object plugin, Class<P> playerClass, Function<P, UUID> uniqueIdFunction) {
+        eventBus.subscribe(plugin, SkinApplyEvent.class, event -> invalidate(uniqueIdFunction.apply(event.getPlayer(playerClass))));
+    }
+
+    /**
+     * @return empty while the data is being loaded
+     */
+    public Optional<PlayerData> getPlayerData(UUID uniqueId) {
+        return get(uniqueId, null);
+    }
+
+    /**
+     * Like {@link #getPlayerData(UUID)}, but also loads the stored skin texture, for players that are not online.
+     */
+    public Optional<PlayerData> getOfflinePlayerData(UUID uniqueId, String playerName) {
+        return get(uniqueId, playerName);
+    }
+
+    public TextureInfo getTexture(SkinProperty property) {
+        TextureInfo texture = textures.get(property.getValue());
+        if (texture == null) {
+            if (textures.size() >= MAX_TEXTURES) {
+                textures.clear();
+            }
+
+            MojangProfileTexture skin = PropertyUtils.getSkinProfileData(property).getTextures().getSKIN();
+            texture = new TextureInfo(skin.getUrl(), skin.getTextureHash());
+            textures.put(property.getValue(), texture);
+        }
+
+        return texture;
+    }
+
+    /**
+     * Loads the player again on the next lookup, the old data is served until then.
+     */
+    public void invalidate(UUID uniqueId) {
+        Slot slot = slots.get(uniqueId);
+        if (slot != null) {
+            slot.generation.incrementAndGet();
+        }
+    }
+
+    public void remove(UUID uniqueId) {
+        slots.remove(uniqueId);
+    }
+
+    private Optional<PlayerData> get(UUID uniqueId, @Nullable String offlinePlayerName) {
+        Slot slot = slots.get(uniqueId);
+        if (slot == null) {
+            if (slots.size() >= MAX_PLAYERS) {
+                slots.clear();
+            }
+
+            slot = slots.computeIfAbsent(uniqueId, k -> new Slot());
+        }
+
+        Loaded loaded = slot.loaded;
+        boolean usable = loaded != null && (offlinePlayerName == null || loaded.withStoredTexture());
+        if (!usable
+                || loaded.generation() != slot.generation.get()
+                || System.currentTimeMillis() - loaded.loadedAt() > REFRESH_AFTER_MILLIS) {
+            load(uniqueId, slot, offlinePlayerName);
+        }
+
+        return usable ? Optional.of(loaded.data()) : Optional.empty();
+    }
+
+    private void load(UUID uniqueId, Slot slot, @Nullable String offlinePlayerName) {
+        if (!slot.loading.compareAndSet(false, true)) {
+            return;
+        }
+
+        int generation = slot.generation.get();
+        try {
+            adapter.runAsync(() -> {
+                try {
+                    Optional<String> skinName = playerStorage.getSkinIdOfPlayer(uniqueId).map(SkinIdentifier::getIdentifier);
+                    Optional<TextureInfo> storedTexture = Optional.empty();
+                    if (offlinePlayerName != null) {
+                        try {
+                            storedTexture = playerStorage.getSkinForPlayer(uniqueId, offlinePlayerName).map(this::getTexture);
+                        } catch (DataRequestException e) {
+                            logger.severe("Failed to get skin data of player %s".formatted(uniqueId), e);
+                        }
+                    }
+
+                    slot.loaded = new Loaded(new PlayerData(skinName, storedTexture),
+                            offlinePlayerName != null, System.currentTimeMillis(), generation);
+                } catch (RuntimeException e) {
+                    logger.severe("Failed to load placeholder data of player %s".formatted(uniqueId), e);
+                } finally {
+                    slot.loading.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            slot.loading.set(false);
+            throw e;
+        }
+    }
+
+    /**
+     * @param skinName      identifier of the skin the player has set
+     * @param storedTexture texture of the skin stored for the player, only loaded for offline players
+     */
+    public record PlayerData(Optional<String> skinName, Optional<TextureInfo> storedTexture) {
+    }
+
+    public record TextureInfo(String url, String hash) {
+    }
+
+    private record Loaded(PlayerData data, boolean withStoredTexture, long loadedAt, int generation) {
+    }
+
+    private static class Slot {
+        private final AtomicBoolean loading = new AtomicBoolean();
+        private final AtomicInteger generation = new AtomicInteger();
+        private volatile Loaded loaded;
+    }
+}
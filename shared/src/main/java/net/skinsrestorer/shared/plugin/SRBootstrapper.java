@@ -38,12 +38,14 @@ public class SRBootstrapper {
             Path dataFolder,
             Class<? extends SRPlatformInit> initClass) {
         SRPlugin srPlugin = null;
+        SRLogger logger = null;
         try {
             Injector injector = SRHelpers.createInjector();
 
             platformRegister.forEach(pc -> pc.accept(injector));
 
-            injector.register(SRLogger.class, new SRLogger(isrLogger, loggerColor));
+            logger = new SRLogger(isrLogger, loggerColor);
+            injector.register(SRLogger.class, logger);
 
             SRPlatformAdapter adapter = injector.getSingleton(adapterClass);
             injector.register(SRPlatformAdapter.class, adapter);
@@ -59,8 +61,18 @@ public class SRBootstrapper {
             // Allow a platform to call plugin shutdown
             shutdownHookConsumer.accept(srPlugin::shutdown);
 
+            // Stopped again in SRPlugin#shutdown, unit tests keep logging in order on the calling thread
+            if (!SRPlugin.isUnitTest()) {
+                logger.startAsync();
+            }
+
             srPlugin.startup(initClass);
         } catch (Throwable t) {
+            // Flush what startup logged before, so the error is not printed ahead of it or the log thread left running
+            if (logger != null) {
+                logger.stopAsync();
+            }
+
             isrLogger.log(SRLogLevel.SEVERE, "An unexpected error occurred while starting the plugin. Please check the console for more details.", t);
 
             if (SRPlugin.isUnitTest()) {
@@ -0,0 +1,326 @@
+/*
+ * SkinsRestorer
+ * Copyright (C) 2024  SkinsRestorer Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.skinsrestorer.shared.plugin;
+
+import lombok.Getter;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Executor owned by SkinsRestorer that platform adapters may delegate their async methods to.
+ * Work is split into two lanes: {@link Lane#IO} for blocking work like storage and HTTP calls,
+ * and {@link Lane#CPU} for short computations.
+ * The IO lane is unbounded, callers block on its results, so rejecting or parking work there could deadlock them.
+ * It runs every task on its own virtual thread when the runtime supports them.
+ * Only the CPU lane has a bounded admission queue, tasks submitted while it is full are rejected instead of piling up.
+ */
+public class SRExecutor {
+    private static final int DEFAULT_CPU_QUEUE_CAPACITY = 4096;
+
+    private final LaneExecutor ioLane;
+    private final LaneExecutor cpuLane;
+    private final ScheduledExecutorService timer;
+    @Getter
+    private final boolean virtualThreads;
+
+    public SRExecutor(String name) {
+        this(name, Math.max(2, Runtime.getRuntime().availableProcessors() / 2), DEFAULT_CPU_QUEUE_CAPACITY);
+    }
+
+    public SRExecutor(String name, int cpuConcurrency, int cpuQueueCapacity) {
+        ThreadFactory virtualFactory = createVirtualThreadFactory(name + "-IO-");
+        this.virtualThreads = virtualFactory != null;
+        this.ioLane = new LaneExecutor(Integer.MAX_VALUE, 0, virtualFactory != null
+                ? runnable -> virtualFactory.newThread(runnable).start()
+                : createCachedPool(name + "-IO-"));
+        this.cpuLane = new LaneExecutor(cpuConcurrency, cpuQueueCapacity, createPlatformPool(name + "-CPU-", cpuConcurrency));
+        this.timer = Executors.newSingleThreadScheduledExecutor(namedDaemonFactory(name + "-Timer-"));
+    }
+
+    /**
+     * Run a task on the given lane.
+     *
+     * @throws RejectedExecutionException if the CPU lane queue is full or the executor was shut down
+     */
+    public void execute(Lane lane, Runnable runnable) {
+        laneExecutor(lane).submit(runnable);
+    }
+
+    public void schedule(Lane lane, Runnable runnable, long delay, TimeUnit timeUnit) {
+        timer.schedule(() -> handOff(lane, runnable), delay, timeUnit);
+    }
+
+    public void scheduleRepeating(Lane lane, Runnable runnable, long delay, long interval, TimeUnit timeUnit) {
+        timer.scheduleWithFixedDelay(() -> handOff(lane, runnable), delay, interval, timeUnit);
+    }
+
+    private void handOff(Lane lane, Runnable runnable) {
+        try {
+            execute(lane, runnable);
+        } catch (RejectedExecutionException e) {
+            if (lane == Lane.IO) {
+                // The IO lane only rejects after shutdown, which also stops this timer
+                return;
+            }
+
+            // A saturated CPU lane must not drop scheduled work, the unbounded IO lane takes it instead
+            handOff(Lane.IO, runnable);
+        }
+    }
+
+    public LaneStats getStats(Lane lane) {
+        return laneExecutor(lane).snapshot();
+    }
+
+    public Map<Lane, LaneStats> getStats() {
+        Map<Lane, LaneStats> stats = new EnumMap<>(Lane.class);
+        for (Lane lane : Lane.values()) {
+            stats.put(lane, getStats(lane));
+        }
+
+        return stats;
+    }
+
+    /**
+     * Stops accepting tasks and waits up to the given time for running tasks to finish.
+     */
+    public void shutdown(long timeout, TimeUnit timeUnit) {
+        timer.shutdownNow();
+        ioLane.shutdown();
+        cpuLane.shutdown();
+
+        long deadline = System.nanoTime() + timeUnit.toNanos(timeout);
+        try {
+            while (!ioLane.isIdle() || !cpuLane.isIdle()) {
+                if (System.nanoTime() - deadline >= 0) {
+                    break;
+                }
+
+                Thread.sleep(10);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        ioLane.shutdownNow();
+        cpuLane.shutdownNow();
+    }
+
+    private LaneExecutor laneExecutor(Lane lane) {
+        return switch (lane) {
+            case IO -> ioLane;
+            case CPU -> cpuLane;
+        };
+    }
+
+    private static ThreadFactory createVirtualThreadFactory(String prefix) {
+        // Looked up reflectively, platform jars are also built for runtimes without virtual threads
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService createCachedPool(String prefix) {
+        // Fallback for runtimes without virtual threads, grows with demand like the virtual thread spawner
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), namedDaemonFactory(prefix));
+    }
+
+    private static ExecutorService createPlatformPool(String prefix, int size) {
+        // Admission is bounded by the lane, this queue only absorbs the hand-over between two tasks
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(size, size, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), namedDaemonFactory(prefix));
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private static ThreadFactory namedDaemonFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public enum Lane {
+        /**
+         * Blocking work like storage access and HTTP requests. Never rejects tasks before shutdown.
+         */
+        IO,
+        /**
+         * Short non-blocking computations like image hashing or building GUI pages.
+         */
+        CPU
+    }
+
+    /**
+     * Point in time view of a lane.
+     *
+     * @param queued        tasks admitted but not yet started
+     * @param running       tasks currently running
+     * @param completed     tasks finished since startup
+     * @param rejected      tasks rejected because the queue was full or the executor was shut down,
+     *                      the IO lane only rejects after shutdown
+     * @param avgWaitMillis average time tasks spent queued
+     * @param maxWaitMillis longest time a task spent queued
+     * @param avgRunMillis  average task run time
+     */
+    public record LaneStats(int queued, int running, long completed, long rejected,
+                            double avgWaitMillis, double maxWaitMillis, double avgRunMillis) {
+    }
+
+    private static class LaneExecutor {
+        private final Queue<QueuedTask> queue;
+        private final int concurrency;
+        private final Executor spawner;
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicInteger running = new AtomicInteger();
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder totalWaitNanos = new LongAdder();
+        private final LongAdder totalRunNanos = new LongAdder();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+        private volatile boolean shutdown;
+
+        private LaneExecutor(int concurrency, int queueCapacity, Executor spawner) {
+            // A capacity of zero or less means the lane admits everything
+            this.queue = queueCapacity > 0 ? new ArrayBlockingQueue<>(queueCapacity) : new ConcurrentLinkedQueue<>();
+            this.concurrency = concurrency;
+            this.spawner = spawner;
+        }
+
+        private void submit(Runnable runnable) {
+            queued.incrementAndGet();
+            if (shutdown || !queue.offer(new QueuedTask(runnable, System.nanoTime()))) {
+                queued.decrementAndGet();
+                rejected.increment();
+                throw new RejectedExecutionException("SkinsRestorer executor queue is full or shut down");
+            }
+
+            drain();
+        }
+
+        private void drain() {
+            while (!queue.isEmpty()) {
+                int current = running.get();
+                if (current >= concurrency) {
+                    return;
+                }
+
+                if (!running.compareAndSet(current, current + 1)) {
+                    continue;
+                }
+
+                QueuedTask task = queue.poll();
+                if (task == null) {
+                    running.decrementAndGet();
+                    continue;
+                }
+
+                queued.decrementAndGet();
+                try {
+                    spawner.execute(() -> run(task));
+                } catch (RejectedExecutionException e) {
+                    running.decrementAndGet();
+                    rejected.increment();
+                }
+            }
+        }
+
+        private void run(QueuedTask task) {
+            // Keep the slot and work through the queue, so a platform pool never needs more threads than its concurrency
+            try {
+                while (task != null) {
+                    runTask(task);
+                    task = shutdown ? null : queue.poll();
+                    if (task != null) {
+                        queued.decrementAndGet();
+                    }
+                }
+            } finally {
+                running.decrementAndGet();
+            }
+
+            // A task may have been queued after our last poll
+            drain();
+        }
+
+        private void runTask(QueuedTask task) {
+            long start = System.nanoTime();
+            long waited = start - task.submittedAt();
+            totalWaitNanos.add(waited);
+            maxWaitNanos.accumulateAndGet(waited, Math::max);
+            try {
+                task.runnable().run();
+            } catch (Throwable t) {
+                Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+            } finally {
+                totalRunNanos.add(System.nanoTime() - start);
+                completed.increment();
+            }
+        }
+
+        private boolean isIdle() {
+            return running.get() == 0 && queue.isEmpty();
+        }
+
+        private void shutdown() {
+            shutdown = true;
+        }
+
+        private void shutdownNow() {
+            shutdown = true;
+            int dropped = 0;
+            while (queue.poll() != null) {
+                dropped++;
+            }
+
+            queued.addAndGet(-dropped);
+            if (spawner instanceof ExecutorService service) {
+                service.shutdownNow();
+            }
+        }
+
+        private LaneStats snapshot() {
+            long done = completed.sum();
+            return new LaneStats(
+                    queued.get(),
+                    running.get(),
+                    done,
+                    rejected.sum(),
+                    done == 0 ? 0 : totalWaitNanos.sum() / 1_000_000D / done,
+                    maxWaitNanos.get() / 1_000_000D,
+                    done == 0 ? 0 : totalRunNanos.sum() / 1_000_000D / done
+            );
+        }
+    }
+
+    private record QueuedTask(Runnable runnable, long submittedAt) {
+    }
+}
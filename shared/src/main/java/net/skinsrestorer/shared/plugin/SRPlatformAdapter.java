@@ -26,12 +26,14 @@ import net.skinsrestorer.shared.info.PluginInfo;
 import net.skinsrestorer.shared.subjects.SRCommandSender;
 import net.skinsrestorer.shared.subjects.SRPlayer;
 import org.incendo.cloud.CommandManager;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
@@ -39,9 +41,15 @@ import java.util.concurrent.TimeUnit;
 public interface SRPlatformAdapter {
     CommandManager<SRCommandSender> createCommandManager();
 
-    Collection<SRPlayer> getOnlinePlayers(SRCommandSender sender);
+    /**
+     * Get all players visible to the sender.
+     *
+     * @param sender The sender requesting the players, or null for lookups not triggered by a sender.
+     * @return The online players.
+     */
+    Collection<SRPlayer> getOnlinePlayers(@Nullable SRCommandSender sender);
 
-    Optional<SRPlayer> getPlayer(SRCommandSender sender, UUID uniqueId);
+    Optional<SRPlayer> getPlayer(@Nullable SRCommandSender sender, UUID uniqueId);
 
     InputStream getResource(String resource);
 
@@ -102,6 +110,14 @@ public interface SRPlatformAdapter {
     default void shutdownCleanup() {
     }
 
+    /**
+     * Statistics of the {@link SRExecutor} lanes, shown in the dump.
+     * Empty on platforms that run async work on their own scheduler.
+     */
+    default Map<SRExecutor.Lane, SRExecutor.LaneStats> getExecutorStats() {
+        return Map.of();
+    }
+
     void openGUI(SRPlayer player, SRInventory srInventory);
 
     void giveSkullItem(SRPlayer player, SRServerPluginMessage.GiveSkullChannelPayload giveSkullPayload);
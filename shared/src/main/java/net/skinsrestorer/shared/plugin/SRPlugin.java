@@ -51,6 +51,7 @@ import net.skinsrestorer.shared.floodgate.FloodgateUtil;
 import net.skinsrestorer.shared.log.SRChatColor;
 import net.skinsrestorer.shared.log.SRLogger;
 import net.skinsrestorer.shared.storage.CacheStorageImpl;
+import net.skinsrestorer.shared.storage.LegacyPlayerMigrator;
 import net.skinsrestorer.shared.storage.PlayerStorageImpl;
 import net.skinsrestorer.shared.storage.SkinStorageImpl;
 import net.skinsrestorer.shared.storage.adapter.AdapterReference;
@@ -62,6 +63,8 @@ import net.skinsrestorer.shared.storage.adapter.postgresql.PostgreSQLAdapter;
 import net.skinsrestorer.shared.storage.adapter.postgresql.PostgreSQLProvider;
 import net.skinsrestorer.shared.subjects.SRSubjectWrapper;
 import net.skinsrestorer.shared.subjects.messages.MessageLoader;
+import net.skinsrestorer.shared.subjects.messages.SkinsRestorerLocale;
+import net.skinsrestorer.shared.subjects.permissions.SkinPermissionManager;
 import net.skinsrestorer.shared.update.UpdateCheckInit;
 import net.skinsrestorer.shared.utils.MetricsCounter;
 import net.skinsrestorer.shared.utils.ReflectionUtil;
@@ -158,6 +161,8 @@ public class SRPlugin {
         logger.setDebug(settings.getProperty(DevConfig.DEBUG) || unitTest);
 
         revertSettings(settings);
+        injector.getSingleton(ConfigSnapshotProvider.class).reload();
+        injector.getSingleton(SkinPermissionManager.class).reload();
     }
 
     private void revertSettings(SettingsManager settings) {
@@ -196,6 +201,8 @@ public class SRPlugin {
 
     public void loadLocales() throws IOException {
         injector.getSingleton(MessageLoader.class).loadMessages();
+        // Also picks up config changes, the prefix setting is compiled into the messages
+        injector.getSingleton(SkinsRestorerLocale.class).clearCache();
     }
 
     public void moveOldFiles() {
@@ -271,8 +278,14 @@ public class SRPlugin {
 
             injector.getSingleton(AdapterReference.class).setAdapter(storageAdapter);
 
+            // Find out whether logins still need to check for legacy player data
+            adapter.runAsync(injector.getSingleton(LegacyPlayerMigrator.class)::load);
+
             // Preload default skins
             adapter.runAsync(skinStorage::preloadDefaultSkins);
+
+            // Continue MineSkin uploads that were pending before the last shutdown
+            adapter.runAsync(skinStorage::resumeMineSkinJobs);
         } catch (SQLException | RuntimeException e) {
             String databaseName = switch (databaseType) {
                 case FILE -> "file storage";
@@ -335,6 +348,8 @@ public class SRPlugin {
         for (MetricsCounter.Service service : MetricsCounter.Service.values()) {
             metrics.addCustomChart(new SingleLineChart(service.name().toLowerCase(Locale.ROOT), () -> metricsCounter.collect(service)));
         }
+        metrics.addCustomChart(new SingleLineChart("login_deadline_exceeded", metricsCounter::collectLoginDeadlineExceeded));
+        metrics.addCustomChart(new SingleLineChart("skin_updates_suppressed", metricsCounter::collectSkinUpdatesSuppressed));
     }
 
     public void startup(Class<? extends SRPlatformInit> initClass) throws Exception {
@@ -435,7 +450,15 @@ public class SRPlugin {
     }
 
     public void shutdown() {
+        MineSkinAPIImpl mineSkinAPI = injector.getIfAvailable(MineSkinAPIImpl.class);
+        if (mineSkinAPI != null) {
+            mineSkinAPI.cancelPendingJobs();
+        }
+
         adapter.shutdownCleanup();
         shutdownHooks.forEach(Runnable::run);
+
+        // Flush buffered messages before the platform unloads the plugin
+        logger.stopAsync();
     }
 }
@@ -0,0 +1,66 @@
+/*
+ * SkinsRestorer
+ * Copyright (C) 2024  SkinsRestorer Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.skinsrestorer.shared.plugin;
+
+import lombok.RequiredArgsConstructor;
+import net.skinsrestorer.shared.log.SRLogger;
+import net.skinsrestorer.shared.utils.RunOnce;
+import net.skinsrestorer.shared.utils.TimingWheel;
+
+import javax.inject.Inject;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared scheduler for delayed tasks of SkinsRestorer.
+ * All tasks live in one {@link TimingWheel} that is driven by a single repeating platform task,
+ * instead of every task getting its own scheduled future. Due tasks are run with {@link SRPlatformAdapter#runAsync(Runnable)}.
+ */
+@RequiredArgsConstructor(onConstructor_ = @Inject)
+public class SRScheduler {
+    private static final long TICK_MILLIS = 100;
+
+    private final SRPlatformAdapter adapter;
+    private final SRLogger logger;
+    private final TimingWheel wheel = new TimingWheel(System::nanoTime, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    private final RunOnce driver = new RunOnce();
+
+    public TimingWheel.Timeout schedule(Runnable runnable, long delay, TimeUnit timeUnit) {
+        driver.run(() -> adapter.runRepeatAsync(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS));
+        return wheel.schedule(runnable, delay, timeUnit);
+    }
+
+    private void tick() {
+        for (Runnable runnable : wheel.advance()) {
+            try {
+                adapter.runAsync(runnable);
+            } catch (RuntimeException e) {
+                // Never drop a due task, run it on the tick thread instead
+                logger.debug("Could not hand off scheduled task, running it inline", e);
+                runInline(runnable);
+            }
+        }
+    }
+
+    private void runInline(Runnable runnable) {
+        try {
+            runnable.run();
+        } catch (Throwable t) {
+            logger.severe("Failed to run scheduled task", t);
+        }
+    }
+}
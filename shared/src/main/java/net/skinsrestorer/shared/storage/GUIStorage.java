@@ -17,12 +17,12 @@
  */
 package net.skinsrestorer.shared.storage;
 
-import ch.jalu.configme.SettingsManager;
 import lombok.RequiredArgsConstructor;
 import net.skinsrestorer.api.PropertyUtils;
 import net.skinsrestorer.api.property.SkinIdentifier;
 import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
-import net.skinsrestorer.shared.config.GUIConfig;
+import net.skinsrestorer.shared.config.ConfigSnapshot;
+import net.skinsrestorer.shared.config.ConfigSnapshotProvider;
 import net.skinsrestorer.shared.connections.RecommendationsState;
 import net.skinsrestorer.shared.gui.GUIUtils;
 import net.skinsrestorer.shared.gui.PageInfo;
@@ -46,16 +46,17 @@ public class GUIStorage {
     private final SkinsRestorerLocale locale;
     private final PlayerStorageImpl playerStorage;
     private final SkinStorageImpl skinStorage;
-    private final SettingsManager settings;
+    private final ConfigSnapshotProvider configProvider;
     private final AdapterReference adapterReference;
     private final RecommendationsState recommendationsState;
     private final SkinPermissionManager permissionManager;
 
     public PageInfo getGUIPage(SRPlayer player, int page, PageType pageType) {
-        return GUIUtils.getGUIPage(player, locale, settings, playerStorage, permissionManager, page, pageType, new GUIUtils.GUIDataSource() {
+        ConfigSnapshot config = configProvider.get();
+        return GUIUtils.getGUIPage(player, locale, config, playerStorage, permissionManager, page, pageType, new GUIUtils.GUIDataSource() {
             @Override
             public boolean isEnabled() {
-                return settings.getProperty(GUIConfig.CUSTOM_GUI_ENABLED);
+                return config.customGUIEnabled();
             }
 
             @Override
@@ -65,7 +66,7 @@ public class GUIStorage {
 
             @Override
             public int getIndex() {
-                return settings.getProperty(GUIConfig.CUSTOM_GUI_INDEX);
+                return config.customGUIIndex();
             }
 
             @Override
@@ -80,7 +81,7 @@ public class GUIStorage {
         }, new GUIUtils.GUIDataSource() {
             @Override
             public boolean isEnabled() {
-                return settings.getProperty(GUIConfig.PLAYERS_GUI_ENABLED);
+                return config.playersGUIEnabled();
             }
 
             @Override
@@ -90,7 +91,7 @@ public class GUIStorage {
 
             @Override
             public int getIndex() {
-                return settings.getProperty(GUIConfig.PLAYERS_GUI_INDEX);
+                return config.playersGUIIndex();
             }
 
             @Override
@@ -105,7 +106,7 @@ public class GUIStorage {
         }, new GUIUtils.GUIDataSource() {
             @Override
             public boolean isEnabled() {
-                return settings.getProperty(GUIConfig.RECOMMENDATIONS_GUI_ENABLED);
+                return config.recommendationsGUIEnabled();
             }
 
             @Override
@@ -115,7 +116,7 @@ public class GUIStorage {
 
             @Override
             public int getIndex() {
-                return settings.getProperty(GUIConfig.RECOMMENDATIONS_GUI_INDEX);
+                return config.recommendationsGUIIndex();
             }
 
             @Override
@@ -165,7 +166,7 @@ public class GUIStorage {
                                         skinStorage.resolveSkinName(h.getSkinIdentifier()),
                                         PropertyUtils.getSkinTextureHash(property),
                                         List.of(locale.getMessageRequired(player, Message.SKINSMENU_HISTORY_LORE,
-                                                Placeholder.parsed("time", SRHelpers.formatEpochSeconds(settings, h.getTimestamp(), player.getLocale()))))
+                                                Placeholder.parsed("time", SRHelpers.formatEpochSeconds(config, h.getTimestamp(), player.getLocale()))))
                                 )))
                         .toList();
             }
@@ -0,0 +1,102 @@
+/*
+ * SkinsRestorer
+ * Copyright (C) 2024  SkinsRestorer Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.skinsrestorer.shared.storage;
+
+import lombok.RequiredArgsConstructor;
+import net.skinsrestorer.shared.log.SRLogger;
+import net.skinsrestorer.shared.storage.adapter.AdapterReference;
+import net.skinsrestorer.shared.storage.adapter.StorageAdapter;
+
+import javax.inject.Inject;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Migrates legacy player data on login without a storage read per login.
+ * The names that still have legacy data are loaded once in the background,
+ * and once none are left the backend records that the migration is complete.
+ */
+@RequiredArgsConstructor(onConstructor_ = @Inject)
+public class LegacyPlayerMigrator {
+    private final AdapterReference adapterReference;
+    private final SRLogger logger;
+    private volatile boolean complete;
+    private volatile Set<String> pendingNames; // null until loaded, every login is checked until then
+
+    public void load() {
+        StorageAdapter storage = adapterReference.get();
+        if (storage.isLegacyMigrationComplete()) {
+            complete = true;
+            return;
+        }
+
+        try {
+            Set<String> names = ConcurrentHashMap.newKeySet();
+            names.addAll(storage.getLegacyPlayerNames());
+            pendingNames = names;
+            logger.debug("Found %d players with legacy data left to migrate", names.size());
+            checkComplete(storage);
+        } catch (StorageAdapter.StorageException e) {
+            logger.warning("Failed to load legacy player names, checking every login instead", e);
+        }
+    }
+
+    public void migrate(String playerName, UUID uuid) throws StorageAdapter.StorageException {
+        if (complete) {
+            return;
+        }
+
+        StorageAdapter storage = adapterReference.get();
+        Set<String> pending = pendingNames;
+        if (pending == null) {
+            storage.migrateLegacyPlayer(playerName, uuid);
+            return;
+        }
+
+        String key = normalize(playerName);
+        if (!pending.remove(key)) {
+            return;
+        }
+
+        try {
+            storage.migrateLegacyPlayer(playerName, uuid);
+        } catch (StorageAdapter.StorageException | RuntimeException e) {
+            pending.add(key); // Try again on the next login
+            throw e;
+        }
+
+        checkComplete(storage);
+    }
+
+    private synchronized void checkComplete(StorageAdapter storage) {
+        if (complete || !pendingNames.isEmpty()) {
+            return;
+        }
+
+        complete = true;
+        storage.setLegacyMigrationComplete();
+        logger.debug("All legacy player data has been migrated");
+    }
+
+    private static String normalize(String playerName) {
+        // The use of #toLowerCase() instead of #toLowerCase(Locale.ROOT) is intentional
+        // This is because the legacy player names used this incorrect way of lowercasing
+        return playerName.toLowerCase();
+    }
+}
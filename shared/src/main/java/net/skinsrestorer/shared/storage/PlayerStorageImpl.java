@@ -26,8 +26,8 @@ import net.skinsrestorer.api.property.SkinIdentifier;
 import net.skinsrestorer.api.property.SkinProperty;
 import net.skinsrestorer.api.storage.PlayerStorage;
 import net.skinsrestorer.shared.config.CommandConfig;
-import net.skinsrestorer.shared.config.LoginConfig;
-import net.skinsrestorer.shared.config.StorageConfig;
+import net.skinsrestorer.shared.config.ConfigSnapshot;
+import net.skinsrestorer.shared.config.ConfigSnapshotProvider;
 import net.skinsrestorer.shared.connections.RecommendationsState;
 import net.skinsrestorer.shared.floodgate.FloodgateUtil;
 import net.skinsrestorer.shared.log.SRLogger;
@@ -48,6 +48,7 @@ import java.util.stream.Stream;
 @RequiredArgsConstructor(onConstructor_ = @Inject)
 public class PlayerStorageImpl implements PlayerStorage {
     private final SettingsManager settings;
+    private final ConfigSnapshotProvider configProvider;
     private final SkinStorageImpl skinStorage;
     private final SRLogger logger;
     private final AdapterReference adapterReference;
@@ -288,17 +289,18 @@ public class PlayerStorageImpl implements PlayerStorage {
         }
 
         if (FloodgateUtil.isFloodgateBedrockPlayer(uuid)) {
-            logger.debug("Player %s is a Floodgate player, not searching for java skin.".formatted(playerName));
+            logger.debug("Player %s is a Floodgate player, not searching for java skin.", playerName);
             return Optional.empty();
         }
 
-        if (isOnlineMode && !settings.getProperty(LoginConfig.ALWAYS_APPLY_PREMIUM)) {
+        ConfigSnapshot config = configProvider.get();
+        if (isOnlineMode && !config.alwaysApplyPremium()) {
             return Optional.empty();
         }
 
-        boolean defaultSkinsEnabled = settings.getProperty(StorageConfig.DEFAULT_SKINS_ENABLED);
-        if (defaultSkinsEnabled && settings.getProperty(StorageConfig.DEFAULT_SKINS_PREMIUM)) {
-            return getDefaultSkin();
+        boolean defaultSkinsEnabled = config.defaultSkinsEnabled();
+        if (defaultSkinsEnabled && config.defaultSkinsPremium()) {
+            return getDefaultSkin(config);
         }
 
         Optional<MojangSkinDataResult> premiumSkin = skinStorage.getPlayerSkin(playerName, false);
@@ -308,15 +310,15 @@ public class PlayerStorageImpl implements PlayerStorage {
         }
 
         if (defaultSkinsEnabled) {
-            return getDefaultSkin();
+            return getDefaultSkin(config);
         }
 
         return Optional.empty();
     }
 
-    private Optional<SkinForResult> getDefaultSkin() {
+    private Optional<SkinForResult> getDefaultSkin(ConfigSnapshot config) {
         // return default skin name if user has no custom skin set, or we want to clear to default
-        List<String> skins = settings.getProperty(StorageConfig.DEFAULT_SKINS);
+        List<String> skins = config.defaultSkins();
 
         // return player name if there are no default skins set
         if (skins.isEmpty()) {
@@ -18,6 +18,7 @@
 package net.skinsrestorer.shared.storage;
 
 import ch.jalu.configme.SettingsManager;
+import ch.jalu.injector.Injector;
 import lombok.RequiredArgsConstructor;
 import net.skinsrestorer.api.PropertyUtils;
 import net.skinsrestorer.api.connections.model.MineSkinResponse;
@@ -26,29 +27,35 @@ import net.skinsrestorer.api.exception.MineSkinException;
 import net.skinsrestorer.api.model.MojangProfileResponse;
 import net.skinsrestorer.api.property.*;
 import net.skinsrestorer.api.storage.SkinStorage;
+import net.skinsrestorer.shared.api.SharedSkinApplier;
+import net.skinsrestorer.shared.config.ConfigSnapshot;
+import net.skinsrestorer.shared.config.ConfigSnapshotProvider;
 import net.skinsrestorer.shared.config.StorageConfig;
 import net.skinsrestorer.shared.connections.MineSkinAPIImpl;
 import net.skinsrestorer.shared.connections.MojangAPIImpl;
 import net.skinsrestorer.shared.connections.RecommendationsState;
+import net.skinsrestorer.shared.connections.mineskin.MineSkinJobPriority;
 import net.skinsrestorer.shared.connections.responses.RecommenationResponse;
 import net.skinsrestorer.shared.log.SRLogger;
+import net.skinsrestorer.shared.plugin.SRPlatformAdapter;
 import net.skinsrestorer.shared.storage.adapter.AdapterReference;
 import net.skinsrestorer.shared.storage.adapter.StorageAdapter;
 import net.skinsrestorer.shared.storage.model.cache.MojangCacheData;
 import net.skinsrestorer.shared.storage.model.skin.*;
+import net.skinsrestorer.shared.subjects.SRCommandSender;
+import net.skinsrestorer.shared.subjects.SRPlayer;
 import net.skinsrestorer.shared.subjects.messages.ComponentHelper;
 import net.skinsrestorer.shared.subjects.messages.ComponentString;
 import net.skinsrestorer.shared.utils.SRHelpers;
 import net.skinsrestorer.shared.utils.UUIDUtils;
 import net.skinsrestorer.shared.utils.ValidationUtil;
+import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Inject;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 @RequiredArgsConstructor(onConstructor_ = @Inject)
@@ -59,16 +66,21 @@ public class SkinStorageImpl implements SkinStorage {
     private final MojangAPIImpl mojangAPI;
     private final MineSkinAPIImpl mineSkinAPI;
     private final SettingsManager settings;
+    private final ConfigSnapshotProvider configProvider;
     private final AdapterReference adapterReference;
     private final RecommendationsState recommendationsState;
+    private final SRPlatformAdapter adapter;
+    private final Injector injector;
+    private final Set<UUID> revalidatingSkins = ConcurrentHashMap.newKeySet();
 
     public void preloadDefaultSkins() {
-        if (!settings.getProperty(StorageConfig.DEFAULT_SKINS_ENABLED)) {
+        ConfigSnapshot config = configProvider.get();
+        if (!config.defaultSkinsEnabled()) {
             return;
         }
 
         List<String> toRemove = new ArrayList<>();
-        List<String> defaultSkins = new ArrayList<>(settings.getProperty(StorageConfig.DEFAULT_SKINS));
+        List<String> defaultSkins = new ArrayList<>(config.defaultSkins());
         defaultSkins.forEach(skin -> {
             if (skin.equalsIgnoreCase("<random>")) {
                 return;
@@ -77,7 +89,7 @@ public class SkinStorageImpl implements SkinStorage {
             try {
                 findOrCreateSkinData(skin);
             } catch (DataRequestException | MineSkinException e) {
-                logger.debug("DefaultSkin '%s' could not be found or requested! Removing from list..".formatted(skin), e);
+                logger.debug(() -> "DefaultSkin '%s' could not be found or requested! Removing from list..".formatted(skin), e);
                 toRemove.add(skin);
             }
         });
@@ -91,14 +103,23 @@ public class SkinStorageImpl implements SkinStorage {
             logger.warning("[WARNING] No more working DefaultSkin left... disabling feature");
             settings.setProperty(StorageConfig.DEFAULT_SKINS_ENABLED, false);
         }
+
+        if (!toRemove.isEmpty()) {
+            configProvider.reload();
+        }
     }
 
     @Override
     public Optional<SkinProperty> updatePlayerSkinData(UUID uuid) throws DataRequestException {
-        return updatePlayerSkinData(uuid, mojangAPI::getProfileMojang, false, true);
+        return updatePlayerSkinData(uuid, mojangAPI::getProfileMojang, false, true, false);
     }
 
-    private Optional<SkinProperty> updatePlayerSkinData(UUID uuid, ProfileGetter profileGetter, boolean skipDbLookup, boolean ignoreExpiry) throws DataRequestException {
+    /**
+     * @param allowStale Whether expired data may be served while it is refreshed in the background.
+     *                   Only useful when the profile getter does network requests, fresh data at hand should always be used.
+     */
+    private Optional<SkinProperty> updatePlayerSkinData(UUID uuid, ProfileGetter profileGetter, boolean skipDbLookup,
+                                                        boolean ignoreExpiry, boolean allowStale) throws DataRequestException {
         try {
             Optional<PlayerSkinData> optionalData = skipDbLookup ? Optional.empty() : adapterReference.get().getPlayerSkinData(uuid);
             Optional<SkinProperty> currentSkin = optionalData.map(PlayerSkinData::getProperty);
@@ -109,6 +130,10 @@ public class SkinStorageImpl implements SkinStorage {
                 if (!ignoreExpiry && !isPlayerSkinExpired(currentSkinData.getTimestamp())) {
                     // We have valid data, let's return it
                     return currentSkin;
+                } else if (!ignoreExpiry && allowStale && isPlayerSkinServableStale(currentSkinData.getTimestamp())) {
+                    // Expired, but still within the stale limit, so refresh it in the background
+                    revalidatePlayerSkinData(uuid, profileGetter, currentSkinData.getProperty());
+                    return currentSkin;
                 } else {
                     timestamp = PropertyUtils.getSkinProfileData(currentSkinData.getProperty()).getTimestamp();
                 }
@@ -133,6 +158,45 @@ public class SkinStorageImpl implements SkinStorage {
         }
     }
 
+    private void revalidatePlayerSkinData(UUID uuid, ProfileGetter profileGetter, SkinProperty staleProperty) {
+        if (!revalidatingSkins.add(uuid)) {
+            return; // Already being revalidated
+        }
+
+        adapter.runAsync(() -> {
+            try {
+                Optional<SkinProperty> freshProperty = updatePlayerSkinData(uuid, profileGetter, false, true, false);
+                if (freshProperty.isPresent() && !PropertyUtils.getSkinTextureHash(freshProperty.get())
+                        .equals(PropertyUtils.getSkinTextureHash(staleProperty))) {
+                    pushRevalidatedSkin(staleProperty, freshProperty.get());
+                }
+            } catch (DataRequestException e) {
+                logger.debug(() -> "Failed to revalidate skin data for %s, keeping stale data".formatted(uuid), e);
+            } finally {
+                revalidatingSkins.remove(uuid);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private void pushRevalidatedSkin(SkinProperty staleProperty, SkinProperty freshProperty) {
+        SharedSkinApplier<Object> skinApplier = injector.getIfAvailable(SharedSkinApplier.class);
+        if (skinApplier == null) {
+            return;
+        }
+
+        String staleTextureHash = PropertyUtils.getSkinTextureHash(staleProperty);
+        for (SRPlayer player : adapter.getOnlinePlayers(null)) {
+            boolean wearsStaleSkin = adapter.getSkinProperty(player)
+                    .map(property -> PropertyUtils.getSkinTextureHash(property).equals(staleTextureHash))
+                    .orElse(false);
+            if (wearsStaleSkin) {
+                logger.debug("Pushing revalidated skin to %s", player.getName());
+                skinApplier.applySkinSilently(player.getAs(Object.class), freshProperty);
+            }
+        }
+    }
+
     @Override
     public Optional<MojangSkinDataResult> getPlayerSkin(String nameOrUniqueId, boolean allowExpired) throws DataRequestException {
         return getPlayerSkin(nameOrUniqueId, allowExpired, false);
@@ -157,7 +221,7 @@ public class SkinStorageImpl implements SkinStorage {
                     }
 
                     UUID uuid = optionalUUID.get();
-                    return updatePlayerSkinData(uuid, mojangAPI::getProfile, skipDbLookup, false)
+                    return updatePlayerSkinData(uuid, mojangAPI::getProfile, skipDbLookup, false, true)
                             .map(skinProperty -> MojangSkinDataResult.of(uuid, skinProperty));
                 }
             }
@@ -174,7 +238,7 @@ public class SkinStorageImpl implements SkinStorage {
             // Cache the skin data
             if (optional.isPresent()) {
                 MojangSkinDataResult result = optional.get();
-                return updatePlayerSkinData(result.getUniqueId(), uuid -> Optional.of(result.getSkinProperty()), skipDbLookup, false)
+                return updatePlayerSkinData(result.getUniqueId(), uuid -> Optional.of(result.getSkinProperty()), skipDbLookup, false, false)
                         .map(skinProperty -> MojangSkinDataResult.of(result.getUniqueId(), skinProperty));
             }
 
@@ -185,6 +249,40 @@ public class SkinStorageImpl implements SkinStorage {
         }
     }
 
+    /**
+     * Stores the name, UUID and signed textures an online mode login was authenticated with,
+     * so later lookups of this player can be answered without asking Mojang.
+     * Stored data is only replaced when it is missing or expired, like a Mojang response would.
+     */
+    public void primeFromLogin(UUID uuid, String playerName, SkinProperty property) {
+        try {
+            StorageAdapter storage = adapterReference.get();
+            boolean uuidCached = cacheStorage.getCachedData(playerName, false)
+                    .flatMap(MojangCacheData::getUniqueId)
+                    .filter(uuid::equals)
+                    .isPresent();
+            if (!uuidCached) {
+                storage.setCachedUUID(playerName, MojangCacheData.of(uuid, SRHelpers.getEpochSecond()));
+            }
+
+            Optional<PlayerSkinData> stored = storage.getPlayerSkinData(uuid);
+            if (stored.isPresent()) {
+                if (!isPlayerSkinExpired(stored.get().getTimestamp())) {
+                    return;
+                }
+
+                long storedTimestamp = PropertyUtils.getSkinProfileData(stored.get().getProperty()).getTimestamp();
+                if (PropertyUtils.getSkinProfileData(property).getTimestamp() <= storedTimestamp) {
+                    return;
+                }
+            }
+
+            setPlayerSkinData(uuid, playerName, property, SRHelpers.getEpochSecond());
+        } catch (StorageAdapter.StorageException e) {
+            logger.debug(() -> "Failed to store login data of %s".formatted(playerName), e);
+        }
+    }
+
     @Override
     public void setPlayerSkinData(UUID uuid, String lastKnownName, SkinProperty property, long timestamp) {
         adapterReference.get().setPlayerSkinData(uuid, PlayerSkinData.of(uuid, lastKnownName, property, timestamp));
@@ -304,8 +402,43 @@ public class SkinStorageImpl implements SkinStorage {
         };
     }
 
+    public void resumeMineSkinJobs() {
+        List<MineSkinJobData> jobs;
+        try {
+            jobs = adapterReference.get().getMineSkinJobs();
+        } catch (StorageAdapter.StorageException e) {
+            logger.warning("Failed to load pending MineSkin jobs", e);
+            return;
+        }
+
+        if (jobs.isEmpty()) {
+            return;
+        }
+
+        logger.info("Resuming %d pending MineSkin job(s)".formatted(jobs.size()));
+        for (MineSkinJobData job : jobs) {
+            mineSkinAPI.resumeJob(job).whenComplete((response, throwable) -> {
+                if (throwable != null) {
+                    logger.debug(() -> "Failed to resume MineSkin job for %s".formatted(job.getUrl()), throwable);
+                    return;
+                }
+
+                setURLSkinByResponse(job.getUrl(), response);
+            });
+        }
+    }
+
     @Override
     public Optional<InputDataResult> findOrCreateSkinData(String input, SkinVariant skinVariantHint) throws DataRequestException, MineSkinException {
+        return findOrCreateSkinData(input, skinVariantHint, MineSkinJobPriority.PLAYER, null);
+    }
+
+    /**
+     * Same as {@link #findOrCreateSkinData(String, SkinVariant)}, but URL skins are queued
+     * with the given priority and the sender is kept up to date about the upload.
+     */
+    public Optional<InputDataResult> findOrCreateSkinData(String input, SkinVariant skinVariantHint,
+                                                          MineSkinJobPriority priority, @Nullable SRCommandSender sender) throws DataRequestException, MineSkinException {
         input = SRHelpers.sanitizeSkinInput(input);
 
         Optional<InputDataResult> skinData = findSkinData(input, skinVariantHint);
@@ -328,7 +461,7 @@ public class SkinStorageImpl implements SkinStorage {
 
             return Optional.of(InputDataResult.of(SkinIdentifier.ofCustom(input), skinProperty));
         } else if (ValidationUtil.validSkinUrl(input)) {
-            MineSkinResponse response = mineSkinAPI.genSkin(input, skinVariantHint);
+            MineSkinResponse response = mineSkinAPI.genSkin(input, skinVariantHint, priority, sender);
 
             setURLSkinByResponse(input, response);
 
@@ -398,16 +531,37 @@ public class SkinStorageImpl implements SkinStorage {
      */
     private boolean isPlayerSkinExpired(long timestamp) {
         // Do not update if timestamp is not 0 or update is disabled.
-        if (timestamp == -1 || settings.getProperty(StorageConfig.DISALLOW_AUTO_UPDATE_SKIN)) {
+        ConfigSnapshot config = configProvider.get();
+        if (timestamp == -1 || config.disallowAutoUpdateSkin()) {
             return false;
         }
 
         long now = SRHelpers.getEpochSecond();
-        long expiryDate = timestamp + TimeUnit.MINUTES.toSeconds(settings.getProperty(StorageConfig.SKIN_EXPIRES_AFTER));
+        long expiryDate = timestamp + TimeUnit.MINUTES.toSeconds(config.skinExpiresAfter());
 
         return expiryDate <= now;
     }
 
+    /**
+     * Checks if an expired player skin may still be served while it is being re-fetched.
+     *
+     * @param timestamp in seconds
+     * @return true if stale-while-revalidate is enabled and the skin is within the stale limit
+     */
+    private boolean isPlayerSkinServableStale(long timestamp) {
+        ConfigSnapshot config = configProvider.get();
+        // An expiry of 0 asks for a request every time, so nothing may be served stale
+        if (!config.staleWhileRevalidateEnabled() || config.skinExpiresAfter() == 0) {
+            return false;
+        }
+
+        long now = SRHelpers.getEpochSecond();
+        long staleLimit = timestamp + TimeUnit.MINUTES.toSeconds(config.skinExpiresAfter()
+                + (long) config.staleWhileRevalidateMaxAge());
+
+        return now < staleLimit;
+    }
+
     public boolean purgeOldSkins(int days) {
         long targetPurgeTimestamp = Instant.now().minus(days, ChronoUnit.DAYS).getEpochSecond();
 
@@ -30,4 +30,8 @@ public class AdapterReference implements Provider<StorageAdapter> {
     public StorageAdapter get() {
         return Objects.requireNonNull(adapter, "We're not connected to a storage backend!");
     }
+
+    public boolean isConnected() {
+        return adapter != null;
+    }
 }
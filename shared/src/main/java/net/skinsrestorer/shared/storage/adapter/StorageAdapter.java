@@ -25,11 +25,13 @@ import net.skinsrestorer.shared.storage.model.cache.MojangCacheData;
 import net.skinsrestorer.shared.storage.model.player.LegacyPlayerData;
 import net.skinsrestorer.shared.storage.model.player.PlayerData;
 import net.skinsrestorer.shared.storage.model.skin.*;
+import org.jetbrains.annotations.Nullable;
 
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public interface StorageAdapter {
@@ -57,6 +59,10 @@ public interface StorageAdapter {
 
     void setURLSkinIndex(String url, URLIndexData skinData);
 
+    Optional<ImageHashIndexData> getImageHashIndex(String imageHash, @Nullable SkinVariant requestedVariant) throws StorageException;
+
+    void setImageHashIndex(ImageHashIndexData indexData);
+
     Optional<CustomSkinData> getCustomSkinData(String skinName) throws StorageException;
 
     void removeCustomSkinData(String skinName);
@@ -71,6 +77,23 @@ public interface StorageAdapter {
 
     void removeLegacyPlayerData(String playerName);
 
+    /**
+     * Get the names of all players that still have legacy data waiting to be migrated on their next login.
+     *
+     * @return the legacy player names, lowercased like legacy storage did
+     */
+    Set<String> getLegacyPlayerNames() throws StorageException;
+
+    /**
+     * @return whether a previous run recorded that no legacy player data is left
+     */
+    boolean isLegacyMigrationComplete();
+
+    /**
+     * Durably record that no legacy player data is left, so later runs skip all legacy lookups.
+     */
+    void setLegacyMigrationComplete();
+
     int getTotalCustomSkins();
 
     List<GUIUtils.GUIRawSkinEntry> getCustomGUISkins(int offset, int limit);
@@ -93,6 +116,12 @@ public interface StorageAdapter {
 
     void removeCooldown(UUID owner, String groupName);
 
+    List<MineSkinJobData> getMineSkinJobs() throws StorageException;
+
+    void setMineSkinJob(MineSkinJobData jobData);
+
+    void removeMineSkinJob(String jobId);
+
     default void migrateLegacyPlayer(String playerName, UUID uuid) throws StorageException {
         Optional<LegacyPlayerData> legacyPlayerData = getLegacyPlayerData(playerName);
         if (legacyPlayerData.isEmpty()) {
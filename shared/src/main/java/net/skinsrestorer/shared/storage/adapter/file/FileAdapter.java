@@ -42,6 +42,7 @@ import net.skinsrestorer.shared.subjects.messages.ComponentHelper;
 import net.skinsrestorer.shared.subjects.messages.ComponentString;
 import net.skinsrestorer.shared.utils.SRHelpers;
 import net.skinsrestorer.shared.utils.UUIDUtils;
+import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Inject;
 import java.io.IOException;
@@ -60,7 +61,9 @@ public class FileAdapter implements StorageAdapter {
     private final Path playersFolder;
     private final Path cooldownsFolder;
     private final Path cacheFolder;
+    private final Path jobsFolder;
     private final Path legacyFolder;
+    private final Path legacyMigrationMarker;
     private final SettingsManager settings;
     private final Gson gson = new GsonBuilder()
             .disableHtmlEscaping()
@@ -75,7 +78,9 @@ public class FileAdapter implements StorageAdapter {
         this.playersFolder = dataFolder.resolve("players");
         this.cooldownsFolder = dataFolder.resolve("cooldowns");
         this.cacheFolder = dataFolder.resolve("cache");
+        this.jobsFolder = dataFolder.resolve("jobs");
         this.legacyFolder = dataFolder.resolve("legacy");
+        this.legacyMigrationMarker = legacyFolder.resolve("migration_complete.txt");
         this.settings = settings;
         this.logger = logger;
         try {
@@ -92,12 +97,18 @@ public class FileAdapter implements StorageAdapter {
         SRHelpers.createDirectoriesSafe(playersFolder);
         SRHelpers.createDirectoriesSafe(cooldownsFolder);
         SRHelpers.createDirectoriesSafe(cacheFolder);
+        SRHelpers.createDirectoriesSafe(jobsFolder);
     }
 
     private void migrate(Path dataFolder) throws IOException {
         SRHelpers.renameFile(dataFolder, "Skins", "skins");
         SRHelpers.renameFile(dataFolder, "Players", "players");
 
+        // No need to scan for pre-v14 files again once all legacy data was migrated
+        if (isLegacyMigrationComplete()) {
+            return;
+        }
+
         migrateSkins();
         migratePlayers();
     }
@@ -362,6 +373,38 @@ public class FileAdapter implements StorageAdapter {
         }
     }
 
+    @Override
+    public Optional<ImageHashIndexData> getImageHashIndex(String imageHash, @Nullable SkinVariant requestedVariant) throws StorageException {
+        Path indexFile = resolveImageHashIndexFile(imageHash, ImageHashIndexData.toVariantKey(requestedVariant));
+
+        if (!Files.exists(indexFile)) {
+            return Optional.empty();
+        }
+
+        try {
+            String json = Files.readString(indexFile);
+
+            ImageHashIndexFile file = gson.fromJson(json, ImageHashIndexFile.class);
+
+            return Optional.of(file.toImageHashIndexData());
+        } catch (Exception e) {
+            throw new StorageException(e);
+        }
+    }
+
+    @Override
+    public void setImageHashIndex(ImageHashIndexData indexData) {
+        Path indexFile = resolveImageHashIndexFile(indexData.getImageHash(), indexData.getVariantKey());
+
+        try {
+            ImageHashIndexFile file = ImageHashIndexFile.fromImageHashIndexData(indexData);
+
+            SRHelpers.writeIfNeeded(indexFile, gson.toJson(file));
+        } catch (IOException e) {
+            logger.warning("Failed to save image hash index for " + indexData.getImageHash(), e);
+        }
+    }
+
     @Override
     public Optional<CustomSkinData> getCustomSkinData(String skinName) throws StorageException {
         skinName = CustomSkinData.sanitizeCustomSkinName(skinName);
@@ -472,6 +515,40 @@ public class FileAdapter implements StorageAdapter {
         }
     }
 
+    @Override
+    public Set<String> getLegacyPlayerNames() throws StorageException {
+        Path legacyPlayersFolder = legacyFolder.resolve("players");
+        if (!Files.exists(legacyPlayersFolder)) {
+            return Set.of();
+        }
+
+        Set<String> names = new HashSet<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(legacyPlayersFolder, "*.legacyplayer")) {
+            for (Path path : stream) {
+                String fileName = path.getFileName().toString();
+                names.add(sanitizeLegacyPlayerName(fileName.substring(0, fileName.length() - ".legacyplayer".length())));
+            }
+        } catch (IOException e) {
+            throw new StorageException(e);
+        }
+
+        return names;
+    }
+
+    @Override
+    public boolean isLegacyMigrationComplete() {
+        return Files.exists(legacyMigrationMarker);
+    }
+
+    @Override
+    public void setLegacyMigrationComplete() {
+        try {
+            SRHelpers.writeIfNeeded(legacyMigrationMarker, String.valueOf(SRHelpers.getEpochSecond()));
+        } catch (IOException e) {
+            logger.warning("Failed to save legacy migration state", e);
+        }
+    }
+
     @Override
     public int getTotalCustomSkins() {
         return getCustomGUISkinFiles(0, Integer.MAX_VALUE).size();
@@ -735,7 +812,7 @@ public class FileAdapter implements StorageAdapter {
 
                     list.add(file.toCooldownData());
                 } catch (Exception e) {
-                    logger.debug("Failed to load cooldown data for " + owner, e);
+                    logger.debug(() -> "Failed to load cooldown data for " + owner, e);
                 }
             }
 
@@ -769,6 +846,52 @@ public class FileAdapter implements StorageAdapter {
         }
     }
 
+    @Override
+    public List<MineSkinJobData> getMineSkinJobs() throws StorageException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(jobsFolder, "*.mineskinjob")) {
+            List<MineSkinJobData> list = new ArrayList<>();
+            for (Path path : stream) {
+                try {
+                    String json = Files.readString(path);
+
+                    MineSkinJobFile file = gson.fromJson(json, MineSkinJobFile.class);
+
+                    list.add(file.toMineSkinJobData());
+                } catch (Exception e) {
+                    logger.debug(() -> "Failed to load MineSkin job " + path.getFileName(), e);
+                }
+            }
+
+            return list;
+        } catch (IOException e) {
+            throw new StorageException(e);
+        }
+    }
+
+    @Override
+    public void setMineSkinJob(MineSkinJobData jobData) {
+        Path jobFile = resolveMineSkinJobFile(jobData.getJobId());
+
+        try {
+            MineSkinJobFile file = MineSkinJobFile.fromMineSkinJobData(jobData);
+
+            SRHelpers.writeIfNeeded(jobFile, gson.toJson(file));
+        } catch (IOException e) {
+            logger.warning("Failed to save MineSkin job for " + jobData.getUrl(), e);
+        }
+    }
+
+    @Override
+    public void removeMineSkinJob(String jobId) {
+        Path jobFile = resolveMineSkinJobFile(jobId);
+
+        try {
+            Files.deleteIfExists(jobFile);
+        } catch (IOException e) {
+            logger.warning("Failed to remove MineSkin job " + jobId, e);
+        }
+    }
+
     private Path resolveCustomSkinFile(String skinName) {
         return skinsFolder.resolve(skinName + ".customskin");
     }
@@ -785,6 +908,10 @@ public class FileAdapter implements StorageAdapter {
         return skinsFolder.resolve(SRHelpers.hashSha256ToHex(url) + ".urlindex");
     }
 
+    private Path resolveImageHashIndexFile(String imageHash, String variantKey) {
+        return skinsFolder.resolve(imageHash + "_" + variantKey + ".imageindex");
+    }
+
     private Path resolvePlayerSkinFile(UUID uuid) {
         return skinsFolder.resolve(uuid + ".playerskin");
     }
@@ -801,6 +928,10 @@ public class FileAdapter implements StorageAdapter {
         return cooldownsFolder.resolve(uuid + "_" + groupName + ".cooldown");
     }
 
+    private Path resolveMineSkinJobFile(String jobId) {
+        return jobsFolder.resolve(jobId + ".mineskinjob");
+    }
+
     private Path resolveCacheFile(String name) {
         return cacheFolder.resolve(name + ".mojangcache");
     }
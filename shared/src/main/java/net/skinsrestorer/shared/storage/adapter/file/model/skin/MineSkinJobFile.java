@@ -0,0 +1,51 @@
+/*
+ * SkinsRestorer
+ * Copyright (C) 2024  SkinsRestorer Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.skinsrestorer.shared.storage.adapter.file.model.skin;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import net.skinsrestorer.api.property.SkinVariant;
+import net.skinsrestorer.shared.connections.mineskin.MineSkinJobPriority;
+import net.skinsrestorer.shared.storage.model.skin.MineSkinJobData;
+
+@Getter
+@NoArgsConstructor
+public class MineSkinJobFile {
+    private static final int CURRENT_DATA_VERSION = 1;
+    private String jobId;
+    private String url;
+    private SkinVariant skinVariant;
+    private MineSkinJobPriority priority;
+    private long timestamp;
+    private int dataVersion;
+
+    public static MineSkinJobFile fromMineSkinJobData(MineSkinJobData jobData) {
+        MineSkinJobFile jobFile = new MineSkinJobFile();
+        jobFile.jobId = jobData.getJobId();
+        jobFile.url = jobData.getUrl();
+        jobFile.skinVariant = jobData.getSkinVariant();
+        jobFile.priority = jobData.getPriority();
+        jobFile.timestamp = jobData.getTimestamp();
+        jobFile.dataVersion = CURRENT_DATA_VERSION;
+        return jobFile;
+    }
+
+    public MineSkinJobData toMineSkinJobData() {
+        return MineSkinJobData.of(jobId, url, skinVariant, priority, timestamp);
+    }
+}
@@ -9,6 +9,7 @@ import net.skinsrestorer.api.property.SkinIdentifier;
 import net.skinsrestorer.api.property.SkinProperty;
 import net.skinsrestorer.api.property.SkinType;
 import net.skinsrestorer.api.property.SkinVariant;
+import net.skinsrestorer.shared.connections.mineskin.MineSkinJobPriority;
 import net.skinsrestorer.shared.gui.GUIUtils;
 import net.skinsrestorer.shared.storage.adapter.StorageAdapter;
 import net.skinsrestorer.shared.storage.model.cache.MojangCacheData;
@@ -21,6 +22,7 @@ import net.skinsrestorer.shared.subjects.messages.ComponentHelper;
 import net.skinsrestorer.shared.subjects.messages.ComponentString;
 import org.bson.Document;
 import org.bson.conversions.Bson;
+import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Inject;
 import java.lang.reflect.Type;
@@ -39,11 +41,13 @@ public class MongoDBAdapter implements StorageAdapter {
     private MongoCollection<Document> playerSkinDataCol;
     private MongoCollection<Document> urlSkinDataCol;
     private MongoCollection<Document> urlIndexDataCol;
+    private MongoCollection<Document> imageHashIndexCol;
     private MongoCollection<Document> customSkinDataCol;
     private MongoCollection<Document> legacySkinDataCol;
     private MongoCollection<Document> legacyPlayerDataCol;
     private MongoCollection<Document> mojangCacheCol;
     private MongoCollection<Document> cooldownCol;
+    private MongoCollection<Document> mineSkinJobCol;
 
     private final MongoDBProvider provider;
 
@@ -59,11 +63,13 @@ public class MongoDBAdapter implements StorageAdapter {
         this.playerSkinDataCol = db.getCollection("player_skin_data");
         this.urlSkinDataCol = db.getCollection("url_skin_data");
         this.urlIndexDataCol = db.getCollection("url_index_data");
+        this.imageHashIndexCol = db.getCollection("image_hash_index");
         this.customSkinDataCol = db.getCollection("custom_skin_data");
         this.legacySkinDataCol = db.getCollection("legacy_skin_data");
         this.legacyPlayerDataCol = db.getCollection("legacy_player_data");
         this.mojangCacheCol = db.getCollection("mojang_cache");
         this.cooldownCol = db.getCollection("cooldowns");
+        this.mineSkinJobCol = db.getCollection("mineskin_jobs");
     }
 
     //region PlayerData
@@ -197,6 +203,36 @@ public class MongoDBAdapter implements StorageAdapter {
     }
     //endregion
 
+    //region ImageHashIndexData
+    @Override
+    public Optional<ImageHashIndexData> getImageHashIndex(String imageHash, @Nullable SkinVariant requestedVariant) throws StorageException {
+        try {
+            String id = imageHash + "_" + ImageHashIndexData.toVariantKey(requestedVariant);
+            Document doc = imageHashIndexCol.find(Filters.eq("_id", id)).first();
+            if (doc == null) return Optional.empty();
+
+            SkinProperty property = SkinProperty.of(doc.getString("value"), doc.getString("signature"));
+            SkinVariant generatedVariant = SkinVariant.valueOf(doc.getString("generatedVariant"));
+            return Optional.of(ImageHashIndexData.of(imageHash, requestedVariant, doc.getString("mineSkinId"), property, generatedVariant));
+        } catch (Exception e) {
+            throw new StorageException(e);
+        }
+    }
+
+    @Override
+    public void setImageHashIndex(ImageHashIndexData indexData) {
+        String id = indexData.getImageHash() + "_" + indexData.getVariantKey();
+        Document doc = new Document("_id", id)
+                .append("imageHash", indexData.getImageHash())
+                .append("requestedVariant", indexData.getVariantKey())
+                .append("mineSkinId", indexData.getMineSkinId())
+                .append("value", indexData.getProperty().getValue())
+                .append("signature", indexData.getProperty().getSignature())
+                .append("generatedVariant", indexData.getGeneratedVariant().name());
+        imageHashIndexCol.replaceOne(Filters.eq("_id", id), doc, new ReplaceOptions().upsert(true));
+    }
+    //endregion
+
     //region CustomSkinData
     @Override
     public Optional<CustomSkinData> getCustomSkinData(String skinName) throws StorageException {
@@ -271,6 +307,19 @@ public class MongoDBAdapter implements StorageAdapter {
 
     @Override
     public void removeLegacyPlayerData(String playerName) {}
+
+    @Override
+    public Set<String> getLegacyPlayerNames() throws StorageException {
+        return Set.of();
+    }
+
+    @Override
+    public boolean isLegacyMigrationComplete() {
+        return true;
+    }
+
+    @Override
+    public void setLegacyMigrationComplete() {}
     //endregion
 
     //region Player GUI Skins
@@ -393,6 +442,45 @@ public class MongoDBAdapter implements StorageAdapter {
     }
     //endregion
 
+    //region MineSkin Jobs
+    @Override
+    public List<MineSkinJobData> getMineSkinJobs() throws StorageException {
+        try {
+            return mineSkinJobCol.find()
+                    .into(new ArrayList<>())
+                    .stream()
+                    .map(doc -> {
+                        String variantStr = doc.getString("skinVariant");
+                        return MineSkinJobData.of(
+                                doc.getString("_id"),
+                                doc.getString("url"),
+                                variantStr != null ? SkinVariant.valueOf(variantStr) : null,
+                                MineSkinJobPriority.valueOf(doc.getString("priority")),
+                                doc.getLong("timestamp")
+                        );
+                    })
+                    .collect(Collectors.toList());
+        } catch (Exception e) {
+            throw new StorageException(e);
+        }
+    }
+
+    @Override
+    public void setMineSkinJob(MineSkinJobData jobData) {
+        Document doc = new Document("_id", jobData.getJobId())
+                .append("url", jobData.getUrl())
+                .append("skinVariant", jobData.getSkinVariant() != null ? jobData.getSkinVariant().name() : null)
+                .append("priority", jobData.getPriority().name())
+                .append("timestamp", jobData.getTimestamp());
+        mineSkinJobCol.replaceOne(Filters.eq("_id", jobData.getJobId()), doc, new ReplaceOptions().upsert(true));
+    }
+
+    @Override
+    public void removeMineSkinJob(String jobId) {
+        mineSkinJobCol.deleteOne(Filters.eq("_id", jobId));
+    }
+    //endregion
+
     //region Helper Methods
     private String serializeSkinIdentifier(SkinIdentifier id) {
         return GSON.toJson(Map.of(
@@ -26,6 +26,7 @@ import net.skinsrestorer.api.property.SkinType;
 import net.skinsrestorer.api.property.SkinVariant;
 import net.skinsrestorer.shared.config.DatabaseConfig;
 import net.skinsrestorer.shared.config.GUIConfig;
+import net.skinsrestorer.shared.connections.mineskin.MineSkinJobPriority;
 import net.skinsrestorer.shared.gui.GUIUtils;
 import net.skinsrestorer.shared.log.SRLogger;
 import net.skinsrestorer.shared.plugin.SRPlugin;
@@ -39,6 +40,8 @@ import net.skinsrestorer.shared.storage.model.player.PlayerData;
 import net.skinsrestorer.shared.storage.model.skin.*;
 import net.skinsrestorer.shared.subjects.messages.ComponentHelper;
 import net.skinsrestorer.shared.subjects.messages.ComponentString;
+import net.skinsrestorer.shared.utils.SRHelpers;
+import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Inject;
 import java.io.IOException;
@@ -53,6 +56,7 @@ import java.util.stream.Collectors;
 
 @RequiredArgsConstructor(onConstructor_ = @Inject)
 public class MySQLAdapter implements StorageAdapter {
+    private static final String LEGACY_MIGRATION_COMPLETE_KEY = "legacy_migration_complete";
     private final MySQLProvider mysql;
     private final SettingsManager settings;
     private final SRLogger logger;
@@ -117,6 +121,15 @@ public class MySQLAdapter implements StorageAdapter {
                 + "`skin_variant` VARCHAR(20),"
                 + "PRIMARY KEY (`url`)) ENGINE=InnoDB DEFAULT CHARSET=utf8");
 
+        mysql.update("CREATE TABLE IF NOT EXISTS `" + resolveImageHashIndexTable() + "` ("
+                + "`image_hash` VARCHAR(64) NOT NULL,"
+                + "`requested_variant` VARCHAR(20) NOT NULL,"
+                + "`mine_skin_id` VARCHAR(36),"
+                + "`value` TEXT NOT NULL,"
+                + "`signature` TEXT NOT NULL,"
+                + "`generated_variant` VARCHAR(20) NOT NULL,"
+                + "PRIMARY KEY (`image_hash`, `requested_variant`)) ENGINE=InnoDB DEFAULT CHARSET=utf8");
+
         mysql.update("CREATE TABLE IF NOT EXISTS `" + resolveCustomSkinTable() + "` ("
                 + "`name` VARCHAR(36) NOT NULL,"
                 + "`display_name` TEXT,"
@@ -124,6 +137,19 @@ public class MySQLAdapter implements StorageAdapter {
                 + "`signature` TEXT NOT NULL,"
                 + "PRIMARY KEY (`name`)) ENGINE=InnoDB DEFAULT CHARSET=utf8");
 
+        mysql.update("CREATE TABLE IF NOT EXISTS `" + resolveMineSkinJobTable() + "` ("
+                + "`job_id` VARCHAR(64) NOT NULL,"
+                + "`url` VARCHAR(266) NOT NULL," // Max chatbox command length
+                + "`skin_variant` VARCHAR(20),"
+                + "`priority` VARCHAR(20) NOT NULL,"
+                + "`timestamp` BIGINT(20) NOT NULL,"
+                + "PRIMARY KEY (`job_id`)) ENGINE=InnoDB DEFAULT CHARSET=utf8");
+
+        mysql.update("CREATE TABLE IF NOT EXISTS `" + resolveMetaTable() + "` ("
+                + "`meta_key` VARCHAR(64) NOT NULL,"
+                + "`meta_value` TEXT NOT NULL,"
+                + "PRIMARY KEY (`meta_key`)) ENGINE=InnoDB DEFAULT CHARSET=utf8");
+
         try {
             // v14
             migrateLegacyPlayerTable();
@@ -459,6 +485,40 @@ public class MySQLAdapter implements StorageAdapter {
                 skinData.getSkinVariant().name());
     }
 
+    @Override
+    public Optional<ImageHashIndexData> getImageHashIndex(String imageHash, @Nullable SkinVariant requestedVariant) throws StorageException {
+        try (ResultSet crs = mysql.query("SELECT * FROM " + resolveImageHashIndexTable() + " WHERE image_hash=? AND requested_variant=?",
+                imageHash, ImageHashIndexData.toVariantKey(requestedVariant))) {
+            if (!crs.next()) {
+                return Optional.empty();
+            }
+
+            String mineSkinId = crs.getString("mine_skin_id");
+            String value = crs.getString("value");
+            String signature = crs.getString("signature");
+            SkinVariant generatedVariant = SkinVariant.valueOf(crs.getString("generated_variant"));
+
+            return Optional.of(ImageHashIndexData.of(imageHash, requestedVariant, mineSkinId, SkinProperty.of(value, signature), generatedVariant));
+        } catch (SQLException e) {
+            throw new StorageException(e);
+        }
+    }
+
+    @Override
+    public void setImageHashIndex(ImageHashIndexData indexData) {
+        mysql.update("INSERT INTO " + resolveImageHashIndexTable() + " (image_hash, requested_variant, mine_skin_id, value, signature, generated_variant) VALUES (?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE mine_skin_id=?, value=?, signature=?, generated_variant=?",
+                indexData.getImageHash(),
+                indexData.getVariantKey(),
+                indexData.getMineSkinId(),
+                indexData.getProperty().getValue(),
+                indexData.getProperty().getSignature(),
+                indexData.getGeneratedVariant().name(),
+                indexData.getMineSkinId(),
+                indexData.getProperty().getValue(),
+                indexData.getProperty().getSignature(),
+                indexData.getGeneratedVariant().name());
+    }
+
     @Override
     public Optional<CustomSkinData> getCustomSkinData(String skinName) throws StorageException {
         skinName = CustomSkinData.sanitizeCustomSkinName(skinName);
@@ -549,6 +609,42 @@ public class MySQLAdapter implements StorageAdapter {
         }
     }
 
+    @Override
+    public Set<String> getLegacyPlayerNames() throws StorageException {
+        if (!tableExists(resolveLegacyPlayerTable())) {
+            return Set.of();
+        }
+
+        try (ResultSet crs = mysql.query("SELECT name FROM " + resolveLegacyPlayerTable())) {
+            Set<String> names = new HashSet<>();
+            while (crs.next()) {
+                // The use of #toLowerCase() instead of #toLowerCase(Locale.ROOT) is intentional, see FileAdapter
+                names.add(crs.getString("name").toLowerCase());
+            }
+
+            return names;
+        } catch (SQLException e) {
+            throw new StorageException(e);
+        }
+    }
+
+    @Override
+    public boolean isLegacyMigrationComplete() {
+        try (ResultSet crs = mysql.query("SELECT meta_value FROM " + resolveMetaTable() + " WHERE meta_key=?", LEGACY_MIGRATION_COMPLETE_KEY)) {
+            return crs.next();
+        } catch (SQLException e) {
+            logger.warning("Failed to check legacy migration state", e);
+            return false;
+        }
+    }
+
+    @Override
+    public void setLegacyMigrationComplete() {
+        String timestamp = String.valueOf(SRHelpers.getEpochSecond());
+        mysql.update("INSERT INTO " + resolveMetaTable() + " (meta_key, meta_value) VALUES (?, ?) ON DUPLICATE KEY UPDATE meta_value=?",
+                LEGACY_MIGRATION_COMPLETE_KEY, timestamp, timestamp);
+    }
+
     @Override
     public int getTotalCustomSkins() {
         try (ResultSet crs = mysql.query("SELECT COUNT(*) FROM (" + getCustomSkinQuery(0, -1) + ") AS subquery")) {
@@ -761,6 +857,43 @@ public class MySQLAdapter implements StorageAdapter {
         mysql.update("DELETE FROM " + resolveCooldownTable() + " WHERE uuid=? AND group_name=?", owner.toString(), groupName);
     }
 
+    @Override
+    public List<MineSkinJobData> getMineSkinJobs() throws StorageException {
+        List<MineSkinJobData> jobs = new ArrayList<>();
+        try (ResultSet crs = mysql.query("SELECT * FROM " + resolveMineSkinJobTable())) {
+            while (crs.next()) {
+                String skinVariant = crs.getString("skin_variant");
+
+                jobs.add(MineSkinJobData.of(crs.getString("job_id"),
+                        crs.getString("url"),
+                        skinVariant == null ? null : SkinVariant.valueOf(skinVariant),
+                        MineSkinJobPriority.valueOf(crs.getString("priority")),
+                        crs.getLong("timestamp")));
+            }
+        } catch (SQLException e) {
+            throw new StorageException(e);
+        }
+
+        return jobs;
+    }
+
+    @Override
+    public void setMineSkinJob(MineSkinJobData jobData) {
+        String skinVariant = jobData.getSkinVariant() == null ? null : jobData.getSkinVariant().name();
+        mysql.update("INSERT INTO " + resolveMineSkinJobTable() + " (job_id, url, skin_variant, priority, timestamp) VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE priority=?",
+                jobData.getJobId(),
+                jobData.getUrl(),
+                skinVariant,
+                jobData.getPriority().name(),
+                jobData.getTimestamp(),
+                jobData.getPriority().name());
+    }
+
+    @Override
+    public void removeMineSkinJob(String jobId) {
+        mysql.update("DELETE FROM " + resolveMineSkinJobTable() + " WHERE job_id=?", jobId);
+    }
+
     private String resolveCustomSkinTable() {
         return settings.getProperty(DatabaseConfig.MYSQL_TABLE_PREFIX) + "custom_skins";
     }
@@ -773,6 +906,10 @@ public class MySQLAdapter implements StorageAdapter {
         return settings.getProperty(DatabaseConfig.MYSQL_TABLE_PREFIX) + "url_index";
     }
 
+    private String resolveImageHashIndexTable() {
+        return settings.getProperty(DatabaseConfig.MYSQL_TABLE_PREFIX) + "image_hash_index";
+    }
+
     private String resolvePlayerSkinTable() {
         return settings.getProperty(DatabaseConfig.MYSQL_TABLE_PREFIX) + "player_skins";
     }
@@ -793,10 +930,18 @@ public class MySQLAdapter implements StorageAdapter {
         return settings.getProperty(DatabaseConfig.MYSQL_TABLE_PREFIX) + "cooldowns";
     }
 
+    private String resolveMineSkinJobTable() {
+        return settings.getProperty(DatabaseConfig.MYSQL_TABLE_PREFIX) + "mineskin_jobs";
+    }
+
     private String resolveCacheTable() {
         return settings.getProperty(DatabaseConfig.MYSQL_TABLE_PREFIX) + "cache";
     }
 
+    private String resolveMetaTable() {
+        return settings.getProperty(DatabaseConfig.MYSQL_TABLE_PREFIX) + "meta";
+    }
+
     private String resolveLegacyPlayerTable() {
         return settings.getProperty(DatabaseConfig.MYSQL_TABLE_PREFIX) + "legacy_players";
     }
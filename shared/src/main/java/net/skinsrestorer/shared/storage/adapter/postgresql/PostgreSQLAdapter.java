@@ -26,6 +26,7 @@ import net.skinsrestorer.api.property.SkinType;
 import net.skinsrestorer.api.property.SkinVariant;
 import net.skinsrestorer.shared.config.DatabaseConfig;
 import net.skinsrestorer.shared.config.GUIConfig;
+import net.skinsrestorer.shared.connections.mineskin.MineSkinJobPriority;
 import net.skinsrestorer.shared.gui.GUIUtils;
 import net.skinsrestorer.shared.log.SRLogger;
 import net.skinsrestorer.shared.storage.SkinStorageImpl;
@@ -38,6 +39,7 @@ import net.skinsrestorer.shared.storage.model.player.PlayerData;
 import net.skinsrestorer.shared.storage.model.skin.*;
 import net.skinsrestorer.shared.subjects.messages.ComponentHelper;
 import net.skinsrestorer.shared.subjects.messages.ComponentString;
+import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Inject;
 import java.sql.ResultSet;
@@ -112,12 +114,29 @@ public class PostgreSQLAdapter implements StorageAdapter {
                 + "skin_variant VARCHAR(20),"
                 + "PRIMARY KEY (url))");
 
+        postgres.update("CREATE TABLE IF NOT EXISTS " + resolveImageHashIndexTable() + " ("
+                + "image_hash VARCHAR(64) NOT NULL,"
+                + "requested_variant VARCHAR(20) NOT NULL,"
+                + "mine_skin_id VARCHAR(36),"
+                + "value TEXT NOT NULL,"
+                + "signature TEXT NOT NULL,"
+                + "generated_variant VARCHAR(20) NOT NULL,"
+                + "PRIMARY KEY (image_hash, requested_variant))");
+
         postgres.update("CREATE TABLE IF NOT EXISTS " + resolveCustomSkinTable() + " ("
                 + "name VARCHAR(36) NOT NULL,"
                 + "display_name TEXT,"
                 + "value TEXT NOT NULL,"
                 + "signature TEXT NOT NULL,"
                 + "PRIMARY KEY (name))");
+
+        postgres.update("CREATE TABLE IF NOT EXISTS " + resolveMineSkinJobTable() + " ("
+                + "job_id VARCHAR(64) NOT NULL,"
+                + "url VARCHAR(266) NOT NULL," // Max chatbox command length
+                + "skin_variant VARCHAR(20),"
+                + "priority VARCHAR(20) NOT NULL,"
+                + "timestamp BIGINT NOT NULL,"
+                + "PRIMARY KEY (job_id))");
     }
 
     @Override
@@ -322,6 +341,37 @@ public class PostgreSQLAdapter implements StorageAdapter {
                 skinData.getSkinVariant().name());
     }
 
+    @Override
+    public Optional<ImageHashIndexData> getImageHashIndex(String imageHash, @Nullable SkinVariant requestedVariant) throws StorageException {
+        try (ResultSet crs = postgres.query("SELECT * FROM " + resolveImageHashIndexTable() + " WHERE image_hash=? AND requested_variant=?",
+                imageHash, ImageHashIndexData.toVariantKey(requestedVariant))) {
+            if (!crs.next()) {
+                return Optional.empty();
+            }
+
+            String mineSkinId = crs.getString("mine_skin_id");
+            String value = crs.getString("value");
+            String signature = crs.getString("signature");
+            SkinVariant generatedVariant = SkinVariant.valueOf(crs.getString("generated_variant"));
+
+            return Optional.of(ImageHashIndexData.of(imageHash, requestedVariant, mineSkinId, SkinProperty.of(value, signature), generatedVariant));
+        } catch (SQLException e) {
+            throw new StorageException(e);
+        }
+    }
+
+    @Override
+    public void setImageHashIndex(ImageHashIndexData indexData) {
+        postgres.update("INSERT INTO " + resolveImageHashIndexTable() + " (image_hash, requested_variant, mine_skin_id, value, signature, generated_variant) VALUES (?, ?, ?, ?, ?, ?) "
+                        + "ON CONFLICT (image_hash, requested_variant) DO UPDATE SET mine_skin_id=EXCLUDED.mine_skin_id, value=EXCLUDED.value, signature=EXCLUDED.signature, generated_variant=EXCLUDED.generated_variant",
+                indexData.getImageHash(),
+                indexData.getVariantKey(),
+                indexData.getMineSkinId(),
+                indexData.getProperty().getValue(),
+                indexData.getProperty().getSignature(),
+                indexData.getGeneratedVariant().name());
+    }
+
     @Override
     public Optional<CustomSkinData> getCustomSkinData(String skinName) throws StorageException {
         skinName = CustomSkinData.sanitizeCustomSkinName(skinName);
@@ -377,6 +427,21 @@ public class PostgreSQLAdapter implements StorageAdapter {
         // Legacy storage is not supported for PostgreSQL
     }
 
+    @Override
+    public Set<String> getLegacyPlayerNames() throws StorageException {
+        return Set.of();
+    }
+
+    @Override
+    public boolean isLegacyMigrationComplete() {
+        return true;
+    }
+
+    @Override
+    public void setLegacyMigrationComplete() {
+        // Legacy storage is not supported for PostgreSQL
+    }
+
     @Override
     public int getTotalCustomSkins() {
         try (ResultSet crs = postgres.query("SELECT COUNT(*) FROM (" + getCustomSkinQuery(0, -1) + ") AS subquery")) {
@@ -593,6 +658,42 @@ public class PostgreSQLAdapter implements StorageAdapter {
         postgres.update("DELETE FROM " + resolveCooldownTable() + " WHERE uuid=? AND group_name=?", owner.toString(), groupName);
     }
 
+    @Override
+    public List<MineSkinJobData> getMineSkinJobs() throws StorageException {
+        List<MineSkinJobData> jobs = new ArrayList<>();
+        try (ResultSet crs = postgres.query("SELECT * FROM " + resolveMineSkinJobTable())) {
+            while (crs.next()) {
+                String skinVariant = crs.getString("skin_variant");
+
+                jobs.add(MineSkinJobData.of(crs.getString("job_id"),
+                        crs.getString("url"),
+                        skinVariant == null ? null : SkinVariant.valueOf(skinVariant),
+                        MineSkinJobPriority.valueOf(crs.getString("priority")),
+                        crs.getLong("timestamp")));
+            }
+        } catch (SQLException e) {
+            throw new StorageException(e);
+        }
+
+        return jobs;
+    }
+
+    @Override
+    public void setMineSkinJob(MineSkinJobData jobData) {
+        postgres.update("INSERT INTO " + resolveMineSkinJobTable() + " (job_id, url, skin_variant, priority, timestamp) VALUES (?, ?, ?, ?, ?) "
+                        + "ON CONFLICT (job_id) DO UPDATE SET priority=EXCLUDED.priority",
+                jobData.getJobId(),
+                jobData.getUrl(),
+                jobData.getSkinVariant() == null ? null : jobData.getSkinVariant().name(),
+                jobData.getPriority().name(),
+                jobData.getTimestamp());
+    }
+
+    @Override
+    public void removeMineSkinJob(String jobId) {
+        postgres.update("DELETE FROM " + resolveMineSkinJobTable() + " WHERE job_id=?", jobId);
+    }
+
     private String resolveCustomSkinTable() {
         return settings.getProperty(DatabaseConfig.MYSQL_TABLE_PREFIX) + "custom_skins";
     }
@@ -601,6 +702,10 @@ public class PostgreSQLAdapter implements StorageAdapter {
         return settings.getProperty(DatabaseConfig.MYSQL_TABLE_PREFIX) + "url_skins";
     }
 
+    private String resolveImageHashIndexTable() {
+        return settings.getProperty(DatabaseConfig.MYSQL_TABLE_PREFIX) + "image_hash_index";
+    }
+
     private String resolveURLSkinIndexTable() {
         return settings.getProperty(DatabaseConfig.MYSQL_TABLE_PREFIX) + "url_index";
     }
@@ -625,6 +730,10 @@ public class PostgreSQLAdapter implements StorageAdapter {
         return settings.getProperty(DatabaseConfig.MYSQL_TABLE_PREFIX) + "cooldowns";
     }
 
+    private String resolveMineSkinJobTable() {
+        return settings.getProperty(DatabaseConfig.MYSQL_TABLE_PREFIX) + "mineskin_jobs";
+    }
+
     private String resolveCacheTable() {
         return settings.getProperty(DatabaseConfig.MYSQL_TABLE_PREFIX) + "cache";
     }
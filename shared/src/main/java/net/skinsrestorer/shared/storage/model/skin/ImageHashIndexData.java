@@ -0,0 +1,52 @@
+/*
+ * SkinsRestorer
+ * Copyright (C) 2024  SkinsRestorer Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.skinsrestorer.shared.storage.model.skin;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import net.skinsrestorer.api.property.SkinProperty;
+import net.skinsrestorer.api.property.SkinVariant;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Different URLs may serve the same image, so generated skins are also indexed by a hash of their pixel data.
+ * The same image can be generated both as SLIM and as CLASSIC, so the requested variant is part of the key.
+ */
+@Getter
+@RequiredArgsConstructor(staticName = "of")
+public class ImageHashIndexData {
+    private static final String AUTO_VARIANT_KEY = "AUTO";
+    private final String imageHash;
+    @Nullable
+    private final SkinVariant requestedVariant;
+    private final String mineSkinId;
+    private final SkinProperty property;
+    private final SkinVariant generatedVariant;
+
+    public static String toVariantKey(@Nullable SkinVariant requestedVariant) {
+        return requestedVariant == null ? AUTO_VARIANT_KEY : requestedVariant.name();
+    }
+
+    public static @Nullable SkinVariant fromVariantKey(String variantKey) {
+        return variantKey.equals(AUTO_VARIANT_KEY) ? null : SkinVariant.valueOf(variantKey);
+    }
+
+    public String getVariantKey() {
+        return toVariantKey(requestedVariant);
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * SkinsRestorer
+ * Copyright (C) 2024  SkinsRestorer Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.skinsrestorer.shared.storage.model.skin;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import net.skinsrestorer.api.property.SkinVariant;
+import net.skinsrestorer.shared.connections.mineskin.MineSkinJobPriority;
+import net.skinsrestorer.shared.utils.SRHelpers;
+import org.jetbrains.annotations.Nullable;
+
+@Getter
+@RequiredArgsConstructor(staticName = "of")
+public class MineSkinJobData {
+    private final String jobId;
+    private final String url;
+    @Nullable
+    private final SkinVariant skinVariant;
+    private final MineSkinJobPriority priority;
+    private final long timestamp;
+
+    /**
+     * Jobs generating the same image with the same variant share one id, so they are only generated once.
+     */
+    public static String createJobId(String url, @Nullable SkinVariant skinVariant) {
+        return SRHelpers.hashSha256ToHex(url + "_" + (skinVariant == null ? "AUTO" : skinVariant.name()));
+    }
+}
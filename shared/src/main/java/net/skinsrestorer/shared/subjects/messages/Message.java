@@ -99,6 +99,9 @@ public enum Message {
     ERROR_MS_API_FAILED(Message.ERROR_GENERIC),
     ERROR_MS_API_KEY_INVALID(Message.ERROR_GENERIC),
     ERROR_MS_UNKNOWN(Message.ERROR_GENERIC),
+    ERROR_MS_QUEUE_FULL(Message.ERROR_GENERIC),
+    ERROR_MS_JOB_CANCELLED(Message.ERROR_GENERIC),
+    ERROR_MS_JOB_TIMED_OUT(Message.ERROR_GENERIC),
     ERROR_NO_HISTORY(Message.ERROR_GENERIC),
     ERROR_NO_FAVOURITES(Message.ERROR_GENERIC),
     ERROR_PLAYER_REFRESH_NO_MAPPING(Message.ERROR_GENERIC),
@@ -143,6 +146,8 @@ public enum Message {
     INVALID_PLAYER(Message.PREFIX_FORMAT),
     SKIN_COOLDOWN(Message.PREFIX_FORMAT),
     MS_UPLOADING_SKIN(Message.PREFIX_FORMAT),
+    MS_SKIN_QUEUED(Message.PREFIX_FORMAT),
+    MS_SKIN_RATE_LIMITED(Message.PREFIX_FORMAT),
     WAIT_A_MINUTE(Message.PREFIX_FORMAT),
     PERMISSION_PLAYER_WILDCARD,
     PERMISSION_COMMAND,
@@ -17,33 +17,58 @@
  */
 package net.skinsrestorer.shared.subjects.messages;
 
-import ch.jalu.configme.SettingsManager;
 import com.google.errorprone.annotations.RestrictedApi;
 import lombok.Getter;
 import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextReplacementConfig;
+import net.kyori.adventure.text.minimessage.Context;
 import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.ArgumentQueue;
 import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
 import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
-import net.skinsrestorer.shared.config.MessageConfig;
+import net.skinsrestorer.shared.config.ConfigSnapshotProvider;
 import net.skinsrestorer.shared.subjects.SRForeign;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Inject;
-import java.util.Locale;
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class SkinsRestorerLocale {
+    private static final Message[] MESSAGES = Message.values();
+    private static final Set<Message> PARENT_MESSAGES = EnumSet.noneOf(Message.class);
+    private static final ComponentString EMPTY_MESSAGE = ComponentHelper.convertComponentToJson(Component.empty());
+    private static final int MAX_CACHED_LOCALES = 64;
+    // Private use characters, these never show up in a translation
+    private static final String MESSAGE_SLOT = "\uE000message\uE000";
+
+    static {
+        for (Message message : MESSAGES) {
+            if (message.getParent() != null) {
+                PARENT_MESSAGES.add(message.getParent());
+            }
+        }
+    }
+
     private final MiniMessage miniMessage = MiniMessage.miniMessage();
+    /**
+     * Compiled messages per locale, indexed by {@link Message#ordinal()}.
+     * Cleared with {@link #clearCache()} whenever translations or the config are reloaded.
+     */
+    private final Map<Locale, Template[]> templates = new ConcurrentHashMap<>();
     @Getter
     private final SRForeign englishForeign = () -> Locale.ENGLISH;
     @Inject
     private LocaleManager localeManager;
     @Inject
-    private SettingsManager settings;
+    private ConfigSnapshotProvider configProvider;
     @Getter
-    private final SRForeign defaultForeign = () -> settings.getProperty(MessageConfig.LOCALE);
+    private final SRForeign defaultForeign = () -> configProvider.get().locale();
 
     public ComponentString getMessageRequired(SRForeign foreign, Message key) {
-        return getMessageRequired(foreign, key, TagResolver.empty());
+        return getStaticMessage(foreign, key).orElse(EMPTY_MESSAGE);
     }
 
     @RestrictedApi(
@@ -51,12 +76,16 @@ public class SkinsRestorerLocale {
             allowedOnPath = ".*net/skinsrestorer/shared/.*"
     )
     public ComponentString getMessageRequired(SRForeign foreign, Message key, TagResolver... tagResolver) {
+        if (tagResolver.length == 0) {
+            return getMessageRequired(foreign, key);
+        }
+
         return ComponentHelper.convertComponentToJson(getMessageInternal(foreign, key, TagResolver.resolver(tagResolver))
                 .orElseGet(Component::empty));
     }
 
     public Optional<ComponentString> getMessageOptional(SRForeign foreign, Message key) {
-        return getMessageOptional(foreign, key, TagResolver.empty());
+        return getStaticMessage(foreign, key);
     }
 
     @RestrictedApi(
@@ -64,30 +93,145 @@ public class SkinsRestorerLocale {
             allowedOnPath = ".*net/skinsrestorer/shared/.*"
     )
     public Optional<ComponentString> getMessageOptional(SRForeign foreign, Message key, TagResolver... tagResolver) {
+        if (tagResolver.length == 0) {
+            return getMessageOptional(foreign, key);
+        }
+
         return getMessageInternal(foreign, key, TagResolver.resolver(tagResolver))
                 .map(ComponentHelper::convertComponentToJson);
     }
 
+    /**
+     * Drops all compiled messages, they are compiled again from the current translations and config on next use.
+     */
+    public void clearCache() {
+        templates.clear();
+    }
+
+    private Optional<ComponentString> getStaticMessage(SRForeign foreign, Message key) {
+        // Without placeholders from the caller the output only depends on the template
+        Template template = getTemplate(foreign.getLocale(), key);
+        Optional<ComponentString> json = template.staticJson;
+        if (json == null) {
+            json = render(template, TagResolver.empty()).map(ComponentHelper::convertComponentToJson);
+            template.staticJson = json;
+        }
+
+        return json;
+    }
+
     private Optional<Component> getMessageInternal(SRForeign foreign, Message key, TagResolver tagResolver) {
-        String message = localeManager.getMessage(foreign.getLocale(), key);
+        return render(getTemplate(foreign.getLocale(), key), tagResolver);
+    }
 
+    private Optional<Component> render(Template template, TagResolver tagResolver) {
+        if (template.message.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Component component = miniMessage.deserialize(template.message, tagResolver);
+        for (Template parent = template.parent; parent != null; parent = parent.parent) {
+            if (parent.message.isEmpty()) {
+                return Optional.empty();
+            }
+
+            if (parent.slotted != null) {
+                component = parent.slotted.replaceText(TextReplacementConfig.builder()
+                        .matchLiteral(MESSAGE_SLOT)
+                        .once()
+                        .replacement(component)
+                        .build());
+            } else {
+                tagResolver = TagResolver.resolver(tagResolver, Placeholder.component("message", component));
+                component = miniMessage.deserialize(parent.message, tagResolver);
+            }
+        }
+
+        return Optional.of(component.compact());
+    }
+
+    private Template getTemplate(Locale locale, Message key) {
+        Template[] localeTemplates = templates.get(locale);
+        if (localeTemplates == null) {
+            // Clients may send any locale, don't let them grow the cache forever
+            if (templates.size() >= MAX_CACHED_LOCALES) {
+                templates.clear();
+            }
+
+            localeTemplates = templates.computeIfAbsent(locale, k -> new Template[MESSAGES.length]);
+        }
+
+        // Compiling twice on a race is harmless, both results are equal
+        Template template = localeTemplates[key.ordinal()];
+        if (template == null) {
+            template = compile(locale, key);
+            localeTemplates[key.ordinal()] = template;
+        }
+
+        return template;
+    }
+
+    private Template compile(Locale locale, Message key) {
+        String message = localeManager.getMessage(locale, key);
         if (message == null) {
             throw new IllegalStateException("Message %s not found".formatted(key.name()));
         }
 
-        if (message.isEmpty()) {
-            return Optional.empty();
+        Message parent = key.getParent();
+        Template parentTemplate = parent != null && (parent != Message.PREFIX_FORMAT || !configProvider.get().disablePrefix())
+                ? getTemplate(locale, parent) : null;
+        return new Template(message, parentTemplate, PARENT_MESSAGES.contains(key) ? compileSlotted(message) : null);
+    }
+
+    /**
+     * Parses a parent format once, with a marker where the child message goes.
+     *
+     * @return null if the format uses other placeholders, it has to be parsed with the caller's placeholders then
+     */
+    private @Nullable Component compileSlotted(String format) {
+        if (format.isEmpty()) {
+            return null;
         }
 
-        Component component = miniMessage.deserialize(message, tagResolver);
-        Message parent = key.getParent();
-        if (parent != null && (parent != Message.PREFIX_FORMAT || !settings.getProperty(MessageConfig.DISABLE_PREFIX))) {
-            return getMessageInternal(foreign, parent, TagResolver.resolver(
-                    tagResolver,
-                    Placeholder.component("message", component)
-            ));
-        } else {
-            return Optional.of(component);
+        Set<String> unknownTags = new HashSet<>();
+        Component component = miniMessage.deserialize(format, new TagResolver() {
+            @Override
+            public @Nullable Tag resolve(@NotNull String name, @NotNull ArgumentQueue arguments, @NotNull Context ctx) {
+                if (name.equals("message")) {
+                    return Tag.selfClosingInserting(Component.text(MESSAGE_SLOT));
+                }
+
+                unknownTags.add(name);
+                return null;
+            }
+
+            @Override
+            public boolean has(@NotNull String name) {
+                if (name.equals("message")) {
+                    return true;
+                }
+
+                if (!TagResolver.standard().has(name)) {
+                    unknownTags.add(name);
+                }
+
+                return false;
+            }
+        });
+
+        return unknownTags.isEmpty() ? component : null;
+    }
+
+    private static final class Template {
+        private final String message;
+        private final @Nullable Template parent;
+        private final @Nullable Component slotted;
+        private volatile Optional<ComponentString> staticJson;
+
+        private Template(String message, @Nullable Template parent, @Nullable Component slotted) {
+            this.message = message;
+            this.parent = parent;
+            this.slotted = slotted;
         }
     }
 }
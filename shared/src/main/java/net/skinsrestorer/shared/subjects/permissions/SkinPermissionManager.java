@@ -24,34 +24,68 @@ import net.skinsrestorer.shared.subjects.SRCommandSender;
 import net.skinsrestorer.shared.subjects.SRPlayer;
 import net.skinsrestorer.shared.subjects.messages.Message;
 import net.skinsrestorer.shared.utils.ValidationUtil;
+import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Inject;
-import java.util.Locale;
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 @RequiredArgsConstructor(onConstructor_ = @Inject)
 public class SkinPermissionManager {
+    private static final int MAX_CACHED_PERMISSIONS = 4096;
     private final SettingsManager settings;
+    private final Map<String, Permission> skinPermissions = new ConcurrentHashMap<>();
+    private volatile Snapshot snapshot;
+
+    /**
+     * Rebuilds the restriction index from the config, called whenever the config is loaded.
+     */
+    public void reload() {
+        boolean perSkinPermissions = settings.getProperty(CommandConfig.PER_SKIN_PERMISSIONS)
+                && settings.getProperty(CommandConfig.PER_SKIN_PERMISSIONS_CONSENT).equalsIgnoreCase(CommandConfig.CONSENT_MESSAGE);
+
+        Set<String> disabledSkins = null;
+        if (settings.getProperty(CommandConfig.DISABLED_SKINS_ENABLED)) {
+            disabledSkins = new HashSet<>();
+            for (String skin : settings.getProperty(CommandConfig.DISABLED_SKINS)) {
+                disabledSkins.add(skin.toLowerCase(Locale.ROOT));
+            }
+        }
+
+        PrefixTrie allowedUrls = null;
+        if (settings.getProperty(CommandConfig.RESTRICT_SKIN_URLS_ENABLED)) {
+            allowedUrls = new PrefixTrie();
+            for (String prefix : settings.getProperty(CommandConfig.RESTRICT_SKIN_URLS_LIST)) {
+                allowedUrls.add(prefix);
+            }
+        }
+
+        snapshot = new Snapshot(perSkinPermissions, disabledSkins == null ? null : Set.copyOf(disabledSkins), allowedUrls);
+    }
 
     public Optional<Message> canSetSkin(SRCommandSender sender, String skinInput) {
-        if (isPerSkinPermissions()
-                && !sender.hasPermission(PermissionRegistry.forSkin(skinInput.toLowerCase(Locale.ROOT)))
+        Snapshot snapshot = getSnapshot();
+        if (snapshot.perSkinPermissions()
+                && !sender.hasPermission(getSkinPermission(skinInput))
                 && (!sender.hasPermission(PermissionRegistry.OWN_SKIN)
                 || !(sender instanceof SRPlayer player)
                 || !skinInput.equalsIgnoreCase(player.getName()))) {
             return Optional.of(Message.PLAYER_HAS_NO_PERMISSION_SKIN);
         }
 
-        if (isDisabledSkin(skinInput) && !sender.hasPermission(PermissionRegistry.BYPASS_DISABLED)) {
+        if (snapshot.disabledSkins() != null
+                && snapshot.disabledSkins().contains(skinInput.toLowerCase(Locale.ROOT))
+                && !sender.hasPermission(PermissionRegistry.BYPASS_DISABLED)) {
             return Optional.of(Message.ERROR_SKIN_DISABLED);
         }
 
-        if (ValidationUtil.validSkinUrl(skinInput)) {
+        // Every url has a scheme, this skips parsing skin names as urls
+        if (skinInput.indexOf(':') != -1 && ValidationUtil.validSkinUrl(skinInput)) {
             if (!sender.hasPermission(PermissionRegistry.SKIN_SET_URL)) {
                 return Optional.of(Message.PLAYER_HAS_NO_PERMISSION_URL);
             }
 
-            if (!allowedSkinUrl(skinInput)) {
+            if (snapshot.allowedUrls() != null && !snapshot.allowedUrls().matchesPrefix(skinInput)) {
                 return Optional.of(Message.ERROR_SKINURL_DISALLOWED);
             }
         }
@@ -59,23 +93,71 @@ public class SkinPermissionManager {
         return Optional.empty();
     }
 
-    private boolean isPerSkinPermissions() {
-        if (settings.getProperty(CommandConfig.PER_SKIN_PERMISSIONS)) {
-            return settings.getProperty(CommandConfig.PER_SKIN_PERMISSIONS_CONSENT).equalsIgnoreCase(CommandConfig.CONSENT_MESSAGE);
-        } else {
-            return false;
+    private Snapshot getSnapshot() {
+        if (snapshot == null) {
+            reload();
         }
+
+        return snapshot;
     }
 
-    private boolean isDisabledSkin(String skinName) {
-        return settings.getProperty(CommandConfig.DISABLED_SKINS_ENABLED)
-                && settings.getProperty(CommandConfig.DISABLED_SKINS).stream().anyMatch(skinName::equalsIgnoreCase);
+    private Permission getSkinPermission(String skinInput) {
+        String skinName = skinInput.toLowerCase(Locale.ROOT);
+        Permission permission = skinPermissions.get(skinName);
+        if (permission == null) {
+            if (skinPermissions.size() >= MAX_CACHED_PERMISSIONS) {
+                skinPermissions.clear();
+            }
+
+            permission = PermissionRegistry.forSkin(skinName);
+            skinPermissions.put(skinName, permission);
+        }
+
+        return permission;
     }
 
-    private boolean allowedSkinUrl(String url) {
-        return !settings.getProperty(CommandConfig.RESTRICT_SKIN_URLS_ENABLED)
-                || settings.getProperty(CommandConfig.RESTRICT_SKIN_URLS_LIST)
-                .stream()
-                .anyMatch(url::startsWith);
+    /**
+     * @param disabledSkins lowercase names of disabled skins, null if disabled skins are turned off
+     * @param allowedUrls   allowed url prefixes, null if urls are not restricted
+     */
+    private record Snapshot(boolean perSkinPermissions, @Nullable Set<String> disabledSkins,
+                            @Nullable PrefixTrie allowedUrls) {
+    }
+
+    /**
+     * Matches a string against many prefixes in one pass over the string.
+     */
+    private static class PrefixTrie {
+        private final Node root = new Node();
+
+        private void add(String prefix) {
+            Node node = root;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.children.computeIfAbsent(prefix.charAt(i), c -> new Node());
+            }
+
+            node.terminal = true;
+        }
+
+        private boolean matchesPrefix(String input) {
+            Node node = root;
+            for (int i = 0; !node.terminal; i++) {
+                if (i == input.length()) {
+                    return false;
+                }
+
+                node = node.children.get(input.charAt(i));
+                if (node == null) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private static class Node {
+            private final Map<Character, Node> children = new HashMap<>();
+            private boolean terminal;
+        }
     }
 }
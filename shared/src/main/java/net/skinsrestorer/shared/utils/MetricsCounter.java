@@ -37,6 +37,8 @@ public class MetricsCounter {
     private final SettingsManager settingsManager;
     private final Map<Service, AtomicInteger> serviceMap = new EnumMap<>(Service.class);
     private final Map<CommandType, AtomicInteger> commandeMap = new EnumMap<>(CommandType.class);
+    private final AtomicInteger loginDeadlineExceeded = new AtomicInteger();
+    private final AtomicInteger skinUpdatesSuppressed = new AtomicInteger();
 
     public String usesMySQL() {
         DatabaseConfig.DatabaseType databaseType = settingsManager.getProperty(DatabaseConfig.DATABASE_TYPE);
@@ -135,6 +137,22 @@ public class MetricsCounter {
         return serviceMap.computeIfAbsent(service, k -> new AtomicInteger());
     }
 
+    public void incrementLoginDeadlineExceeded() {
+        loginDeadlineExceeded.incrementAndGet();
+    }
+
+    public int collectLoginDeadlineExceeded() {
+        return loginDeadlineExceeded.getAndSet(0);
+    }
+
+    public void incrementSkinUpdatesSuppressed() {
+        skinUpdatesSuppressed.incrementAndGet();
+    }
+
+    public int collectSkinUpdatesSuppressed() {
+        return skinUpdatesSuppressed.getAndSet(0);
+    }
+
     public enum Service {
         MINESKIN_CALLS,
         MOJANG_UUID,
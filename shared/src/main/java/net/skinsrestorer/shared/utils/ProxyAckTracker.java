@@ -19,9 +19,12 @@ package net.skinsrestorer.shared.utils;
 
 import lombok.RequiredArgsConstructor;
 import net.skinsrestorer.builddata.BuildData;
+import net.skinsrestorer.api.property.SkinProperty;
+import net.skinsrestorer.shared.codec.PayloadCompression;
+import net.skinsrestorer.shared.codec.SRProxyPluginMessage;
 import net.skinsrestorer.shared.codec.SRServerPluginMessage;
 import net.skinsrestorer.shared.log.SRLogger;
-import net.skinsrestorer.shared.plugin.SRPlatformAdapter;
+import net.skinsrestorer.shared.plugin.SRScheduler;
 import net.skinsrestorer.shared.subjects.SRProxyPlayer;
 
 import javax.inject.Inject;
@@ -32,10 +35,12 @@ import java.util.concurrent.TimeUnit;
 @RequiredArgsConstructor(onConstructor_ = @Inject)
 public class ProxyAckTracker {
     private final SRLogger logger;
-    private final SRPlatformAdapter adapter;
+    private final SRScheduler scheduler;
+    private final MetricsCounter metricsCounter;
     private final Set<String> verifiedServers = Collections.synchronizedSet(new HashSet<>());
     private final Set<String> brokenServers = Collections.synchronizedSet(new HashSet<>());
     private final Map<String, Integer> serverNackCounts = new ConcurrentHashMap<>();
+    private final Map<String, BackendCapabilities> serverCapabilities = new ConcurrentHashMap<>();
 
     public Optional<SRServerPluginMessage.SkinUpdateV3ChannelPayload.AckPayload> shouldAckPayload(SRProxyPlayer player) {
         var optionalServer = player.getCurrentServer();
@@ -45,36 +50,61 @@ public class ProxyAckTracker {
 
         var server = optionalServer.get();
         if (verifiedServers.contains(server)) {
-            logger.debug("Backend server '%s' already verified. Skipping ACK payload.".formatted(server));
+            logger.debug("Backend server '%s' already verified. Skipping ACK payload.", server);
             return Optional.empty();
         }
 
         var ackId = UUID.randomUUID();
-        logger.debug("Sending ACK payload to player '%s' with ACK id %s to backend server '%s'".formatted(player.getName(), ackId, server));
+        logger.debug("Sending ACK payload to player '%s' with ACK id %s to backend server '%s'", player.getName(), ackId, server);
 
-        adapter.runAsyncDelayed(() -> handleProxyServerState(server), 30, TimeUnit.SECONDS);
+        scheduler.schedule(() -> handleProxyServerState(server), 30, TimeUnit.SECONDS);
 
         return Optional.of(new SRServerPluginMessage.SkinUpdateV3ChannelPayload.AckPayload(ackId, BuildData.VERSION));
     }
 
     private void handleProxyServerState(String server) {
         if (verifiedServers.contains(server)) {
-            logger.debug("Backend server '%s' is already verified, skipping state check.".formatted(server));
+            logger.debug("Backend server '%s' is already verified, skipping state check.", server);
         } else if (brokenServers.contains(server)) {
-            logger.debug("Backend server '%s' is already marked as broken, skipping state check.".formatted(server));
+            logger.debug("Backend server '%s' is already marked as broken, skipping state check.", server);
         } else if (serverNackCounts.compute(server, (key, count) -> count == null ? 1 : count + 1) >= 3) {
             logger.warning(("Backend server '%s' does likely not have SkinsRestorer installed or is not responding to ACK messages. " +
                     "Please make sure that the server has SkinsRestorer installed and is running the latest version. %s").formatted(server, SRHelpers.DOWNLOAD_URL));
             brokenServers.add(server);
             serverNackCounts.remove(server);
         } else {
-            logger.debug(("Backend server '%s' did not respond to ACK message in time. " +
-                    "This may indicate that the server is not running SkinsRestorer or is not responding to ACK messages.").formatted(server));
+            logger.debug("Backend server '%s' did not respond to ACK message in time. " +
+                    "This may indicate that the server is not running SkinsRestorer or is not responding to ACK messages.", server);
         }
     }
 
-    public void receivedAck(SRProxyPlayer player, UUID ackId, String serverSrVersion) {
-        logger.debug("Received ACK from player '%s' with ACK id %s".formatted(player.getName(), ackId));
+    /**
+     * Creates the skin update for the backend server of the player.
+     *
+     * @param unchanged whether the player already had this skin before it was applied on the proxy,
+     *                  the backend server received it with the player's profile then
+     * @return empty if the backend server does not need to be told about the skin
+     */
+    public Optional<SRServerPluginMessage> createSkinUpdate(SRProxyPlayer player, SkinProperty property, boolean unchanged) {
+        var ackPayload = shouldAckPayload(player);
+        // Unverified servers still get the update, so they can acknowledge it
+        if (unchanged && ackPayload.isEmpty()) {
+            logger.debug("Skin of player '%s' is unchanged, not sending a skin update.", player.getName());
+            metricsCounter.incrementSkinUpdatesSuppressed();
+            return Optional.empty();
+        }
+
+        var update = new SRServerPluginMessage.SkinUpdateV3ChannelPayload(property, ackPayload);
+        // Only servers that acknowledged us can have told us that they support compression
+        if (ackPayload.isEmpty() && player.getCurrentServer().map(this::supportsCompression).orElse(false)) {
+            return Optional.of(new SRServerPluginMessage(new SRServerPluginMessage.SkinUpdateV4ChannelPayload(update)));
+        }
+
+        return Optional.of(new SRServerPluginMessage(update));
+    }
+
+    public void receivedAck(SRProxyPlayer player, SRProxyPluginMessage.AckChannelPayload ack) {
+        logger.debug("Received ACK from player '%s' with ACK id %s", player.getName(), ack.ackId());
 
         var optionalServer = player.getCurrentServer();
         if (optionalServer.isEmpty()) {
@@ -82,16 +112,51 @@ public class ProxyAckTracker {
         }
 
         var server = optionalServer.get();
+        serverCapabilities.put(server, new BackendCapabilities(ack.guiProtocolVersion(), ack.compressionVersion()));
         if (!verifiedServers.add(server)) {
-            logger.debug("Backend server '%s' already verified. Skipping version check.".formatted(server));
+            logger.debug("Backend server '%s' already verified. Skipping version check.", server);
             return;
         }
 
-        if (serverSrVersion.equalsIgnoreCase(BuildData.VERSION)) {
-            logger.debug("Backend server '%s' is verified with SkinsRestorer version %s.".formatted(server, serverSrVersion));
+        if (ack.serverSrVersion().equalsIgnoreCase(BuildData.VERSION)) {
+            logger.debug("Backend server '%s' is verified with SkinsRestorer version %s.", server, ack.serverSrVersion());
         } else {
             logger.warning("Backend server '%s' is running a different version of SkinsRestorer (%s) than this proxy (%s). Make sure both server and proxy run the latest version of SkinsRestorer. %s"
-                    .formatted(server, serverSrVersion, BuildData.VERSION, SRHelpers.DOWNLOAD_URL));
+                    .formatted(server, ack.serverSrVersion(), BuildData.VERSION, SRHelpers.DOWNLOAD_URL));
         }
     }
+
+    /**
+     * Called when a player connected to a backend server.
+     * A server without other players of this proxy may have restarted, possibly on another SkinsRestorer version,
+     * so it has to acknowledge us again before it receives newer payloads.
+     */
+    public void handleServerConnected(String server, boolean otherPlayersOnServer) {
+        if (otherPlayersOnServer) {
+            return;
+        }
+
+        boolean wasVerified = verifiedServers.remove(server);
+        serverCapabilities.remove(server);
+        brokenServers.remove(server);
+        serverNackCounts.remove(server);
+        if (wasVerified) {
+            logger.debug("Backend server '%s' has no other players, it needs to acknowledge us again.", server);
+        }
+    }
+
+    /**
+     * @return the GUI protocol version the backend server reported in its ACK, 1 if it has not acknowledged yet
+     */
+    public int getGuiProtocolVersion(String server) {
+        return serverCapabilities.getOrDefault(server, BackendCapabilities.LEGACY).guiProtocolVersion();
+    }
+
+    public boolean supportsCompression(String server) {
+        return serverCapabilities.getOrDefault(server, BackendCapabilities.LEGACY).compressionVersion() == PayloadCompression.VERSION;
+    }
+
+    private record BackendCapabilities(int guiProtocolVersion, int compressionVersion) {
+        private static final BackendCapabilities LEGACY = new BackendCapabilities(1, 0);
+    }
 }
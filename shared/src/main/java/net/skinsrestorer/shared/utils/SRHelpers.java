@@ -27,6 +27,7 @@ import ch.jalu.injector.handlers.dependency.SingletonStoreDependencyHandler;
 import ch.jalu.injector.handlers.instantiation.DefaultInjectionProvider;
 import ch.jalu.injector.handlers.instantiation.ProviderHandler;
 import net.skinsrestorer.api.Base64Utils;
+import net.skinsrestorer.shared.config.ConfigSnapshot;
 import net.skinsrestorer.shared.config.MessageConfig;
 import net.skinsrestorer.shared.subjects.SRCommandSender;
 import net.skinsrestorer.shared.subjects.messages.ComponentHelper;
@@ -233,8 +234,16 @@ public class SRHelpers {
         return formatEpochMillis(settings, TimeUnit.SECONDS.toMillis(epochSeconds), locale);
     }
 
+    public static String formatEpochSeconds(ConfigSnapshot config, long epochSeconds, Locale locale) {
+        return formatEpochMillis(config.dateFormat(), TimeUnit.SECONDS.toMillis(epochSeconds), locale);
+    }
+
     public static String formatEpochMillis(SettingsManager settings, long epochMillis, Locale locale) {
-        return new SimpleDateFormat(settings.getProperty(MessageConfig.DATE_FORMAT), locale)
+        return formatEpochMillis(settings.getProperty(MessageConfig.DATE_FORMAT), epochMillis, locale);
+    }
+
+    private static String formatEpochMillis(String dateFormat, long epochMillis, Locale locale) {
+        return new SimpleDateFormat(dateFormat, locale)
                 .format(new Date(epochMillis));
     }
 
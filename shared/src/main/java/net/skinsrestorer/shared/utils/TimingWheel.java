@@ -0,0 +1,193 @@
+/*
+ * SkinsRestorer
+ * Copyright (C) 2024  SkinsRestorer Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.skinsrestorer.shared.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Hierarchical timing wheel for delayed tasks.
+ * Scheduling and cancelling are O(1), tasks far in the future are kept in coarser levels
+ * and cascade down into finer levels as their deadline approaches.
+ * The wheel does not run anything by itself, the owner calls {@link #advance()} regularly
+ * and runs the returned tasks. Time is read from the given clock, so tests can use a virtual one.
+ */
+public class TimingWheel {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELTA = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    private final Object lock = new Object();
+    private final LongSupplier nanoClock;
+    private final long tickNanos;
+    private final long startNanos;
+    private final Timeout[][] wheels = new Timeout[LEVELS][SLOTS];
+    private long currentTick;
+    private int pending;
+
+    /**
+     * @param nanoClock    monotonic time source in nanoseconds, usually {@code System::nanoTime}
+     * @param tickDuration resolution of the wheel, tasks run at the first tick after their delay passed
+     */
+    public TimingWheel(LongSupplier nanoClock, long tickDuration, TimeUnit unit) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive");
+        }
+
+        this.nanoClock = nanoClock;
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.startNanos = nanoClock.getAsLong();
+        for (Timeout[] wheel : wheels) {
+            for (int i = 0; i < SLOTS; i++) {
+                Timeout head = new Timeout(null, 0);
+                head.prev = head;
+                head.next = head;
+                wheel[i] = head;
+            }
+        }
+    }
+
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        long delayNanos = Math.max(0, unit.toNanos(delay));
+        long elapsedNanos = nanoClock.getAsLong() - startNanos;
+        // Round up, a task must never run before its delay passed
+        long deadlineTick = Math.floorDiv(elapsedNanos + delayNanos + tickNanos - 1, tickNanos);
+
+        synchronized (lock) {
+            Timeout timeout = new Timeout(task, Math.max(deadlineTick, currentTick + 1));
+            insert(timeout, currentTick);
+            pending++;
+            return timeout;
+        }
+    }
+
+    /**
+     * Moves the wheel to the current time.
+     *
+     * @return tasks that are due, in deadline order
+     */
+    public List<Runnable> advance() {
+        long targetTick = Math.floorDiv(nanoClock.getAsLong() - startNanos, tickNanos);
+        List<Runnable> expired = new ArrayList<>();
+        synchronized (lock) {
+            while (currentTick < targetTick) {
+                if (pending == 0) {
+                    // Nothing can cascade or expire, skip the idle ticks
+                    currentTick = targetTick;
+                    break;
+                }
+
+                long tick = ++currentTick;
+                for (int level = 1; level < LEVELS && (tick & ((1L << (SLOT_BITS * level)) - 1)) == 0; level++) {
+                    cascade(level, tick);
+                }
+
+                Timeout head = wheels[0][(int) (tick & SLOT_MASK)];
+                for (Timeout timeout = head.next; timeout != head; timeout = head.next) {
+                    unlink(timeout);
+                    timeout.expired = true;
+                    pending--;
+                    expired.add(timeout.task);
+                }
+            }
+        }
+
+        return expired;
+    }
+
+    public int getPending() {
+        synchronized (lock) {
+            return pending;
+        }
+    }
+
+    private void cascade(int level, long tick) {
+        Timeout head = wheels[level][(int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK)];
+        Timeout timeout = head.next;
+        head.prev = head;
+        head.next = head;
+        while (timeout != head) {
+            Timeout next = timeout.next;
+            insert(timeout, tick);
+            timeout = next;
+        }
+    }
+
+    private void insert(Timeout timeout, long baseTick) {
+        // Deadlines beyond the top level wait in its furthest slot and get placed again from there
+        long deadline = Math.min(timeout.deadlineTick, baseTick + MAX_DELTA);
+        long delta = deadline - baseTick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+
+        Timeout head = wheels[level][(int) ((deadline >>> (SLOT_BITS * level)) & SLOT_MASK)];
+        timeout.prev = head.prev;
+        timeout.next = head;
+        head.prev.next = timeout;
+        head.prev = timeout;
+    }
+
+    private static void unlink(Timeout timeout) {
+        timeout.prev.next = timeout.next;
+        timeout.next.prev = timeout.prev;
+        timeout.prev = null;
+        timeout.next = null;
+    }
+
+    public final class Timeout {
+        private final Runnable task;
+        private final long deadlineTick;
+        private Timeout prev;
+        private Timeout next;
+        private boolean expired;
+        private boolean cancelled;
+
+        private Timeout(Runnable task, long deadlineTick) {
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /**
+         * @return false if the task already expired or was cancelled before
+         */
+        public boolean cancel() {
+            synchronized (lock) {
+                if (expired || cancelled) {
+                    return false;
+                }
+
+                cancelled = true;
+                unlink(this);
+                pending--;
+                return true;
+            }
+        }
+
+        public boolean isPending() {
+            synchronized (lock) {
+                return !expired && !cancelled;
+            }
+        }
+    }
+}
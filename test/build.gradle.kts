@@ -10,6 +10,7 @@ dependencies {
     testImplementation(libs.testcontainers)
     testImplementation(libs.testcontainers.mariadb)
     testImplementation(libs.testcontainers.postgresql)
+    testImplementation(libs.testcontainers.mongodb)
     testImplementation(libs.testcontainers.junit.jupiter)
 
     testRuntimeOnly(libs.postgresql)
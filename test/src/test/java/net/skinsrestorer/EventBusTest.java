@@ -19,17 +19,27 @@ package net.skinsrestorer;
 
 import ch.jalu.injector.Injector;
 import net.skinsrestorer.api.event.SkinApplyEvent;
+import net.skinsrestorer.api.event.SkinsRestorerEvent;
 import net.skinsrestorer.shared.api.event.EventBusImpl;
 import net.skinsrestorer.shared.api.event.SkinApplyEventImpl;
 import net.skinsrestorer.shared.plugin.SRPlatformAdapter;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 
 @ExtendWith({MockitoExtension.class, SRExtension.class})
 public class EventBusTest {
@@ -53,6 +63,162 @@ public class EventBusTest {
         assertTrue(event.isCancelled(), "Event was not cancelled");
     }
 
+    @Test
+    public void testDispatchByEventClass(Injector injector) {
+        injector.register(SRPlatformAdapter.class, srPlatformAdapter);
+        EventBusImpl eventBus = injector.getSingleton(EventBusImpl.class);
+
+        AtomicInteger applyCalls = new AtomicInteger();
+        AtomicInteger counterCalls = new AtomicInteger();
+        Consumer<SkinApplyEvent> applyListener = event -> applyCalls.incrementAndGet();
+        Consumer<CounterEvent> counterListener = event -> counterCalls.incrementAndGet();
+        Consumer<SkinsRestorerEvent> anyListener = event -> counterCalls.incrementAndGet();
+        eventBus.subscribe(plugin, SkinApplyEvent.class, applyListener);
+        eventBus.subscribe(plugin, CounterEvent.class, counterListener);
+
+        eventBus.callEvent(new SkinApplyEventImpl(null, null));
+        assertEquals(1, applyCalls.get());
+        assertEquals(0, counterCalls.get());
+
+        // Subscribing after the first dispatch of a class must still reach new listeners
+        eventBus.subscribe(plugin, SkinsRestorerEvent.class, anyListener);
+        eventBus.callEvent(new CounterEvent(0));
+        assertEquals(1, applyCalls.get());
+        assertEquals(2, counterCalls.get());
+    }
+
+    @Test
+    public void testConcurrentSubscribe(Injector injector) throws Exception {
+        injector.register(SRPlatformAdapter.class, srPlatformAdapter);
+        EventBusImpl eventBus = injector.getSingleton(EventBusImpl.class);
+
+        int threads = 4;
+        int perThread = 250;
+        AtomicInteger calls = new AtomicInteger();
+        List<Consumer<CounterEvent>> listeners = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < perThread; j++) {
+                        Consumer<CounterEvent> listener = event -> calls.incrementAndGet();
+                        listeners.add(listener);
+                        eventBus.subscribe(plugin, CounterEvent.class, listener);
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            // Dispatch while the other threads subscribe
+            while (!futures.stream().allMatch(Future::isDone)) {
+                eventBus.callEvent(new CounterEvent(0));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        calls.set(0);
+        eventBus.callEvent(new CounterEvent(0));
+        assertEquals(threads * perThread, calls.get());
+        assertEquals(threads * perThread, listeners.size());
+    }
+
+    @Test
+    public void testAsyncDispatchKeepsOrder(Injector injector) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        doAnswer(invocation -> {
+            executor.execute(invocation.getArgument(0));
+            return null;
+        }).when(srPlatformAdapter).runAsync(any());
+        injector.register(SRPlatformAdapter.class, srPlatformAdapter);
+        EventBusImpl eventBus = injector.getSingleton(EventBusImpl.class);
+
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        Consumer<CounterEvent> listener = event -> received.add(event.sequence());
+        eventBus.subscribe(plugin, CounterEvent.class, listener);
+
+        try {
+            int events = 2_000;
+            CompletableFuture<Void> last = null;
+            for (int i = 0; i < events; i++) {
+                last = eventBus.callEventAsync(new CounterEvent(i));
+            }
+            last.get(10, TimeUnit.SECONDS);
+
+            assertEquals(events, received.size());
+            for (int i = 0; i < events; i++) {
+                assertEquals(i, received.get(i));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testDispatchSkipsOtherEventClasses(Injector injector) {
+        injector.register(SRPlatformAdapter.class, srPlatformAdapter);
+        EventBusImpl eventBus = injector.getSingleton(EventBusImpl.class);
+
+        // Many listeners for other events, few for the dispatched one
+        List<Object> listeners = new ArrayList<>();
+        AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 200; i++) {
+            Consumer<CounterEvent> listener = event -> calls.incrementAndGet();
+            listeners.add(listener);
+            eventBus.subscribe(plugin, CounterEvent.class, listener);
+        }
+        for (int i = 0; i < 5; i++) {
+            Consumer<SkinApplyEvent> listener = event -> calls.incrementAndGet();
+            listeners.add(listener);
+            eventBus.subscribe(plugin, SkinApplyEvent.class, listener);
+        }
+
+        int dispatches = 10;
+        for (int i = 0; i < dispatches; i++) {
+            eventBus.callEvent(new SkinApplyEventImpl(null, null));
+        }
+
+        // Only the listeners of the dispatched class are reached
+        assertEquals(dispatches * 5, calls.get());
+        assertEquals(205, listeners.size());
+    }
+
+    @Test
+    @Tag("benchmark")
+    public void benchmarkDispatch(Injector injector, TestReporter reporter) {
+        injector.register(SRPlatformAdapter.class, srPlatformAdapter);
+        EventBusImpl eventBus = injector.getSingleton(EventBusImpl.class);
+
+        // Same subscriptions as testDispatchSkipsOtherEventClasses
+        List<Object> listeners = new ArrayList<>();
+        AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 200; i++) {
+            Consumer<CounterEvent> listener = event -> calls.incrementAndGet();
+            listeners.add(listener);
+            eventBus.subscribe(plugin, CounterEvent.class, listener);
+        }
+        for (int i = 0; i < 5; i++) {
+            Consumer<SkinApplyEvent> listener = event -> calls.incrementAndGet();
+            listeners.add(listener);
+            eventBus.subscribe(plugin, SkinApplyEvent.class, listener);
+        }
+
+        double dispatchesPerSecond = BenchmarkHelper.opsPerSecond(20_000, 200_000,
+                () -> eventBus.callEvent(new SkinApplyEventImpl(null, null)));
+        reporter.publishEntry("dispatchesPerSecond", "%.0f".formatted(dispatchesPerSecond));
+        assertEquals(205, listeners.size());
+    }
+
+    private record CounterEvent(int sequence) implements SkinsRestorerEvent {
+    }
+
     private static class TestListener implements Consumer<SkinApplyEvent> {
         @Override
         public void accept(SkinApplyEvent event) {
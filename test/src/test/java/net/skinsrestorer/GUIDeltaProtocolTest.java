@@ -0,0 +1,171 @@
+/*
+ * SkinsRestorer
+ * Copyright (C) 2024  SkinsRestorer Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.skinsrestorer;
+
+import ch.jalu.injector.Injector;
+import net.skinsrestorer.api.property.SkinIdentifier;
+import net.skinsrestorer.api.property.SkinType;
+import net.skinsrestorer.shared.codec.PayloadCompression;
+import net.skinsrestorer.shared.codec.SRInputReader;
+import net.skinsrestorer.shared.codec.SRProxyPluginMessage;
+import net.skinsrestorer.shared.codec.SRServerPluginMessage;
+import net.skinsrestorer.shared.gui.*;
+import net.skinsrestorer.shared.plugin.SRPlatformAdapter;
+import net.skinsrestorer.shared.subjects.SRProxyPlayer;
+import net.skinsrestorer.shared.subjects.messages.ComponentString;
+import net.skinsrestorer.shared.subjects.messages.SkinsRestorerLocale;
+import net.skinsrestorer.shared.utils.ByteBufWriter;
+import net.skinsrestorer.shared.utils.ProxyAckTracker;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith({MockitoExtension.class, SRExtension.class})
+public class GUIDeltaProtocolTest {
+    @Mock
+    private SkinsRestorerLocale locale;
+    @Mock
+    private SRPlatformAdapter platform;
+    @Mock
+    private SRProxyPlayer player;
+
+    private static ComponentString text(String text) {
+        return new ComponentString("{\"text\":\"%s\",\"color\":\"gray\",\"italic\":false}".formatted(text));
+    }
+
+    private static PageInfo createPage(int page) {
+        List<GUISkinEntry> skins = new ArrayList<>();
+        for (int i = 0; i < SharedGUI.HEAD_COUNT_PER_PAGE; i++) {
+            int skin = page * SharedGUI.HEAD_COUNT_PER_PAGE + i;
+            boolean favourite = skin % 7 == 0;
+            skins.add(new GUISkinEntry(
+                    SkinIdentifier.of("skin" + skin, null, SkinType.CUSTOM),
+                    text("skin" + skin),
+                    "%064x".formatted(skin * 0x9E3779B97F4A7C15L),
+                    List.of(text("Left click to select this skin"),
+                            text(favourite ? "Shift + left click to remove from favourites" : "Shift + left click to add to favourites")),
+                    favourite
+            ));
+        }
+
+        return new PageInfo(page, PageType.MAIN, page > 0, true, skins);
+    }
+
+    private static GUILabels createLabels(PageInfo pageInfo) {
+        Map<GUILabels.Button, ComponentString> buttons = new EnumMap<>(GUILabels.Button.class);
+        buttons.put(pageInfo.hasPrevious() ? GUILabels.Button.PREVIOUS_PAGE : GUILabels.Button.BACK_SELECT, text("Previous page"));
+        buttons.put(GUILabels.Button.CLEAR_SKIN, text("Remove skin"));
+        buttons.put(GUILabels.Button.NEXT_PAGE, text("Next page"));
+        return new GUILabels(text("Skins Menu - Page " + (pageInfo.page() + 1)), buttons);
+    }
+
+    private static byte[] encode(SRServerPluginMessage message) {
+        return ((ByteBufWriter) out -> SRServerPluginMessage.CODEC.write(out, message)).toByteArray();
+    }
+
+    private static SRServerPluginMessage.GUIPageV2ChannelPayload page(SRServerPluginMessage message) {
+        return ((SRServerPluginMessage.GUIPageV3ChannelPayload) message.channelPayload()).page();
+    }
+
+    private SRServerPluginMessage sendDelta(ProxyGUITemplateTracker tracker, PageInfo pageInfo) {
+        clearInvocations(player);
+        assertTrue(tracker.sendPage(player, pageInfo, createLabels(pageInfo)));
+        ArgumentCaptor<SRServerPluginMessage> captor = ArgumentCaptor.forClass(SRServerPluginMessage.class);
+        verify(player).sendToMessageChannel(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    public void testDeltaPageFlips(Injector injector) {
+        injector.register(SkinsRestorerLocale.class, locale);
+        injector.register(SRPlatformAdapter.class, platform);
+        when(player.getCurrentServer()).thenReturn(Optional.of("lobby"));
+        lenient().when(player.getName()).thenReturn("Player");
+
+        SharedGUI sharedGUI = injector.getSingleton(SharedGUI.class);
+        ProxyGUITemplateTracker tracker = injector.getSingleton(ProxyGUITemplateTracker.class);
+        ServerGUITemplateCache cache = new ServerGUITemplateCache();
+
+        // Servers that did not acknowledge the new protocol still get full inventories
+        assertFalse(tracker.sendPage(player, createPage(0), createLabels(createPage(0))));
+        injector.getSingleton(ProxyAckTracker.class).receivedAck(player, new SRProxyPluginMessage.AckChannelPayload(
+                UUID.randomUUID(), "test", GUIPageDelta.PROTOCOL_VERSION, PayloadCompression.VERSION));
+
+        long fullBytes = 0;
+        long deltaBytes = 0;
+        for (int page = 0; page < 4; page++) {
+            PageInfo pageInfo = createPage(page);
+            SRInventory expected = sharedGUI.createGUIPage(pageInfo, createLabels(pageInfo));
+
+            byte[] full = encode(new SRServerPluginMessage(new SRServerPluginMessage.GUIPageChannelPayload(expected)));
+            byte[] delta = encode(sendDelta(tracker, pageInfo));
+
+            SRServerPluginMessage.GUIPageV2ChannelPayload decoded = page(SRServerPluginMessage.CODEC.read(new SRInputReader(delta)));
+            GUIPageDelta.Resolved resolved = cache.resolve(decoded.definitions(), decoded.delta()).orElseThrow();
+            assertEquals(expected, sharedGUI.createGUIPage(resolved.pageInfo(), resolved.labels()));
+
+            // The first page teaches the backend the shared strings
+            if (page > 0) {
+                fullBytes += full.length;
+                deltaBytes += delta.length;
+            }
+        }
+
+        assertTrue(deltaBytes < fullBytes, "Delta pages should be smaller than full inventories");
+
+        // A backend that lost its cache (e.g. after a restart) reports the miss instead of rendering a broken page
+        SRServerPluginMessage.GUIPageV2ChannelPayload revisit = page(sendDelta(tracker, createPage(1)));
+        assertTrue(revisit.definitions().isEmpty());
+        assertTrue(new ServerGUITemplateCache().resolve(revisit.definitions(), revisit.delta()).isEmpty());
+
+        tracker.invalidate(player);
+        SRServerPluginMessage.GUIPageV2ChannelPayload resent = page(sendDelta(tracker, createPage(1)));
+        assertTrue(new ServerGUITemplateCache().resolve(resent.definitions(), resent.delta()).isPresent());
+    }
+
+    @Test
+    public void testBackendWithoutPlayersIsVerifiedAgain(Injector injector) {
+        injector.register(SRPlatformAdapter.class, platform);
+        when(player.getCurrentServer()).thenReturn(Optional.of("lobby"));
+        lenient().when(player.getName()).thenReturn("Player");
+
+        ProxyAckTracker ackTracker = injector.getSingleton(ProxyAckTracker.class);
+        ackTracker.receivedAck(player, new SRProxyPluginMessage.AckChannelPayload(
+                UUID.randomUUID(), "test", GUIPageDelta.PROTOCOL_VERSION, PayloadCompression.VERSION));
+        assertEquals(GUIPageDelta.PROTOCOL_VERSION, ackTracker.getGuiProtocolVersion("lobby"));
+        assertTrue(ackTracker.shouldAckPayload(player).isEmpty());
+
+        // Other players kept their connection, so the backend did not restart
+        ackTracker.handleServerConnected("lobby", true);
+        assertTrue(ackTracker.supportsCompression("lobby"));
+        assertTrue(ackTracker.shouldAckPayload(player).isEmpty());
+
+        // The backend may be back on an older version, it only gets legacy payloads until it acknowledges again
+        ackTracker.handleServerConnected("lobby", false);
+        assertEquals(1, ackTracker.getGuiProtocolVersion("lobby"));
+        assertFalse(ackTracker.supportsCompression("lobby"));
+        assertTrue(ackTracker.shouldAckPayload(player).isPresent());
+    }
+}
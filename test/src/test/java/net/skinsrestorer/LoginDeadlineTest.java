@@ -0,0 +1,156 @@
+/*
+ * SkinsRestorer
+ * Copyright (C) 2024  SkinsRestorer Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.skinsrestorer;
+
+import ch.jalu.configme.SettingsManager;
+import ch.jalu.injector.Injector;
+import net.skinsrestorer.api.property.SkinProperty;
+import net.skinsrestorer.api.storage.PlayerStorage;
+import net.skinsrestorer.shared.api.SharedSkinApplier;
+import net.skinsrestorer.shared.config.LoginConfig;
+import net.skinsrestorer.shared.listeners.LoginProfileListenerAdapter;
+import net.skinsrestorer.shared.listeners.event.SRLoginProfileEvent;
+import net.skinsrestorer.shared.plugin.SRPlatformAdapter;
+import net.skinsrestorer.shared.storage.adapter.AdapterReference;
+import net.skinsrestorer.shared.storage.adapter.StorageAdapter;
+import net.skinsrestorer.shared.subjects.SRPlayer;
+import net.skinsrestorer.shared.utils.MetricsCounter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith({MockitoExtension.class, SRExtension.class})
+public class LoginDeadlineTest {
+    private static final SkinProperty SKIN = SkinProperty.of("value", "signature");
+
+    @Mock
+    private SettingsManager settings;
+    @Mock
+    private PlayerStorage playerStorage;
+    @Mock
+    private SRPlatformAdapter platform;
+    @Mock
+    private SharedSkinApplier<Object> skinApplier;
+    @Mock
+    private SRPlayer player;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSlowLookupIsAppliedAfterJoin(Injector injector) throws Exception {
+        SettingsHelper.returnDefaultsForAllProperties(settings);
+        when(settings.getProperty(LoginConfig.SKIN_LOOKUP_DEADLINE)).thenReturn(50);
+
+        ExecutorService executor = Executors.newCachedThreadPool();
+        doAnswer(invocation -> {
+            executor.execute(invocation.getArgument(0));
+            return null;
+        }).when(platform).runAsync(any());
+
+        UUID uniqueId = UUID.randomUUID();
+        when(playerStorage.getSkinForPlayer(uniqueId, "Slow", false)).thenAnswer(invocation -> {
+            Thread.sleep(500);
+            return Optional.of(SKIN);
+        });
+        Object platformPlayer = new Object();
+        when(player.getAs(Object.class)).thenReturn(platformPlayer);
+        when(platform.getPlayer(null, uniqueId)).thenReturn(Optional.of(player));
+
+        AdapterReference adapterReference = new AdapterReference();
+        adapterReference.setAdapter(mock(StorageAdapter.class));
+        injector.register(SettingsManager.class, settings);
+        injector.register(PlayerStorage.class, playerStorage);
+        injector.register(SRPlatformAdapter.class, platform);
+        injector.register(AdapterReference.class, adapterReference);
+        injector.register(SharedSkinApplier.class, skinApplier);
+
+        LoginProfileListenerAdapter<Void> listener = injector.newInstance(LoginProfileListenerAdapter.class);
+        HeldLoginEvent event = new HeldLoginEvent(uniqueId, "Slow");
+
+        long start = System.nanoTime();
+        listener.handleLogin(event);
+        long heldMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // The login continued at the deadline without the skin
+        assertTrue(heldMillis < 400, "Login was held for " + heldMillis + "ms");
+        assertNull(event.result);
+        assertEquals(1, injector.getSingleton(MetricsCounter.class).collectLoginDeadlineExceeded());
+
+        // Once the lookup finishes, the skin is applied to the joined player instead
+        verify(skinApplier, timeout(2000)).applySkinSilently(eq(platformPlayer), eq(SKIN));
+        assertNull(event.result);
+        executor.shutdown();
+    }
+
+    private static class HeldLoginEvent implements SRLoginProfileEvent<Void> {
+        private final UUID uniqueId;
+        private final String name;
+        private volatile SkinProperty result;
+
+        private HeldLoginEvent(UUID uniqueId, String name) {
+            this.uniqueId = uniqueId;
+            this.name = name;
+        }
+
+        @Override
+        public boolean hasOnlineProperties() {
+            return false;
+        }
+
+        @Override
+        public UUID getPlayerUniqueId() {
+            return uniqueId;
+        }
+
+        @Override
+        public String getPlayerName() {
+            return name;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public void setResultProperty(SkinProperty property) {
+            this.result = property;
+        }
+
+        @Override
+        public Void runAsync(Runnable runnable) {
+            runnable.run();
+            return null;
+        }
+
+        @Override
+        public boolean holdsLogin() {
+            return true;
+        }
+    }
+}
@@ -19,23 +19,31 @@ package net.skinsrestorer;
 
 import ch.jalu.configme.SettingsManager;
 import ch.jalu.injector.Injector;
-import lombok.extern.slf4j.Slf4j;
 import net.skinsrestorer.api.connections.model.MineSkinResponse;
 import net.skinsrestorer.shared.config.APIConfig;
 import net.skinsrestorer.shared.config.AdvancedConfig;
 import net.skinsrestorer.shared.connections.MineSkinAPIImpl;
+import net.skinsrestorer.shared.connections.http.HttpClient;
+import net.skinsrestorer.shared.log.SRLogger;
+import net.skinsrestorer.shared.plugin.SRPlatformAdapter;
 import net.skinsrestorer.shared.subjects.messages.SkinsRestorerLocale;
 import net.skinsrestorer.shared.utils.MetricsCounter;
+import net.skinsrestorer.simulator.UpstreamSimulator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
-import static org.mockito.Mockito.when;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
 
-@Slf4j
 @ExtendWith({MockitoExtension.class, SRExtension.class})
 public class MineSkinTest {
     private static final String TEST_URL = "https://skinsrestorer.net/skinsrestorer-skin.png";
@@ -43,31 +51,38 @@ public class MineSkinTest {
     private SettingsManager settings;
     @Mock
     private SkinsRestorerLocale skinsRestorerLocale;
+    @Mock
+    private SRPlatformAdapter adapter;
 
     @Test
-    public void testServices(Injector injector) {
+    public void testServices(Injector injector) throws Exception {
         injector.register(SkinsRestorerLocale.class, skinsRestorerLocale);
 
         when(settings.getProperty(APIConfig.MINESKIN_API_KEY)).thenReturn("");
         when(settings.getProperty(AdvancedConfig.NO_CONNECTIONS)).thenReturn(false);
 
+        when(settings.getProperty(APIConfig.MINESKIN_QUEUE_SIZE)).thenReturn(50);
+        when(settings.getProperty(APIConfig.MINESKIN_JOB_TIMEOUT)).thenReturn(300);
+        when(settings.getProperty(APIConfig.MINESKIN_HASH_HOSTS)).thenReturn(APIConfig.MINESKIN_HASH_HOSTS.getDefaultValue());
+
         injector.register(SettingsManager.class, settings);
+        injector.register(HttpClient.class, new UpstreamSimulator(injector.getSingleton(SRLogger.class), settings));
+
+        lenient().doAnswer(invocation -> CompletableFuture.runAsync(invocation.getArgument(0)))
+                .when(adapter).runAsync(any());
+        lenient().doAnswer(invocation -> CompletableFuture.runAsync(invocation.getArgument(0),
+                        CompletableFuture.delayedExecutor(invocation.getArgument(1), invocation.getArgument(2))))
+                .when(adapter).runAsyncDelayed(any(), anyLong(), any(TimeUnit.class));
+        injector.register(SRPlatformAdapter.class, adapter);
 
         String randomUrl = TEST_URL + "?" + UUID.randomUUID(); // Random URL to avoid caching
         MetricsCounter metricsCounter = injector.getSingleton(MetricsCounter.class);
 
-        try {
-            MineSkinResponse response = injector.getSingleton(MineSkinAPIImpl.class)
-                    .genSkin(randomUrl, null);
-        } catch (Exception e) {
-            log.error("Failed to generate skin", e);
-        }
-
-        /*
+        MineSkinResponse response = injector.getSingleton(MineSkinAPIImpl.class)
+                .genSkin(randomUrl, null);
 
         assertNotNull(response);
 
-        assertEquals(1, metricsCounter.collect(MetricsCounter.Service.MINE_SKIN));
-         */
+        assertEquals(1, metricsCounter.collect(MetricsCounter.Service.MINESKIN_CALLS));
     }
 }
@@ -0,0 +1,112 @@
+/*
+ * SkinsRestorer
+ * Copyright (C) 2024  SkinsRestorer Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.skinsrestorer;
+
+import net.skinsrestorer.api.property.SkinIdentifier;
+import net.skinsrestorer.api.property.SkinProperty;
+import net.skinsrestorer.shared.codec.NetworkCodec;
+import net.skinsrestorer.shared.codec.PayloadCompression;
+import net.skinsrestorer.shared.codec.SRInputReader;
+import net.skinsrestorer.shared.codec.SRServerPluginMessage;
+import net.skinsrestorer.shared.gui.*;
+import net.skinsrestorer.shared.storage.HardcodedSkins;
+import net.skinsrestorer.shared.subjects.messages.ComponentString;
+import net.skinsrestorer.shared.utils.ByteBufWriter;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PayloadCompressionTest {
+    private static final List<String> SKINS = List.of("steve", "alex", "ari", "efe", "kai", "makena", "noor", "sunny", "zuri", "skinsrestorer", "technoblade");
+
+    private static <T> byte[] encode(NetworkCodec<T> codec, T value) {
+        return ((ByteBufWriter) out -> codec.write(out, value)).toByteArray();
+    }
+
+    private static ComponentString text(String color, String text) {
+        return new ComponentString("{\"color\":\"%s\",\"text\":\"%s\"}".formatted(color, text));
+    }
+
+    private static SRServerPluginMessage.GUIPageV2ChannelPayload createFirstPage() {
+        List<GUISkinEntry> skins = new ArrayList<>();
+        for (int i = 0; i < SharedGUI.HEAD_COUNT_PER_PAGE; i++) {
+            skins.add(new GUISkinEntry(
+                    SkinIdentifier.ofCustom("skin" + i),
+                    text("gray", "skin" + i),
+                    "%064x".formatted(i * 0x9E3779B97F4A7C15L),
+                    List.of(text("gray", "Click to select this skin"), text("gray", "Shift + click to set as favourite")),
+                    false
+            ));
+        }
+
+        Map<GUILabels.Button, ComponentString> buttons = new EnumMap<>(GUILabels.Button.class);
+        buttons.put(GUILabels.Button.CLEAR_SKIN, new ComponentString("{\"extra\":[{\"bold\":true,\"text\":\"[\"},\" \",{\"color\":\"gray\",\"text\":\"Remove Skin\"},\" \",{\"bold\":true,\"text\":\"]\"}],\"color\":\"red\",\"text\":\"\"}"));
+        buttons.put(GUILabels.Button.NEXT_PAGE, new ComponentString("{\"extra\":[{\"bold\":true,\"text\":\"»\"},\" \",{\"color\":\"gray\",\"text\":\"Next Page\"},\" \",{\"bold\":true,\"text\":\"»\"}],\"color\":\"green\",\"text\":\"\"}"));
+        PageInfo pageInfo = new PageInfo(0, PageType.MAIN, false, true, skins);
+
+        Map<Long, ComponentString> definitions = new HashMap<>();
+        GUIPageDelta delta = GUIPageDelta.of(pageInfo, new GUILabels(text("blue", "Skins Menu - Page 1"), buttons), componentString -> {
+            long ref = GUIPageDelta.hash(componentString);
+            definitions.put(ref, componentString);
+            return ref;
+        });
+        return new SRServerPluginMessage.GUIPageV2ChannelPayload(definitions, delta);
+    }
+
+    @Test
+    public void testSkinUpdates() {
+        NetworkCodec<SRServerPluginMessage.SkinUpdateV3ChannelPayload> gzip = SRServerPluginMessage.SkinUpdateV3ChannelPayload.CODEC.compressed();
+        NetworkCodec<SRServerPluginMessage.SkinUpdateV3ChannelPayload> deflated = SRServerPluginMessage.SkinUpdateV3ChannelPayload.CODEC.deflated();
+
+        long gzipBytes = 0;
+        long deflatedBytes = 0;
+        for (String skin : SKINS) {
+            SkinProperty property = HardcodedSkins.getHardcodedSkin(skin).orElseThrow().getProperty();
+            SRServerPluginMessage.SkinUpdateV3ChannelPayload payload = new SRServerPluginMessage.SkinUpdateV3ChannelPayload(property, Optional.empty());
+
+            byte[] compressed = encode(deflated, payload);
+            assertEquals(payload, deflated.read(new SRInputReader(compressed)));
+
+            gzipBytes += encode(gzip, payload).length;
+            deflatedBytes += compressed.length;
+        }
+
+        assertTrue(deflatedBytes < gzipBytes, "Dictionary compression should beat GZIP on skin updates");
+    }
+
+    @Test
+    public void testGUIPages() {
+        SRServerPluginMessage.GUIPageV2ChannelPayload page = createFirstPage();
+        SRServerPluginMessage.GUIPageV3ChannelPayload compressedPage = new SRServerPluginMessage.GUIPageV3ChannelPayload(page);
+
+        byte[] gzip = encode(SRServerPluginMessage.GUIPageV2ChannelPayload.CODEC.compressed(), page);
+        byte[] deflated = encode(SRServerPluginMessage.GUIPageV3ChannelPayload.CODEC, compressedPage);
+        assertEquals(compressedPage, SRServerPluginMessage.GUIPageV3ChannelPayload.CODEC.read(new SRInputReader(deflated)));
+
+        assertTrue(deflated.length < gzip.length, "Dictionary compression should beat GZIP on GUI pages");
+    }
+
+    @Test
+    public void testRejectsInvalidPayloads() {
+        byte[] compressed = PayloadCompression.deflate("SkinsRestorer SkinsRestorer SkinsRestorer".getBytes());
+        assertThrows(IllegalArgumentException.class, () -> PayloadCompression.inflate(Arrays.copyOf(compressed, compressed.length / 2)));
+        assertThrows(IllegalArgumentException.class, () -> PayloadCompression.inflate(new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF}));
+    }
+}
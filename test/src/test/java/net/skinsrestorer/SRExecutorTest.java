@@ -0,0 +1,134 @@
+/*
+ * SkinsRestorer
+ * Copyright (C) 2024  SkinsRestorer Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.skinsrestorer;
+
+import net.skinsrestorer.shared.plugin.SRExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SRExecutorTest {
+    private final SRExecutor executor = new SRExecutor("SRExecutorTest", 2, 4);
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdown(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testBoundedCpuQueue() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(2);
+        Runnable blocking = blockingTask(started, release);
+
+        // Two tasks occupy the CPU lane, four more fill its queue
+        for (int i = 0; i < 6; i++) {
+            executor.execute(SRExecutor.Lane.CPU, blocking);
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        SRExecutor.LaneStats stats = executor.getStats(SRExecutor.Lane.CPU);
+        assertEquals(2, stats.running());
+        assertEquals(4, stats.queued());
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(SRExecutor.Lane.CPU, blocking));
+        assertEquals(1, executor.getStats(SRExecutor.Lane.CPU).rejected());
+
+        // The IO lane is not affected by a saturated CPU lane
+        CountDownLatch ioDone = new CountDownLatch(1);
+        executor.execute(SRExecutor.Lane.IO, ioDone::countDown);
+        assertTrue(ioDone.await(5, TimeUnit.SECONDS));
+
+        release.countDown();
+        awaitCompleted(SRExecutor.Lane.CPU, 6);
+
+        stats = executor.getStats(SRExecutor.Lane.CPU);
+        assertEquals(6, stats.completed());
+        assertEquals(0, stats.queued());
+        assertTrue(stats.maxWaitMillis() > 0);
+    }
+
+    @Test
+    public void testUnboundedIoLane() throws InterruptedException {
+        int tasks = 200;
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(tasks);
+        Runnable blocking = blockingTask(started, release);
+
+        // Blocking IO tasks must all start, a caller waiting on one of them may not be parked behind the others
+        for (int i = 0; i < tasks; i++) {
+            executor.execute(SRExecutor.Lane.IO, blocking);
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(0, executor.getStats(SRExecutor.Lane.IO).rejected());
+
+        release.countDown();
+        awaitCompleted(SRExecutor.Lane.IO, tasks);
+        assertEquals(tasks, executor.getStats(SRExecutor.Lane.IO).completed());
+        // The dump shows every lane
+        assertEquals(tasks, executor.getStats().get(SRExecutor.Lane.IO).completed());
+        assertEquals(0, executor.getStats().get(SRExecutor.Lane.CPU).completed());
+    }
+
+    @Test
+    public void testScheduledHandOff() throws InterruptedException {
+        CountDownLatch ran = new CountDownLatch(3);
+        executor.scheduleRepeating(SRExecutor.Lane.IO, ran::countDown, 0, 10, TimeUnit.MILLISECONDS);
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testScheduledHandOffWithSaturatedCpuLane() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(2);
+        Runnable blocking = blockingTask(started, release);
+        for (int i = 0; i < 6; i++) {
+            executor.execute(SRExecutor.Lane.CPU, blocking);
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // A full CPU lane must not drop scheduled tasks
+        CountDownLatch ran = new CountDownLatch(1);
+        executor.schedule(SRExecutor.Lane.CPU, ran::countDown, 0, TimeUnit.MILLISECONDS);
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+
+        release.countDown();
+    }
+
+    private static Runnable blockingTask(CountDownLatch started, CountDownLatch release) {
+        return () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+    }
+
+    private void awaitCompleted(SRExecutor.Lane lane, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getStats(lane).completed() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * SkinsRestorer
+ * Copyright (C) 2024  SkinsRestorer Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.skinsrestorer;
+
+import net.skinsrestorer.shared.log.SRLogLevel;
+import net.skinsrestorer.shared.log.SRLogger;
+import net.skinsrestorer.shared.log.SRPlatformLogger;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SRLoggerTest {
+    private static final String RESET = "\u001B[0;39m";
+    // Above the async buffer size, so some messages are written on the calling thread once it is full
+    private static final int MESSAGES = 20_000;
+    private final List<String> messages = Collections.synchronizedList(new ArrayList<>());
+    private final SRLogger logger = new SRLogger(new SRPlatformLogger() {
+        @Override
+        public void log(SRLogLevel level, String message) {
+            messages.add(message);
+        }
+
+        @Override
+        public void log(SRLogLevel level, String message, Throwable throwable) {
+            messages.add(message);
+        }
+    }, false);
+
+    @Test
+    public void testDisabledDebugDoesNoWork() {
+        logger.debug(() -> fail("Supplier must not be called"));
+        logger.debug(SRLogLevel.WARNING, () -> fail("Supplier must not be called"), new Exception());
+        logger.debug("Formatted %s", new Object() {
+            @Override
+            public String toString() {
+                return fail("Argument must not be formatted");
+            }
+        });
+
+        assertTrue(messages.isEmpty());
+    }
+
+    @Test
+    public void testEnabledDebugFormats() {
+        logger.setDebug(true);
+        logger.debug(() -> "Supplied");
+        logger.debug("%s of %d", "One", 2);
+
+        assertEquals(List.of("Supplied" + RESET, "One of 2" + RESET), messages);
+    }
+
+    @Test
+    public void testAsyncFormatsOnLogThread() {
+        AtomicReference<String> formattedOn = new AtomicReference<>();
+        logger.setDebug(true);
+        logger.startAsync();
+        logger.debug("Formatted %s", new Object() {
+            @Override
+            public String toString() {
+                formattedOn.set(Thread.currentThread().getName());
+                return "later";
+            }
+        });
+        logger.stopAsync();
+
+        assertEquals(List.of("Formatted later" + RESET), messages);
+        assertEquals("SkinsRestorer-Log", formattedOn.get());
+    }
+
+    @Test
+    public void testAsyncKeepsOrderAndFlushesOnStop() {
+        logger.startAsync();
+        for (int i = 0; i < MESSAGES; i++) {
+            logger.info(String.valueOf(i));
+        }
+        logger.stopAsync();
+
+        assertEquals(MESSAGES, messages.size());
+        for (int i = 0; i < MESSAGES; i++) {
+            assertEquals(i + RESET, messages.get(i));
+        }
+    }
+
+    @Test
+    public void testAsyncReportsFailedWriteOnce() {
+        Object broken = new Object() {
+            @Override
+            public String toString() {
+                throw new IllegalStateException("Broken argument");
+            }
+        };
+
+        logger.setDebug(true);
+        logger.startAsync();
+        logger.debug("First %s", broken);
+        logger.debug("Second %s", broken);
+        logger.debug("Written");
+        logger.stopAsync();
+
+        assertEquals(List.of("Failed to write a log message, further failures are not reported." + RESET, "Written" + RESET), messages);
+    }
+}
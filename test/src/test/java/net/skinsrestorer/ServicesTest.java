@@ -22,10 +22,13 @@ import ch.jalu.injector.Injector;
 import net.skinsrestorer.shared.config.APIConfig;
 import net.skinsrestorer.shared.config.AdvancedConfig;
 import net.skinsrestorer.shared.connections.ServiceCheckerService;
+import net.skinsrestorer.shared.connections.http.HttpClient;
+import net.skinsrestorer.shared.log.SRLogger;
 import net.skinsrestorer.shared.plugin.SRPlatformAdapter;
 import net.skinsrestorer.shared.plugin.SRPlugin;
 import net.skinsrestorer.shared.subjects.messages.SkinsRestorerLocale;
 import net.skinsrestorer.shared.utils.MetricsCounter;
+import net.skinsrestorer.simulator.UpstreamSimulator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -34,6 +37,7 @@ import org.mockito.stubbing.Answer;
 
 import java.util.concurrent.TimeUnit;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -69,10 +73,10 @@ public class ServicesTest {
         when(settings.getProperty(AdvancedConfig.NO_CONNECTIONS)).thenReturn(false);
 
         injector.register(SettingsManager.class, settings);
+        injector.register(HttpClient.class, new UpstreamSimulator(injector.getSingleton(SRLogger.class), settings));
 
         new SRPlugin(injector, null);
 
-        @SuppressWarnings("unused")
         MetricsCounter metricsCounter = injector.getSingleton(MetricsCounter.class);
         ServiceCheckerService.ServiceCheckResponse serviceChecker = injector.getSingleton(ServiceCheckerService.class).checkServices();
 
@@ -80,14 +84,12 @@ public class ServicesTest {
 
         assertFalse(serviceChecker.getResults().isEmpty());
 
-        // TODO: Mock api endpoints
-        /*
-        assertEquals(3, serviceChecker.getWorkingUUID());
-        assertEquals(3, serviceChecker.getWorkingProfile());
+        assertEquals(2, serviceChecker.getSuccessCount(ServiceCheckerService.ServiceCheckResponse.ServiceCheckType.UUID));
+        assertEquals(2, serviceChecker.getSuccessCount(ServiceCheckerService.ServiceCheckResponse.ServiceCheckType.PROFILE));
 
-        assertEquals(2, metricsCounter.collect(MetricsCounter.Service.ECLIPSE_UUID));
-        assertEquals(2, metricsCounter.collect(MetricsCounter.Service.ECLIPSE_PROFILE));
-        assertEquals(2, metricsCounter.collect(MetricsCounter.Service.MOJANG));
-         */
+        assertEquals(1, metricsCounter.collect(MetricsCounter.Service.MOJANG_UUID));
+        assertEquals(1, metricsCounter.collect(MetricsCounter.Service.ECLIPSE_UUID));
+        assertEquals(1, metricsCounter.collect(MetricsCounter.Service.MOJANG_PROFILE));
+        assertEquals(1, metricsCounter.collect(MetricsCounter.Service.ECLIPSE_PROFILE));
     }
 }
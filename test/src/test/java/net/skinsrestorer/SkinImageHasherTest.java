@@ -0,0 +1,93 @@
+/*
+ * SkinsRestorer
+ * Copyright (C) 2024  SkinsRestorer Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.skinsrestorer;
+
+import ch.jalu.configme.SettingsManager;
+import net.skinsrestorer.shared.config.APIConfig;
+import net.skinsrestorer.shared.connections.SkinImageHasher;
+import net.skinsrestorer.shared.connections.http.HttpClient;
+import net.skinsrestorer.shared.log.SRLogger;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class SkinImageHasherTest {
+    @Test
+    public void testTransparentPixelsAreIgnored() {
+        BufferedImage first = createSkin(64, 64);
+        BufferedImage second = createSkin(64, 64);
+
+        // Same skin, but an encoder kept a different color behind a transparent pixel
+        first.setRGB(0, 0, 0x00FF0000);
+        second.setRGB(0, 0, 0x0000FF00);
+
+        Optional<String> firstHash = SkinImageHasher.hashImage(first);
+        assertTrue(firstHash.isPresent());
+        assertEquals(firstHash, SkinImageHasher.hashImage(second));
+    }
+
+    @Test
+    public void testDifferentPixelsDifferentHash() {
+        BufferedImage first = createSkin(64, 64);
+        BufferedImage second = createSkin(64, 64);
+
+        second.setRGB(10, 10, 0xFF123456);
+
+        assertNotEquals(SkinImageHasher.hashImage(first), SkinImageHasher.hashImage(second));
+    }
+
+    @Test
+    public void testLegacyAndModernSkinsDiffer() {
+        assertNotEquals(SkinImageHasher.hashImage(createSkin(64, 32)), SkinImageHasher.hashImage(createSkin(64, 64)));
+    }
+
+    @Test
+    public void testInvalidDimensions() {
+        assertTrue(SkinImageHasher.hashImage(createSkin(32, 32)).isEmpty());
+        assertTrue(SkinImageHasher.hashImage(createSkin(128, 128)).isEmpty());
+    }
+
+    @Test
+    public void testUnlistedHostIsNotDownloaded() throws Exception {
+        HttpClient httpClient = mock(HttpClient.class);
+        SettingsManager settings = mock(SettingsManager.class);
+        when(settings.getProperty(APIConfig.MINESKIN_HASH_HOSTS)).thenReturn(List.of("textures.minecraft.net"));
+        SkinImageHasher hasher = new SkinImageHasher(mock(SRLogger.class), httpClient, settings);
+
+        assertTrue(hasher.hashImage("https://169.254.169.254/latest/meta-data").isEmpty());
+        assertTrue(hasher.hashImage("https://internal.example/skin.png").isEmpty());
+        verify(httpClient, never()).download(any(), anyString(), anyInt(), anyInt());
+    }
+
+    private static BufferedImage createSkin(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        for (int x = 8; x < 16; x++) {
+            for (int y = 8; y < 16; y++) {
+                image.setRGB(x, y, 0xFFC0A080);
+            }
+        }
+
+        return image;
+    }
+}
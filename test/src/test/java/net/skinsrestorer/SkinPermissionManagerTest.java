@@ -0,0 +1,71 @@
+/*
+ * SkinsRestorer
+ * Copyright (C) 2024  SkinsRestorer Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.skinsrestorer;
+
+import ch.jalu.configme.SettingsManager;
+import net.skinsrestorer.shared.config.CommandConfig;
+import net.skinsrestorer.shared.subjects.SRCommandSender;
+import net.skinsrestorer.shared.subjects.messages.Message;
+import net.skinsrestorer.shared.subjects.permissions.PermissionRegistry;
+import net.skinsrestorer.shared.subjects.permissions.SkinPermissionManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class SkinPermissionManagerTest {
+    @Mock
+    private SettingsManager settings;
+    @Mock
+    private SRCommandSender sender;
+
+    @Test
+    public void testRestrictions() {
+        when(settings.getProperty(CommandConfig.PER_SKIN_PERMISSIONS)).thenReturn(false);
+        when(settings.getProperty(CommandConfig.DISABLED_SKINS_ENABLED)).thenReturn(true);
+        when(settings.getProperty(CommandConfig.DISABLED_SKINS)).thenReturn(List.of("Steve", "owner"));
+        when(settings.getProperty(CommandConfig.RESTRICT_SKIN_URLS_ENABLED)).thenReturn(true);
+        when(settings.getProperty(CommandConfig.RESTRICT_SKIN_URLS_LIST)).thenReturn(List.of("https://i.imgur.com/", "https://storage.googleapis.com/"));
+        lenient().when(sender.hasPermission(PermissionRegistry.SKIN_SET_URL)).thenReturn(true);
+
+        SkinPermissionManager manager = new SkinPermissionManager(settings);
+        manager.reload();
+
+        assertEquals(Optional.of(Message.ERROR_SKIN_DISABLED), manager.canSetSkin(sender, "STEVE"));
+        assertEquals(Optional.empty(), manager.canSetSkin(sender, "Notch"));
+        assertEquals(Optional.empty(), manager.canSetSkin(sender, "https://i.imgur.com/skin.png"));
+        assertEquals(Optional.of(Message.ERROR_SKINURL_DISALLOWED), manager.canSetSkin(sender, "https://i.imgur.co/skin.png"));
+        assertEquals(Optional.of(Message.ERROR_SKINURL_DISALLOWED), manager.canSetSkin(sender, "https://example.com/skin.png"));
+
+        // Config changes apply on reload
+        when(settings.getProperty(CommandConfig.DISABLED_SKINS)).thenReturn(List.of("notch"));
+        assertEquals(Optional.empty(), manager.canSetSkin(sender, "Notch"));
+
+        manager.reload();
+        assertEquals(Optional.empty(), manager.canSetSkin(sender, "STEVE"));
+        assertEquals(Optional.of(Message.ERROR_SKIN_DISABLED), manager.canSetSkin(sender, "Notch"));
+    }
+}
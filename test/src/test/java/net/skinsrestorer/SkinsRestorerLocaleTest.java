@@ -0,0 +1,123 @@
+/*
+ * SkinsRestorer
+ * Copyright (C) 2024  SkinsRestorer Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.skinsrestorer;
+
+import ch.jalu.configme.SettingsManager;
+import ch.jalu.injector.Injector;
+import net.skinsrestorer.shared.config.ConfigSnapshotProvider;
+import net.skinsrestorer.shared.config.MessageConfig;
+import net.skinsrestorer.shared.subjects.SRForeign;
+import net.skinsrestorer.shared.subjects.messages.*;
+import net.skinsrestorer.shared.utils.TranslationReader;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith({MockitoExtension.class, SRExtension.class})
+public class SkinsRestorerLocaleTest {
+    private static final SRForeign ENGLISH = () -> Locale.ENGLISH;
+    private static final SRForeign GERMAN = () -> Locale.GERMAN;
+    private static final Message[] BENCHMARK_MESSAGES = {Message.SUCCESS_ADMIN_RELOAD, Message.SKIN_COOLDOWN, Message.SKINSMENU_NEXT_PAGE, Message.PLAYER_HAS_NO_PERMISSION_SKIN};
+
+    @Mock
+    private SettingsManager settings;
+
+    private SkinsRestorerLocale createLocale(Injector injector) throws IOException {
+        injector.register(SettingsManager.class, settings);
+        SettingsHelper.returnDefaultsForAllProperties(settings);
+
+        LocaleManager localeManager = injector.getSingleton(LocaleManager.class);
+        try (InputStream is = Objects.requireNonNull(SkinsRestorerLocale.class.getClassLoader().getResourceAsStream("locales/locale.json"))) {
+            for (Map.Entry<String, String> entry : TranslationReader.readJsonTranslation(new String(is.readAllBytes(), StandardCharsets.UTF_8)).entrySet()) {
+                Message.fromKey(entry.getKey()).ifPresent(message -> localeManager.addMessage(message, Locale.ENGLISH, entry.getValue()));
+            }
+        }
+        localeManager.verifyValid();
+
+        return injector.getSingleton(SkinsRestorerLocale.class);
+    }
+
+    private static String plain(ComponentString message) {
+        return ComponentHelper.convertJsonToPlain(message);
+    }
+
+    @Test
+    public void testStaticMessagesAreCached(Injector injector) throws IOException {
+        SkinsRestorerLocale locale = createLocale(injector);
+
+        ComponentString first = locale.getMessageRequired(ENGLISH, Message.SUCCESS_ADMIN_RELOAD);
+        assertEquals("[SkinsRestorer] Config and Locale has been reloaded!", plain(first));
+        assertSame(first, locale.getMessageRequired(ENGLISH, Message.SUCCESS_ADMIN_RELOAD));
+
+        // Falls back to the english translation
+        assertEquals(plain(first), plain(locale.getMessageRequired(GERMAN, Message.SUCCESS_ADMIN_RELOAD)));
+    }
+
+    @Test
+    public void testClearCacheAppliesReloads(Injector injector) throws IOException {
+        SkinsRestorerLocale locale = createLocale(injector);
+        LocaleManager localeManager = injector.getSingleton(LocaleManager.class);
+        locale.getMessageRequired(ENGLISH, Message.SUCCESS_ADMIN_RELOAD);
+
+        localeManager.addMessage(Message.SUCCESS_ADMIN_RELOAD, Locale.ENGLISH, "Reloaded");
+        assertEquals("[SkinsRestorer] Config and Locale has been reloaded!", plain(locale.getMessageRequired(ENGLISH, Message.SUCCESS_ADMIN_RELOAD)));
+
+        locale.clearCache();
+        assertEquals("[SkinsRestorer] Reloaded", plain(locale.getMessageRequired(ENGLISH, Message.SUCCESS_ADMIN_RELOAD)));
+
+        when(settings.getProperty(MessageConfig.DISABLE_PREFIX)).thenReturn(true);
+        injector.getSingleton(ConfigSnapshotProvider.class).reload();
+        locale.clearCache();
+        assertEquals("Reloaded", plain(locale.getMessageRequired(ENGLISH, Message.SUCCESS_ADMIN_RELOAD)));
+
+        localeManager.addMessage(Message.SUCCESS_ADMIN_RELOAD, Locale.ENGLISH, "");
+        locale.clearCache();
+        assertTrue(locale.getMessageOptional(ENGLISH, Message.SUCCESS_ADMIN_RELOAD).isEmpty());
+    }
+
+    @Test
+    @Tag("benchmark")
+    public void benchmarkRender(Injector injector, TestReporter reporter) throws IOException {
+        SkinsRestorerLocale locale = createLocale(injector);
+        AtomicInteger index = new AtomicInteger();
+
+        // Compiling every time is what each send cost before templates were cached
+        double compiledPerSecond = BenchmarkHelper.opsPerSecond(2_000, 20_000, () -> {
+            locale.clearCache();
+            locale.getMessageRequired(ENGLISH, BENCHMARK_MESSAGES[index.getAndIncrement() % BENCHMARK_MESSAGES.length]);
+        });
+        double cachedPerSecond = BenchmarkHelper.opsPerSecond(20_000, 200_000,
+                () -> locale.getMessageRequired(ENGLISH, BENCHMARK_MESSAGES[index.getAndIncrement() % BENCHMARK_MESSAGES.length]));
+        reporter.publishEntry("compiledRendersPerSecond", "%.0f".formatted(compiledPerSecond));
+        reporter.publishEntry("cachedRendersPerSecond", "%.0f".formatted(cachedPerSecond));
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * SkinsRestorer
+ * Copyright (C) 2024  SkinsRestorer Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.skinsrestorer;
+
+import net.skinsrestorer.shared.utils.TimingWheel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimingWheelTest {
+    private final AtomicLong clock = new AtomicLong(TimeUnit.DAYS.toNanos(3));
+    private final TimingWheel wheel = new TimingWheel(clock::get, 100, TimeUnit.MILLISECONDS);
+    private final List<String> fired = new ArrayList<>();
+
+    @Test
+    public void testFiresAfterDelay() {
+        wheel.schedule(() -> fired.add("a"), 250, TimeUnit.MILLISECONDS);
+        wheel.schedule(() -> fired.add("b"), 100, TimeUnit.MILLISECONDS);
+
+        advance(99, TimeUnit.MILLISECONDS);
+        assertTrue(fired.isEmpty());
+
+        advance(1, TimeUnit.MILLISECONDS);
+        assertEquals(List.of("b"), fired);
+
+        // Rounded up to the next tick, never early
+        advance(150, TimeUnit.MILLISECONDS);
+        assertEquals(List.of("b"), fired);
+
+        advance(50, TimeUnit.MILLISECONDS);
+        assertEquals(List.of("b", "a"), fired);
+        assertEquals(0, wheel.getPending());
+    }
+
+    @Test
+    public void testCancel() {
+        TimingWheel.Timeout cancelled = wheel.schedule(() -> fired.add("cancelled"), 30, TimeUnit.SECONDS);
+        TimingWheel.Timeout kept = wheel.schedule(() -> fired.add("kept"), 30, TimeUnit.SECONDS);
+
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel());
+        assertFalse(cancelled.isPending());
+        assertEquals(1, wheel.getPending());
+
+        advance(30, TimeUnit.SECONDS);
+        assertEquals(List.of("kept"), fired);
+        assertFalse(kept.isPending());
+        assertFalse(kept.cancel());
+    }
+
+    @Test
+    public void testCascadesFromHigherLevels() {
+        // Cooldowns and long delays land in the upper levels and beyond the wheel's range
+        long[] delaysSeconds = {7, 65, 410, 3600, 86_400, TimeUnit.DAYS.toSeconds(40)};
+        for (long delay : delaysSeconds) {
+            wheel.schedule(() -> fired.add(String.valueOf(delay)), delay, TimeUnit.SECONDS);
+        }
+
+        long elapsed = 0;
+        for (long delay : delaysSeconds) {
+            advance(delay - elapsed - 1, TimeUnit.SECONDS);
+            assertFalse(fired.contains(String.valueOf(delay)), "fired early: " + delay);
+
+            advance(1, TimeUnit.SECONDS);
+            assertEquals(String.valueOf(delay), fired.get(fired.size() - 1));
+            elapsed = delay;
+        }
+
+        assertEquals(delaysSeconds.length, fired.size());
+    }
+
+    @Test
+    public void testRandomDeadlinesMatchVirtualClock() {
+        Random random = new Random(42);
+        long tickNanos = TimeUnit.MILLISECONDS.toNanos(100);
+        long start = clock.get();
+        List<Long> deadlines = new ArrayList<>();
+        List<Long> firedAt = new ArrayList<>();
+        List<TimingWheel.Timeout> timeouts = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            long delayMillis = random.nextInt(2_000_000);
+            long deadline = start + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+            int index = i;
+            deadlines.add(deadline);
+            firedAt.add(null);
+            timeouts.add(wheel.schedule(() -> firedAt.set(index, clock.get()), delayMillis, TimeUnit.MILLISECONDS));
+        }
+
+        for (int i = 0; i < timeouts.size(); i += 3) {
+            timeouts.get(i).cancel();
+        }
+
+        while (wheel.getPending() > 0) {
+            // Uneven steps, like a driver that is sometimes late
+            clock.addAndGet(tickNanos * (1 + random.nextInt(40)));
+            wheel.advance().forEach(Runnable::run);
+        }
+
+        for (int i = 0; i < timeouts.size(); i++) {
+            if (i % 3 == 0) {
+                assertNull(firedAt.get(i));
+            } else {
+                assertNotNull(firedAt.get(i));
+                assertTrue(firedAt.get(i) >= deadlines.get(i), "fired early: " + i);
+            }
+        }
+    }
+
+    private void advance(long duration, TimeUnit unit) {
+        clock.addAndGet(unit.toNanos(duration));
+        wheel.advance().forEach(Runnable::run);
+    }
+}
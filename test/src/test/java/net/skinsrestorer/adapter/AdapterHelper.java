@@ -19,6 +19,7 @@ package net.skinsrestorer.adapter;
 
 import net.skinsrestorer.api.property.SkinIdentifier;
 import net.skinsrestorer.api.property.SkinVariant;
+import net.skinsrestorer.shared.connections.mineskin.MineSkinJobPriority;
 import net.skinsrestorer.shared.storage.HardcodedSkins;
 import net.skinsrestorer.shared.storage.adapter.StorageAdapter;
 import net.skinsrestorer.shared.storage.model.cache.MojangCacheData;
@@ -26,6 +27,8 @@ import net.skinsrestorer.shared.storage.model.player.FavouriteData;
 import net.skinsrestorer.shared.storage.model.player.HistoryData;
 import net.skinsrestorer.shared.storage.model.player.PlayerData;
 import net.skinsrestorer.shared.storage.model.skin.CustomSkinData;
+import net.skinsrestorer.shared.storage.model.skin.ImageHashIndexData;
+import net.skinsrestorer.shared.storage.model.skin.MineSkinJobData;
 import net.skinsrestorer.shared.storage.model.skin.PlayerSkinData;
 import net.skinsrestorer.shared.storage.model.skin.URLSkinData;
 import org.junit.Assert;
@@ -74,5 +77,37 @@ public class AdapterHelper {
         } catch (StorageAdapter.StorageException e) {
             throw new RuntimeException(e);
         }
+
+        String imageHash = "a".repeat(64);
+        adapter.setImageHashIndex(ImageHashIndexData.of(imageHash, null, "test",
+                HardcodedSkins.ALEX.getProperty(), SkinVariant.SLIM));
+
+        try {
+            ImageHashIndexData indexData = adapter.getImageHashIndex(imageHash, null).orElseThrow();
+            Assert.assertNull(indexData.getRequestedVariant());
+            Assert.assertEquals(SkinVariant.SLIM, indexData.getGeneratedVariant());
+            Assert.assertEquals(HardcodedSkins.ALEX.getProperty(), indexData.getProperty());
+            Assert.assertTrue(adapter.getImageHashIndex(imageHash, SkinVariant.CLASSIC).isEmpty());
+        } catch (StorageAdapter.StorageException e) {
+            throw new RuntimeException(e);
+        }
+
+        String jobUrl = "https://test.com/skin.png";
+        String jobId = MineSkinJobData.createJobId(jobUrl, null);
+        adapter.setMineSkinJob(MineSkinJobData.of(jobId, jobUrl, null, MineSkinJobPriority.PLAYER, 0));
+        adapter.setMineSkinJob(MineSkinJobData.of(jobId, jobUrl, null, MineSkinJobPriority.ADMIN, 0));
+
+        try {
+            List<MineSkinJobData> jobs = adapter.getMineSkinJobs();
+            Assert.assertEquals(1, jobs.size());
+            Assert.assertEquals(jobUrl, jobs.get(0).getUrl());
+            Assert.assertNull(jobs.get(0).getSkinVariant());
+            Assert.assertEquals(MineSkinJobPriority.ADMIN, jobs.get(0).getPriority());
+
+            adapter.removeMineSkinJob(jobId);
+            Assert.assertTrue(adapter.getMineSkinJobs().isEmpty());
+        } catch (StorageAdapter.StorageException e) {
+            throw new RuntimeException(e);
+        }
     }
 }
@@ -21,8 +21,15 @@ import ch.jalu.configme.SettingsManager;
 import ch.jalu.injector.Injector;
 import net.skinsrestorer.SRExtension;
 import net.skinsrestorer.SettingsHelper;
+import net.skinsrestorer.api.property.SkinIdentifier;
+import net.skinsrestorer.api.property.SkinType;
+import net.skinsrestorer.shared.log.SRLogger;
 import net.skinsrestorer.shared.plugin.SRPlugin;
+import net.skinsrestorer.shared.storage.LegacyPlayerMigrator;
+import net.skinsrestorer.shared.storage.adapter.AdapterReference;
+import net.skinsrestorer.shared.storage.adapter.StorageAdapter;
 import net.skinsrestorer.shared.storage.adapter.file.FileAdapter;
+import net.skinsrestorer.shared.storage.model.player.PlayerData;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -30,10 +37,14 @@ import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Set;
+import java.util.UUID;
 
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 
 @ExtendWith({MockitoExtension.class, SRExtension.class})
 public class FileAdapterTest {
@@ -59,4 +70,64 @@ public class FileAdapterTest {
 
         AdapterHelper.testAdapter(adapter);
     }
+
+    @Test
+    public void testLegacyPlayerMigration(Injector injector) throws Exception {
+        injector.register(SettingsManager.class, settingsManager);
+        SRPlugin plugin = mock(SRPlugin.class);
+        when(plugin.getDataFolder()).thenReturn(tempDir);
+        injector.register(SRPlugin.class, plugin);
+
+        // Pre-v14 player file
+        Files.createDirectories(tempDir.resolve("players"));
+        Files.writeString(tempDir.resolve("players").resolve("notch.player"), "jeb_");
+
+        FileAdapter adapter = injector.getSingleton(FileAdapter.class);
+        adapter.init();
+        assertEquals(Set.of("notch"), adapter.getLegacyPlayerNames());
+        assertFalse(adapter.isLegacyMigrationComplete());
+
+        injector.getSingleton(AdapterReference.class).setAdapter(adapter);
+        LegacyPlayerMigrator migrator = injector.getSingleton(LegacyPlayerMigrator.class);
+        migrator.load();
+
+        UUID uuid = UUID.randomUUID();
+        migrator.migrate("Notch", uuid);
+        assertEquals(SkinIdentifier.of("jeb_", null, SkinType.LEGACY),
+                adapter.getPlayerData(uuid).map(PlayerData::getSkinIdentifier).orElseThrow());
+        assertTrue(adapter.getLegacyPlayerNames().isEmpty());
+        assertTrue(adapter.isLegacyMigrationComplete());
+
+        // The marker is durable, a later run does no legacy reads at all
+        StorageAdapter spy = spy(adapter);
+        injector.getSingleton(AdapterReference.class).setAdapter(spy);
+        LegacyPlayerMigrator restarted = new LegacyPlayerMigrator(injector.getSingleton(AdapterReference.class), injector.getSingleton(SRLogger.class));
+        restarted.load();
+        restarted.migrate("Dinnerbone", UUID.randomUUID());
+        verify(spy, never()).getLegacyPlayerNames();
+        verify(spy, never()).getLegacyPlayerData(any());
+    }
+
+    @Test
+    public void testMixedCaseLegacyPlayerName(Injector injector) throws Exception {
+        injector.register(SettingsManager.class, settingsManager);
+        SRPlugin plugin = mock(SRPlugin.class);
+        when(plugin.getDataFolder()).thenReturn(tempDir);
+        injector.register(SRPlugin.class, plugin);
+
+        Files.createDirectories(tempDir.resolve("players"));
+        Files.writeString(tempDir.resolve("players").resolve("Notch.player"), "jeb_");
+
+        FileAdapter adapter = injector.getSingleton(FileAdapter.class);
+        adapter.init();
+        assertEquals(Set.of("notch"), adapter.getLegacyPlayerNames());
+
+        injector.getSingleton(AdapterReference.class).setAdapter(adapter);
+        LegacyPlayerMigrator migrator = injector.getSingleton(LegacyPlayerMigrator.class);
+        migrator.load();
+
+        // The migrator looks the name up lowercased, so the login must complete the migration
+        migrator.migrate("Notch", UUID.randomUUID());
+        assertTrue(adapter.isLegacyMigrationComplete());
+    }
 }
@@ -0,0 +1,149 @@
+/*
+ * SkinsRestorer
+ * Copyright (C) 2024  SkinsRestorer Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.skinsrestorer.load;
+
+import ch.jalu.configme.SettingsManager;
+import ch.jalu.injector.Injector;
+import net.skinsrestorer.SRExtension;
+import net.skinsrestorer.SettingsHelper;
+import net.skinsrestorer.shared.config.DatabaseConfig;
+import net.skinsrestorer.shared.storage.adapter.StorageAdapter;
+import net.skinsrestorer.shared.storage.adapter.mongodb.MongoDBAdapter;
+import net.skinsrestorer.shared.storage.adapter.mongodb.MongoDBProvider;
+import net.skinsrestorer.shared.storage.adapter.mysql.MySQLAdapter;
+import net.skinsrestorer.shared.storage.adapter.mysql.MySQLProvider;
+import net.skinsrestorer.shared.storage.adapter.postgresql.PostgreSQLAdapter;
+import net.skinsrestorer.shared.storage.adapter.postgresql.PostgreSQLProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.testcontainers.containers.MariaDBContainer;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@Tag("load")
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_METHOD)
+@ExtendWith({MockitoExtension.class, SRExtension.class})
+public class DatabaseLoginLoadTest {
+    public static final String DATABASE_NAME = "testdb";
+    public static final String USERNAME = "testuser";
+    public static final String PASSWORD = "testpassword";
+
+    @Container
+    private static final MariaDBContainer<?> mariaDBContainer = new MariaDBContainer<>("mariadb:latest")
+            .withDatabaseName(DATABASE_NAME)
+            .withUsername(USERNAME)
+            .withPassword(PASSWORD);
+    @Container
+    private static final PostgreSQLContainer<?> postgreSQLContainer = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName(DATABASE_NAME)
+            .withUsername(USERNAME)
+            .withPassword(PASSWORD);
+    @Container
+    private static final MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:7");
+
+    @Mock
+    private SettingsManager settingsManager;
+    @TempDir
+    private Path tempDir;
+
+    @BeforeEach
+    public void setup() {
+        SettingsHelper.returnDefaultsForAllProperties(settingsManager);
+    }
+
+    @Test
+    public void testMySQLLoginLoad(Injector injector, TestReporter reporter) throws Exception {
+        when(settingsManager.getProperty(DatabaseConfig.MYSQL_HOST)).thenReturn(mariaDBContainer.getHost());
+        when(settingsManager.getProperty(DatabaseConfig.MYSQL_PORT)).thenReturn(mariaDBContainer.getFirstMappedPort());
+        when(settingsManager.getProperty(DatabaseConfig.MYSQL_USERNAME)).thenReturn(mariaDBContainer.getUsername());
+        when(settingsManager.getProperty(DatabaseConfig.MYSQL_PASSWORD)).thenReturn(mariaDBContainer.getPassword());
+        when(settingsManager.getProperty(DatabaseConfig.MYSQL_DATABASE)).thenReturn(mariaDBContainer.getDatabaseName());
+
+        LoginLoadHarness harness = new LoginLoadHarness(injector, settingsManager, tempDir);
+        try {
+            injector.getSingleton(MySQLProvider.class).initPool();
+
+            MySQLAdapter adapter = injector.getSingleton(MySQLAdapter.class);
+            adapter.init();
+
+            runAndAssert(harness, reporter, "MySQL", adapter);
+        } finally {
+            harness.shutdown();
+        }
+    }
+
+    @Test
+    public void testPostgreSQLLoginLoad(Injector injector, TestReporter reporter) throws Exception {
+        when(settingsManager.getProperty(DatabaseConfig.MYSQL_HOST)).thenReturn(postgreSQLContainer.getHost());
+        when(settingsManager.getProperty(DatabaseConfig.MYSQL_PORT)).thenReturn(postgreSQLContainer.getFirstMappedPort());
+        when(settingsManager.getProperty(DatabaseConfig.MYSQL_USERNAME)).thenReturn(postgreSQLContainer.getUsername());
+        when(settingsManager.getProperty(DatabaseConfig.MYSQL_PASSWORD)).thenReturn(postgreSQLContainer.getPassword());
+        when(settingsManager.getProperty(DatabaseConfig.MYSQL_DATABASE)).thenReturn(postgreSQLContainer.getDatabaseName());
+        when(settingsManager.getProperty(DatabaseConfig.MYSQL_CONNECTION_OPTIONS)).thenReturn("sslmode=disable");
+
+        LoginLoadHarness harness = new LoginLoadHarness(injector, settingsManager, tempDir);
+        try {
+            injector.getSingleton(PostgreSQLProvider.class).initPool();
+
+            PostgreSQLAdapter adapter = injector.getSingleton(PostgreSQLAdapter.class);
+            adapter.init();
+
+            runAndAssert(harness, reporter, "PostgreSQL", adapter);
+        } finally {
+            harness.shutdown();
+        }
+    }
+
+    @Test
+    public void testMongoDBLoginLoad(Injector injector, TestReporter reporter) throws Exception {
+        LoginLoadHarness harness = new LoginLoadHarness(injector, settingsManager, tempDir);
+        MongoDBProvider provider = new MongoDBProvider();
+        try {
+            provider.init(mongoDBContainer.getConnectionString(), DATABASE_NAME);
+
+            MongoDBAdapter adapter = new MongoDBAdapter(provider);
+            adapter.init();
+
+            runAndAssert(harness, reporter, "MongoDB", adapter);
+        } finally {
+            harness.shutdown();
+            provider.close();
+        }
+    }
+
+    private static void runAndAssert(LoginLoadHarness harness, TestReporter reporter, String backend, StorageAdapter adapter) throws InterruptedException {
+        LoginLoadHarness.Report report = harness.run(backend, adapter);
+        reporter.publishEntry(backend, report.toString());
+        assertTrue(report.failedLogins() <= report.logins() / 100, report.toString());
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * SkinsRestorer
+ * Copyright (C) 2024  SkinsRestorer Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.skinsrestorer.load;
+
+import ch.jalu.configme.SettingsManager;
+import ch.jalu.injector.Injector;
+import net.skinsrestorer.SRExtension;
+import net.skinsrestorer.SettingsHelper;
+import net.skinsrestorer.shared.storage.adapter.file.FileAdapter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("load")
+@ExtendWith({MockitoExtension.class, SRExtension.class})
+public class FileLoginLoadTest {
+    @TempDir
+    private Path tempDir;
+    @Mock
+    private SettingsManager settingsManager;
+
+    @BeforeEach
+    public void setup() {
+        SettingsHelper.returnDefaultsForAllProperties(settingsManager);
+    }
+
+    @Test
+    public void testLoginLoad(Injector injector, TestReporter reporter) throws InterruptedException {
+        LoginLoadHarness harness = new LoginLoadHarness(injector, settingsManager, tempDir);
+        try {
+            FileAdapter adapter = injector.getSingleton(FileAdapter.class);
+            adapter.init();
+
+            LoginLoadHarness.Report report = harness.run("File", adapter);
+            reporter.publishEntry(report.backend(), report.toString());
+            assertTrue(report.failedLogins() <= report.logins() / 100, report.toString());
+        } finally {
+            harness.shutdown();
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * SkinsRestorer
+ * Copyright (C) 2024  SkinsRestorer Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.skinsrestorer.load;
+
+import ch.jalu.configme.SettingsManager;
+import ch.jalu.injector.Injector;
+import net.skinsrestorer.api.property.SkinProperty;
+import net.skinsrestorer.api.storage.PlayerStorage;
+import net.skinsrestorer.shared.connections.http.HttpClient;
+import net.skinsrestorer.shared.listeners.LoginProfileListenerAdapter;
+import net.skinsrestorer.shared.listeners.event.SRLoginProfileEvent;
+import net.skinsrestorer.shared.log.SRLogger;
+import net.skinsrestorer.shared.plugin.SRPlatformAdapter;
+import net.skinsrestorer.shared.plugin.SRPlugin;
+import net.skinsrestorer.shared.storage.PlayerStorageImpl;
+import net.skinsrestorer.shared.storage.adapter.AdapterReference;
+import net.skinsrestorer.shared.storage.adapter.StorageAdapter;
+import net.skinsrestorer.simulator.UpstreamSimulator;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Drives synthetic offline mode logins through {@link LoginProfileListenerAdapter} against a storage backend,
+ * with all upstream APIs served by the {@link UpstreamSimulator}.
+ * The size of a run can be changed with the system properties {@code sr.load.logins},
+ * {@code sr.load.players} and {@code sr.load.concurrency}.
+ * Load tests are tagged {@code load} and only run with {@code ./gradlew loadTest}.
+ */
+public class LoginLoadHarness {
+    private final Injector injector;
+    private final UpstreamSimulator simulator;
+    private final ExecutorService asyncExecutor = Executors.newCachedThreadPool();
+    private final ScheduledExecutorService delayedExecutor = Executors.newSingleThreadScheduledExecutor();
+
+    public LoginLoadHarness(Injector injector, SettingsManager settings, Path dataFolder) {
+        this.injector = injector;
+
+        SRLogger logger = injector.getSingleton(SRLogger.class);
+        logger.setDebug(false); // Debug output of thousands of logins would dominate the measurement
+
+        SRPlatformAdapter adapter = mock(SRPlatformAdapter.class);
+        lenient().doAnswer(invocation -> {
+            asyncExecutor.execute(invocation.getArgument(0));
+            return null;
+        }).when(adapter).runAsync(any());
+        lenient().doAnswer(invocation -> {
+            Runnable runnable = invocation.getArgument(0);
+            delayedExecutor.schedule(() -> asyncExecutor.execute(runnable), invocation.getArgument(1), invocation.getArgument(2));
+            return null;
+        }).when(adapter).runAsyncDelayed(any(), anyLong(), any(TimeUnit.class));
+
+        injector.register(SRPlatformAdapter.class, adapter);
+        injector.register(SettingsManager.class, settings);
+
+        this.simulator = new UpstreamSimulator(logger, settings)
+                .setDefaultBehavior(UpstreamSimulator.Behavior.latency(20, 30)
+                        .withErrorRate(0.01)
+                        .withRateLimitRate(0.01));
+        injector.register(HttpClient.class, simulator);
+
+        new SRPlugin(injector, dataFolder);
+        injector.register(PlayerStorage.class, injector.getSingleton(PlayerStorageImpl.class));
+    }
+
+    public UpstreamSimulator getSimulator() {
+        return simulator;
+    }
+
+    public Report run(String backend, StorageAdapter storageAdapter) throws InterruptedException {
+        return run(backend, storageAdapter,
+                Integer.getInteger("sr.load.logins", 2000),
+                Integer.getInteger("sr.load.players", 500),
+                Integer.getInteger("sr.load.concurrency", 64));
+    }
+
+    @SuppressWarnings("unchecked")
+    public Report run(String backend, StorageAdapter storageAdapter, int logins, int players, int concurrency) throws InterruptedException {
+        injector.getSingleton(AdapterReference.class).setAdapter(storageAdapter);
+        LoginProfileListenerAdapter<Void> listener = injector.newInstance(LoginProfileListenerAdapter.class);
+
+        long[] latencies = new long[logins];
+        AtomicInteger failed = new AtomicInteger();
+        ExecutorService loginExecutor = Executors.newFixedThreadPool(concurrency);
+        CountDownLatch done = new CountDownLatch(logins);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < logins; i++) {
+            int login = i;
+            loginExecutor.execute(() -> {
+                SyntheticLoginEvent event = new SyntheticLoginEvent("Load_" + (login % players));
+
+                long loginStart = System.nanoTime();
+                try {
+                    listener.handleLogin(event);
+                } catch (RuntimeException e) {
+                    event.result = null;
+                } finally {
+                    latencies[login] = System.nanoTime() - loginStart;
+                    if (event.result == null) {
+                        failed.incrementAndGet();
+                    }
+
+                    done.countDown();
+                }
+            });
+        }
+
+        done.await();
+        long durationNanos = System.nanoTime() - start;
+        loginExecutor.shutdown();
+
+        return Report.of(backend, latencies, failed.get(), durationNanos);
+    }
+
+    public void shutdown() {
+        injector.getSingleton(SRPlugin.class).shutdown();
+        delayedExecutor.shutdownNow();
+        asyncExecutor.shutdownNow();
+    }
+
+    public record Report(String backend, int logins, int failedLogins, long durationMillis,
+                         double loginsPerSecond, double p50Millis, double p95Millis, double p99Millis, double maxMillis) {
+        private static Report of(String backend, long[] latencies, int failed, long durationNanos) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+
+            double seconds = durationNanos / 1_000_000_000D;
+            return new Report(backend, sorted.length, failed, TimeUnit.NANOSECONDS.toMillis(durationNanos),
+                    sorted.length / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000_000D);
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1_000_000D;
+        }
+
+        @Override
+        public String toString() {
+            return "%s: %d logins (%d failed) in %d ms, %.1f logins/s, p50 %.1f ms, p95 %.1f ms, p99 %.1f ms, max %.1f ms".formatted(
+                    backend, logins, failedLogins, durationMillis, loginsPerSecond, p50Millis, p95Millis, p99Millis, maxMillis);
+        }
+    }
+
+    /**
+     * Runs the async part of the login on the calling thread, like a platform login thread would block on it.
+     */
+    private static class SyntheticLoginEvent implements SRLoginProfileEvent<Void> {
+        private final String playerName;
+        private final UUID playerUniqueId;
+        private volatile SkinProperty result;
+
+        private SyntheticLoginEvent(String playerName) {
+            this.playerName = playerName;
+            this.playerUniqueId = UUID.nameUUIDFromBytes(("OfflinePlayer:" + playerName).getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public boolean hasOnlineProperties() {
+            return false;
+        }
+
+        @Override
+        public UUID getPlayerUniqueId() {
+            return playerUniqueId;
+        }
+
+        @Override
+        public String getPlayerName() {
+            return playerName;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public void setResultProperty(SkinProperty property) {
+            this.result = property;
+        }
+
+        @Override
+        public Void runAsync(Runnable runnable) {
+            runnable.run();
+            return null;
+        }
+    }
+}
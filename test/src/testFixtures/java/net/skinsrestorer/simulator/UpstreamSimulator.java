@@ -0,0 +1,339 @@
+/*
+ * SkinsRestorer
+ * Copyright (C) 2024  SkinsRestorer Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.skinsrestorer.simulator;
+
+import ch.jalu.configme.SettingsManager;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import net.skinsrestorer.api.Base64Utils;
+import net.skinsrestorer.shared.config.AdvancedConfig;
+import net.skinsrestorer.shared.connections.http.HttpClient;
+import net.skinsrestorer.shared.connections.http.HttpResponse;
+import net.skinsrestorer.shared.log.SRLogger;
+import net.skinsrestorer.shared.utils.SRHelpers;
+import net.skinsrestorer.shared.utils.UUIDUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process replacement for the Mojang, Eclipse and MineSkin endpoints SkinsRestorer talks to.
+ * Register it as the {@link HttpClient} of an injector to run tests without network access.
+ * Every player name exists, its UUID and skin are derived from the name.
+ */
+public class UpstreamSimulator extends HttpClient {
+    private static final Gson GSON = new Gson();
+    private final SettingsManager settings;
+    private final Map<Endpoint, Behavior> behaviors = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, AtomicInteger> requestCounts = new EnumMap<>(Endpoint.class);
+    private volatile Behavior defaultBehavior = Behavior.INSTANT;
+
+    public UpstreamSimulator(SRLogger logger, SettingsManager settings) {
+        super(logger, settings);
+        this.settings = settings;
+        for (Endpoint endpoint : Endpoint.values()) {
+            requestCounts.put(endpoint, new AtomicInteger());
+        }
+    }
+
+    public static UUID uuidOf(String playerName) {
+        return UUID.nameUUIDFromBytes(("OfflinePlayer:" + playerName.toLowerCase(Locale.ROOT)).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public UpstreamSimulator setDefaultBehavior(Behavior behavior) {
+        this.defaultBehavior = behavior;
+        return this;
+    }
+
+    public UpstreamSimulator setBehavior(Endpoint endpoint, Behavior behavior) {
+        synchronized (behaviors) {
+            behaviors.put(endpoint, behavior);
+        }
+        return this;
+    }
+
+    public int getRequestCount(Endpoint endpoint) {
+        return requestCounts.get(endpoint).get();
+    }
+
+    @Override
+    public HttpResponse execute(URI uri, RequestBody requestBody, HttpType accepts,
+                                String userAgent, HttpMethod method,
+                                Map<String, String> headers, int timeout) throws IOException {
+        Endpoint endpoint = Endpoint.match(uri)
+                .orElseThrow(() -> new IOException("No simulated endpoint for %s".formatted(uri)));
+
+        return switch (simulate(endpoint, timeout)) {
+            case RATE_LIMITED -> rateLimited(endpoint);
+            case OK -> switch (endpoint) {
+                case MOJANG_BATCH_UUID, MOJANG_LEGACY_BATCH_UUID -> batchUUID(requestBody);
+                case MOJANG_PROFILE -> mojangProfile(lastPathSegment(uri));
+                case ECLIPSE_UUID -> eclipseUUID(lastPathSegment(uri));
+                case ECLIPSE_PROFILE -> eclipseProfile(lastPathSegment(uri));
+                case MINESKIN_GENERATE -> mineSkinGenerate(requestBody);
+                case IMAGE_DOWNLOAD -> throw new IOException("Images are only served through download()");
+            };
+        };
+    }
+
+    @Override
+    public byte[] download(URI uri, String userAgent, int timeout, int maxBytes) throws IOException {
+        if (simulate(Endpoint.IMAGE_DOWNLOAD, timeout) == Outcome.RATE_LIMITED) {
+            throw new IOException("Unexpected response code 429.");
+        }
+
+        return createSkinImage(uri.toString());
+    }
+
+    private Outcome simulate(Endpoint endpoint, int timeout) throws IOException {
+        if (settings.getProperty(AdvancedConfig.NO_CONNECTIONS)) {
+            throw new IOException("Connections are disabled.");
+        }
+
+        int request = requestCounts.get(endpoint).incrementAndGet();
+
+        Behavior behavior;
+        synchronized (behaviors) {
+            behavior = behaviors.getOrDefault(endpoint, defaultBehavior);
+        }
+
+        // Derived from the request number instead of randomness, so every run injects the same delays and failures
+        double roll = roll(request);
+        long latency = behavior.latencyMillis() + (long) (roll * (behavior.jitterMillis() + 1));
+        try {
+            if (latency > timeout) {
+                TimeUnit.MILLISECONDS.sleep(timeout);
+                throw new SocketTimeoutException("Simulated timeout of %s".formatted(endpoint));
+            } else if (latency > 0) {
+                TimeUnit.MILLISECONDS.sleep(latency);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+
+        if (roll < behavior.errorRate()) {
+            throw new IOException("Simulated connection error of %s".formatted(endpoint));
+        } else if (roll < behavior.errorRate() + behavior.rateLimitRate()) {
+            return Outcome.RATE_LIMITED;
+        }
+
+        return Outcome.OK;
+    }
+
+    /**
+     * Low discrepancy sequence in [0, 1), any share of consecutive requests is spread evenly over the range.
+     */
+    private static double roll(int request) {
+        double value = request * 0.6180339887498949;
+        return value - Math.floor(value);
+    }
+
+    private HttpResponse batchUUID(RequestBody requestBody) {
+        String[] names = GSON.fromJson(requestBody.body(), String[].class);
+        List<Map<String, String>> entries = new ArrayList<>();
+        for (String name : names) {
+            entries.add(Map.of("id", UUIDUtils.convertToNoDashes(uuidOf(name)), "name", name));
+        }
+
+        return json(200, entries);
+    }
+
+    private HttpResponse mojangProfile(String noDashesUUID) {
+        UUID uuid = UUIDUtils.convertToDashed(noDashesUUID);
+        String value = createTexturesValue(uuid, false);
+        return json(200, Map.of(
+                "id", noDashesUUID,
+                "name", "Simulated",
+                "properties", List.of(Map.of("name", "textures", "value", value, "signature", createSignature(value)))
+        ));
+    }
+
+    private HttpResponse eclipseUUID(String playerName) {
+        return json(200, Map.of(
+                "cacheData", cacheData(),
+                "exists", true,
+                "uuid", uuidOf(playerName).toString()
+        ));
+    }
+
+    private HttpResponse eclipseProfile(String uuid) {
+        String value = createTexturesValue(UUID.fromString(uuid), false);
+        return json(200, Map.of(
+                "cacheData", cacheData(),
+                "exists", true,
+                "skinProperty", Map.of("value", value, "signature", createSignature(value))
+        ));
+    }
+
+    private HttpResponse mineSkinGenerate(RequestBody requestBody) {
+        JsonObject request = GSON.fromJson(requestBody.body(), JsonObject.class);
+        boolean slim = request.has("variant") && request.get("variant").getAsString().equals("slim");
+        String url = request.has("url") ? request.get("url").getAsString() : "";
+
+        UUID skinId = UUID.nameUUIDFromBytes(url.getBytes(StandardCharsets.UTF_8));
+        String value = createTexturesValue(skinId, slim);
+        return json(200, Map.of(
+                "success", true,
+                "skin", Map.of(
+                        "uuid", UUIDUtils.convertToNoDashes(skinId),
+                        "variant", slim ? "slim" : "classic",
+                        "texture", Map.of("data", Map.of("value", value, "signature", createSignature(value)))
+                ),
+                "rateLimit", rateLimit(0, 5)
+        ));
+    }
+
+    private HttpResponse rateLimited(Endpoint endpoint) {
+        if (endpoint == Endpoint.MINESKIN_GENERATE) {
+            return json(429, Map.of(
+                    "success", false,
+                    "errors", List.of(Map.of("code", "rate_limit", "message", "Simulated rate limit")),
+                    "rateLimit", rateLimit(1000, 0)
+            ));
+        }
+
+        return json(429, Map.of("errorMessage", "Simulated rate limit"));
+    }
+
+    private static Map<String, Object> rateLimit(long nextMillis, int remaining) {
+        long now = System.currentTimeMillis();
+        return Map.of(
+                "next", Map.of("absolute", now + nextMillis, "relative", nextMillis),
+                "delay", Map.of("millis", nextMillis, "seconds", nextMillis / 1000D),
+                "limit", Map.of("limit", 5, "remaining", remaining, "reset", now + 60_000)
+        );
+    }
+
+    private static Map<String, Object> cacheData() {
+        return Map.of("state", "HIT", "createdAt", System.currentTimeMillis());
+    }
+
+    private static String createTexturesValue(UUID profileId, boolean slim) {
+        Map<String, Object> skin = new HashMap<>();
+        skin.put("url", "http://textures.minecraft.net/texture/" + SRHelpers.hashSha256ToHex(profileId.toString()));
+        if (slim) {
+            skin.put("metadata", Map.of("model", "slim"));
+        }
+
+        return Base64Utils.encode(GSON.toJson(Map.of(
+                "timestamp", System.currentTimeMillis(),
+                "profileId", UUIDUtils.convertToNoDashes(profileId),
+                "profileName", "Simulated",
+                "textures", Map.of("SKIN", skin)
+        )));
+    }
+
+    private static String createSignature(String value) {
+        return Base64.getEncoder().encodeToString(SRHelpers.hashSha256ToHex(value).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] createSkinImage(String seed) {
+        BufferedImage image = new BufferedImage(64, 64, BufferedImage.TYPE_INT_ARGB);
+        int color = 0xFF000000 | (seed.hashCode() & 0xFFFFFF);
+        for (int x = 8; x < 16; x++) {
+            for (int y = 8; y < 16; y++) {
+                image.setRGB(x, y, color);
+            }
+        }
+
+        try {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            ImageIO.write(image, "png", output);
+            return output.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String lastPathSegment(URI uri) {
+        String path = uri.getPath();
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    private static HttpResponse json(int statusCode, Object body) {
+        return new HttpResponse(statusCode, GSON.toJson(body), Map.of());
+    }
+
+    private enum Outcome {
+        OK,
+        RATE_LIMITED
+    }
+
+    public enum Endpoint {
+        MOJANG_BATCH_UUID("api.minecraftservices.com", "/minecraft/profile/lookup/bulk/byname"),
+        MOJANG_LEGACY_BATCH_UUID("api.mojang.com", "/profiles/minecraft"),
+        MOJANG_PROFILE("sessionserver.mojang.com", "/session/minecraft/profile/"),
+        ECLIPSE_UUID("eclipse.skinsrestorer.net", "/mojang/uuid/"),
+        ECLIPSE_PROFILE("eclipse.skinsrestorer.net", "/mojang/skin/"),
+        MINESKIN_GENERATE("api.mineskin.org", "/v2/generate"),
+        /**
+         * Skin images fetched through {@link HttpClient#download(URI, String, int, int)}, from any host.
+         */
+        IMAGE_DOWNLOAD(null, null);
+
+        private final String host;
+        private final String pathPrefix;
+
+        Endpoint(String host, String pathPrefix) {
+            this.host = host;
+            this.pathPrefix = pathPrefix;
+        }
+
+        public static Optional<Endpoint> match(URI uri) {
+            for (Endpoint endpoint : values()) {
+                if (endpoint.host != null && endpoint.host.equals(uri.getHost()) && uri.getPath().startsWith(endpoint.pathPrefix)) {
+                    return Optional.of(endpoint);
+                }
+            }
+
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @param latencyMillis Base latency of every request
+     * @param jitterMillis  Extra latency between zero and this value, varying per request
+     * @param errorRate     Share of requests that fail with a connection error, spread evenly and reproducibly
+     * @param rateLimitRate Share of requests that are answered with status 429, spread evenly and reproducibly
+     */
+    public record Behavior(long latencyMillis, long jitterMillis, double errorRate, double rateLimitRate) {
+        public static final Behavior INSTANT = new Behavior(0, 0, 0, 0);
+
+        public static Behavior latency(long latencyMillis, long jitterMillis) {
+            return new Behavior(latencyMillis, jitterMillis, 0, 0);
+        }
+
+        public Behavior withErrorRate(double errorRate) {
+            return new Behavior(latencyMillis, jitterMillis, errorRate, rateLimitRate);
+        }
+
+        public Behavior withRateLimitRate(double rateLimitRate) {
+            return new Behavior(latencyMillis, jitterMillis, errorRate, rateLimitRate);
+        }
+    }
+}
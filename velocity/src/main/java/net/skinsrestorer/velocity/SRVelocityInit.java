@@ -18,15 +18,19 @@
 package net.skinsrestorer.velocity;
 
 import ch.jalu.injector.Injector;
+import com.velocitypowered.api.event.connection.DisconnectEvent;
 import com.velocitypowered.api.event.connection.PluginMessageEvent;
+import com.velocitypowered.api.event.player.ServerConnectedEvent;
 import com.velocitypowered.api.proxy.Player;
 import com.velocitypowered.api.proxy.ProxyServer;
 import com.velocitypowered.api.proxy.messages.MinecraftChannelIdentifier;
 import lombok.RequiredArgsConstructor;
 import net.skinsrestorer.miniplaceholders.SRMiniPlaceholdersAPIExpansion;
 import net.skinsrestorer.shared.log.SRLogger;
+import net.skinsrestorer.shared.placeholders.PlaceholderCache;
 import net.skinsrestorer.shared.plugin.SRPlugin;
 import net.skinsrestorer.shared.plugin.SRProxyPlatformInit;
+import net.skinsrestorer.shared.utils.ProxyAckTracker;
 import net.skinsrestorer.shared.utils.SRHelpers;
 import net.skinsrestorer.velocity.listener.AdminInfoListener;
 import net.skinsrestorer.velocity.listener.GameProfileRequest;
@@ -64,14 +68,25 @@ public class SRVelocityInit implements SRProxyPlatformInit {
     public void initMessageChannel() {
         proxy.getChannelRegistrar().register(MinecraftChannelIdentifier.from(SRHelpers.MESSAGE_CHANNEL));
         proxy.getEventManager().register(adapter.pluginInstance(), PluginMessageEvent.class, injector.getSingleton(ProxyMessageListener.class));
+
+        ProxyAckTracker proxyAckTracker = injector.getSingleton(ProxyAckTracker.class);
+        proxy.getEventManager().register(adapter.pluginInstance(), ServerConnectedEvent.class,
+                event -> proxyAckTracker.handleServerConnected(event.getServer().getServerInfo().getName(),
+                        event.getServer().getPlayersConnected().stream().anyMatch(player -> player != event.getPlayer())));
     }
 
     @Override
     public void placeholderSetupHook() {
         if (adapter.getPluginInfo("miniplaceholders").isPresent()) {
             try {
+                PlaceholderCache placeholderCache = injector.getSingleton(PlaceholderCache.class);
+                placeholderCache.listenForChanges(adapter.pluginInstance(), Player.class, Player::getUniqueId);
+                proxy.getEventManager().register(adapter.pluginInstance(), DisconnectEvent.class,
+                        event -> placeholderCache.remove(event.getPlayer().getUniqueId()));
+
                 new SRMiniPlaceholdersAPIExpansion<>(
                         adapter,
+                        placeholderCache,
                         Player.class,
                         wrapper::player
                 ).register();
@@ -22,10 +22,10 @@ import com.velocitypowered.api.util.GameProfile;
 import com.velocitypowered.api.util.GameProfile.Property;
 import lombok.RequiredArgsConstructor;
 import net.skinsrestorer.api.property.SkinProperty;
+import net.skinsrestorer.shared.api.SharedSkinApplier;
 import net.skinsrestorer.shared.api.SkinApplierAccess;
 import net.skinsrestorer.shared.api.event.EventBusImpl;
 import net.skinsrestorer.shared.api.event.SkinApplyEventImpl;
-import net.skinsrestorer.shared.codec.SRServerPluginMessage;
 import net.skinsrestorer.shared.subjects.SRProxyPlayer;
 import net.skinsrestorer.shared.utils.ProxyAckTracker;
 import net.skinsrestorer.velocity.wrapper.WrapperVelocity;
@@ -51,13 +51,13 @@ public class SkinApplierVelocity implements SkinApplierAccess<Player> {
         }
 
         SkinProperty appliedProperty = applyEvent.getProperty();
+        boolean unchanged = getSkinProperty(player)
+                .map(current -> SharedSkinApplier.isSameSkin(current, appliedProperty))
+                .orElse(false);
 
         player.setGameProfileProperties(updatePropertiesSkin(player.getGameProfileProperties(), appliedProperty));
         SRProxyPlayer srPlayer = wrapper.player(player);
-        srPlayer.sendToMessageChannel(new SRServerPluginMessage(new SRServerPluginMessage.SkinUpdateV3ChannelPayload(
-                property,
-                proxyAckTracker.shouldAckPayload(srPlayer)
-        )));
+        proxyAckTracker.createSkinUpdate(srPlayer, appliedProperty, unchanged).ifPresent(srPlayer::sendToMessageChannel);
     }
 
     public GameProfile updateProfileSkin(GameProfile profile, SkinProperty property) {
@@ -24,15 +24,19 @@ import lombok.RequiredArgsConstructor;
 import net.skinsrestorer.api.property.SkinProperty;
 import net.skinsrestorer.shared.listeners.LoginProfileListenerAdapter;
 import net.skinsrestorer.shared.listeners.event.SRLoginProfileEvent;
+import net.skinsrestorer.shared.plugin.SRPlatformAdapter;
 import net.skinsrestorer.velocity.SkinApplierVelocity;
 
 import javax.inject.Inject;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @RequiredArgsConstructor(onConstructor_ = @Inject)
 public class GameProfileRequest {
     private final SkinApplierVelocity skinApplier;
     private final LoginProfileListenerAdapter<EventTask> adapter;
+    private final SRPlatformAdapter platform;
 
     @Subscribe
     public EventTask onGameProfileRequest(GameProfileRequestEvent event) {
@@ -46,6 +50,14 @@ public class GameProfileRequest {
                 return event.isOnlineMode();
             }
 
+            @Override
+            public Optional<SkinProperty> getOnlineProperty() {
+                return event.getOriginalProfile().getProperties().stream()
+                        .map(property -> SkinProperty.tryParse(property.getName(), property.getValue(), property.getSignature()))
+                        .flatMap(Optional::stream)
+                        .findFirst();
+            }
+
             @Override
             public UUID getPlayerUniqueId() {
                 return event.getGameProfile().getId();
@@ -66,9 +78,31 @@ public class GameProfileRequest {
                 event.setGameProfile(skinApplier.updateProfileSkin(event.getGameProfile(), property));
             }
 
+            @Override
+            public boolean holdsLogin() {
+                return true;
+            }
+
             @Override
             public EventTask runAsync(Runnable runnable) {
-                return EventTask.async(runnable);
+                // The lookup runs on our own async pool, the event only resumes once it is done
+                // This way a slow storage or Mojang API never occupies one of Velocity's event threads
+                // How long the login is held at most is handled by the skin lookup deadline
+                CompletableFuture<Void> future = new CompletableFuture<>();
+                platform.runAsync(() -> {
+                    try {
+                        runnable.run();
+                    } finally {
+                        future.complete(null);
+                    }
+                });
+
+                return EventTask.resumeWhenComplete(future);
+            }
+
+            @Override
+            public EventTask holdUntil(CompletableFuture<?> future) {
+                return EventTask.resumeWhenComplete(future);
             }
         };
     }